@@ -0,0 +1,107 @@
+package workdone.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import workdone.data.ObjectTaskList;
+import workdone.data.Storage;
+import workdone.data.StorageConfig;
+import workdone.data.TaskList;
+import workdone.task.Deadline;
+import workdone.task.Event;
+import workdone.task.Task;
+import workdone.task.ToDo;
+
+/**
+ * Represents the task lists and task files the benchmarks work on.
+ */
+final class BenchmarkTasks {
+    /** Time of the first scheduled task */
+    private static final LocalDateTime START = LocalDateTime.of(2021, 9, 1, 9, 0);
+
+    private BenchmarkTasks() {
+    }
+
+    /**
+     * Returns a task of a mix of todos, deadlines and events in no order of time, a third of which are done.
+     *
+     * @param i Number of the task.
+     * @return The task.
+     */
+    static Task createTask(int i) {
+        Task task;
+        // Spread the times so that sorting has work to do.
+        LocalDateTime time = BenchmarkTasks.START.plusMinutes((i * 7919L) % 525600);
+        switch (i % 3) {
+        case 0:
+            task = new ToDo("read chapter " + i + " of the book");
+            break;
+        case 1:
+            task = new Deadline("submit report " + i, time);
+            break;
+        default:
+            task = new Event("meeting " + i + " with the team", time, time.plusHours(1));
+            break;
+        }
+        if (i % 3 == 2) {
+            task.setDone();
+        }
+        return task;
+    }
+
+    /**
+     * Returns a task list with the given number of tasks.
+     *
+     * @param numOfTasks Number of tasks in the list.
+     * @return The task list.
+     */
+    static TaskList createTaskList(int numOfTasks) {
+        TaskList tasks = new ObjectTaskList();
+        for (int i = 0; i < numOfTasks; i++) {
+            tasks.addTask(BenchmarkTasks.createTask(i));
+        }
+        return tasks;
+    }
+
+    /**
+     * Writes a compacted task file with the given number of tasks, in the format set by the system properties.
+     *
+     * @param file Path of the file.
+     * @param numOfTasks Number of tasks in the file.
+     */
+    static void writeTaskFile(Path file, int numOfTasks) {
+        BenchmarkTasks.writeTaskFile(file, numOfTasks, StorageConfig.fromSystemProperties());
+    }
+
+    /**
+     * Writes a compacted task file with the given number of tasks.
+     *
+     * @param file Path of the file.
+     * @param numOfTasks Number of tasks in the file.
+     * @param config Configuration of the storage writing the file.
+     */
+    static void writeTaskFile(Path file, int numOfTasks, StorageConfig config) {
+        // The file doesn't exist yet, so the storage keeps the tasks given and writes them all in one snapshot.
+        Storage storage = new Storage(file, BenchmarkTasks.createTaskList(numOfTasks), config);
+        storage.rewriteFile();
+        storage.close();
+    }
+
+    /**
+     * Deletes a directory and everything in it.
+     *
+     * @param directory The directory to be deleted.
+     * @throws IOException If a file cannot be deleted.
+     */
+    static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
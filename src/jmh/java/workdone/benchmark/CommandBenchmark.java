@@ -0,0 +1,143 @@
+package workdone.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import workdone.command.ClearDoneCommand;
+import workdone.command.Command;
+import workdone.command.FindTaskCommand;
+import workdone.command.SortCommand;
+import workdone.data.ObjectTaskList;
+import workdone.data.Storage;
+import workdone.data.StorageConfig;
+import workdone.data.TaskList;
+import workdone.exception.WorkDoneException;
+
+/**
+ * Benchmarks commands end to end, from executing the command to writing the task file in a temporary directory.
+ * The commands which change the tasks run once on a freshly loaded copy of the task file.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CommandBenchmark {
+    /** Number of tasks in the task file */
+    @Param({"1000", "100000"})
+    private int numOfTasks;
+
+    private Path directory;
+    /** Compacted task file, which is only read */
+    private Path taskFile;
+    /** Copy of the task file, which the commands work on */
+    private Path workingFile;
+    private TaskList tasks;
+    private Storage storage;
+
+    /**
+     * Writes the task file.
+     *
+     * @throws IOException If the temporary directory cannot be created.
+     */
+    @Setup(Level.Trial)
+    public void writeTaskFile() throws IOException {
+        this.directory = Files.createTempDirectory("workdone-benchmark");
+        this.taskFile = this.directory.resolve("tasks.txt");
+        this.workingFile = this.directory.resolve("working.txt");
+        BenchmarkTasks.writeTaskFile(this.taskFile, this.numOfTasks);
+    }
+
+    /**
+     * Loads a fresh copy of the task file.
+     *
+     * @throws IOException If the file cannot be copied.
+     */
+    @Setup(Level.Iteration)
+    public void openWorkingFile() throws IOException {
+        Files.copy(this.taskFile, this.workingFile, StandardCopyOption.REPLACE_EXISTING);
+        this.tasks = new ObjectTaskList();
+        this.storage = new Storage(this.workingFile, this.tasks, StorageConfig.fromSystemProperties());
+    }
+
+    /**
+     * Closes the copy of the task file.
+     */
+    @TearDown(Level.Iteration)
+    public void closeWorkingFile() {
+        this.storage.close();
+    }
+
+    /**
+     * Deletes the task files.
+     *
+     * @throws IOException If a file cannot be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void deleteTaskFile() throws IOException {
+        BenchmarkTasks.deleteDirectory(this.directory);
+    }
+
+    /**
+     * Executes a command on the loaded tasks.
+     *
+     * @param command The command to be executed.
+     * @return The reply to the command.
+     * @throws WorkDoneException If the command fails.
+     */
+    private String execute(Command command) throws WorkDoneException {
+        command.execute(this.tasks, this.storage);
+        return command.toString();
+    }
+
+    /**
+     * Sorts the tasks by time and rewrites the task file.
+     *
+     * @return The reply to the command.
+     * @throws WorkDoneException If the command fails.
+     */
+    @Benchmark
+    public String sort() throws WorkDoneException {
+        return this.execute(new SortCommand());
+    }
+
+    /**
+     * Removes the tasks which are done and appends the change to the task file.
+     *
+     * @return The reply to the command.
+     * @throws WorkDoneException If the command fails.
+     */
+    @Benchmark
+    public String clearDone() throws WorkDoneException {
+        return this.execute(new ClearDoneCommand());
+    }
+
+    /**
+     * Finds the tasks containing a keyword.
+     *
+     * @return The reply to the command.
+     * @throws WorkDoneException If the command fails.
+     */
+    @Benchmark
+    public String find() throws WorkDoneException {
+        return this.execute(new FindTaskCommand("report"));
+    }
+}
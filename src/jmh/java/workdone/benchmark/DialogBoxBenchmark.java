@@ -0,0 +1,162 @@
+package workdone.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.application.Platform;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.layout.HBox;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import workdone.ui.DialogBox;
+import workdone.ui.DialogMessage;
+
+/**
+ * Benchmarks showing one message in the conversation, either in a new dialog box as the window did before the
+ * dialog list reused them, or in a dialog box which is reused. The baseline loads each dialog box from the FXML file
+ * it was built from before it was built in code, which is kept with the benchmarks. The dialog boxes are not
+ * attached to a window, so styling and layout are not measured.
+ *
+ * <p>The JavaFX toolkit is started once per fork, which needs a display. On a machine without one, put Monocle on
+ * the class path and run with `-Dglass.platform=Monocle -Dmonocle.platform=Headless -Dprism.order=sw`.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DialogBoxBenchmark {
+    /**
+     * Represents the controller of a dialog box loaded from FXML, which the nodes of the file are injected into.
+     */
+    public static class FxmlController {
+        @FXML
+        private Label dialog;
+        @FXML
+        private ImageView displayPicture;
+    }
+
+    /** Type of the message shown */
+    @Param({"USER", "RESPONSE", "ERROR"})
+    private DialogMessage.Type type;
+
+    private DialogMessage message;
+    private Image image;
+    /** Dialog box reused for every message */
+    private DialogBox dialogBox;
+
+    /**
+     * Starts the JavaFX toolkit and loads the avatar.
+     *
+     * @throws InterruptedException If interrupted while the toolkit starts.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        Platform.startup(started::countDown);
+        started.await();
+        this.message = new DialogMessage(this.type, "Got it. I've added this task:\n  [T][ ] read book (#12)\n"
+                + "Now you have 12 tasks in the list.");
+        this.image = new Image(DialogBox.class.getResource("/images/DaDuke.png").toExternalForm());
+        this.dialogBox = new DialogBox();
+    }
+
+    /**
+     * Stops the JavaFX toolkit.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Platform.exit();
+    }
+
+    /**
+     * Creates a dialog box for the message.
+     *
+     * @return The dialog box.
+     */
+    @Benchmark
+    public DialogBox create() {
+        DialogBox box = new DialogBox();
+        box.setMessage(this.message, this.image);
+        return box;
+    }
+
+    /**
+     * Loads a dialog box for the message from FXML and styles it, as the window did before dialog boxes were built
+     * in code.
+     *
+     * @return The dialog box.
+     */
+    @Benchmark
+    public HBox createFromFxml() {
+        HBox box = new HBox();
+        FxmlController controller = new FxmlController();
+        try {
+            FXMLLoader fxmlLoader = new FXMLLoader(DialogBoxBenchmark.class.getResource("/view/DialogBox.fxml"));
+            fxmlLoader.setController(controller);
+            fxmlLoader.setRoot(box);
+            fxmlLoader.load();
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        controller.dialog.setText(this.message.getText());
+        controller.displayPicture.setImage(this.image);
+        controller.displayPicture.setClip(new Circle(40, 40, 40));
+        if (this.type == DialogMessage.Type.USER) {
+            return box;
+        }
+        Color backgroundColor = new Color(0.125490196, 0.870588235, 0.82745098, 0.1);
+        if (this.type == DialogMessage.Type.ERROR) {
+            controller.dialog.setTextFill(new Color(0.74117647, 0.309803921, 0.423529411, 1));
+            backgroundColor = new Color(1, 0.572549019, 0.545098039, 0.2);
+        }
+        controller.dialog.setBackground(new Background(new BackgroundFill(
+                backgroundColor, new CornerRadii(10), new Insets(0, 10, 0, 10))));
+        List<Node> children = new ArrayList<>(box.getChildren());
+        Collections.reverse(children);
+        box.getChildren().setAll(children);
+        box.setAlignment(Pos.TOP_LEFT);
+        return box;
+    }
+
+    /**
+     * Shows the message in the reused dialog box.
+     *
+     * @return The dialog box.
+     */
+    @Benchmark
+    public DialogBox reuse() {
+        this.dialogBox.setMessage(this.message, this.image);
+        return this.dialogBox;
+    }
+}
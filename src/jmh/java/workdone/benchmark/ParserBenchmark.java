@@ -0,0 +1,97 @@
+package workdone.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import workdone.command.Command;
+import workdone.exception.WorkDoneException;
+import workdone.ui.ParseResult;
+import workdone.ui.Parser;
+
+/**
+ * Benchmarks parsing every kind of command, one at a time and as a batch mixing all of them. The batch reports
+ * commands per microsecond, i.e. millions of commands per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+    /** Commands parsed by the batch, including invalid ones */
+    private static final String[] BATCH = {"todo read book", "deadline return book /by 2021-09-10 18:00",
+        "event project meeting /at 2021-09-10 18:00 to 2021-09-10 19:30", "done 3", "undone #12", "delete 2",
+        "find book", "list", "list backlog --page 2 --size 10", "clear done", "sort", "help", "undo", "done x",
+        "deadline return book /by tomorrow", "blah"};
+
+    private Parser parser;
+
+    /**
+     * Represents the command parsed by {@link #parse(Input)}.
+     */
+    @State(Scope.Thread)
+    public static class Input {
+        /** Command to be parsed */
+        @Param({"todo read book", "deadline return book /by 2021-09-10 18:00",
+                "event project meeting /at 2021-09-10 18:00 to 2021-09-10 19:30", "done 3", "undone #12",
+                "delete 2", "find book", "list", "list backlog --page 2 --size 10", "clear", "clear done", "sort",
+                "help", "bye"})
+        private String command;
+    }
+
+    /**
+     * Creates the parser.
+     */
+    @Setup
+    public void setUp() {
+        this.parser = new Parser();
+    }
+
+    /**
+     * Parses the command.
+     *
+     * @param input The command to be parsed.
+     * @return The parsed command.
+     * @throws WorkDoneException If the command is invalid.
+     */
+    @Benchmark
+    public Command parse(Input input) throws WorkDoneException {
+        Command parsed = this.parser.parse(input.command);
+        // Keeps the undo history from growing over the run.
+        this.parser.popInvalidCommand(parsed);
+        return parsed;
+    }
+
+    /**
+     * Parses a batch of commands with the parser of one session, as a server connection does.
+     *
+     * @param blackhole Consumer of the results.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @OperationsPerInvocation(16)
+    public void parseBatch(Blackhole blackhole) {
+        for (String command : ParserBenchmark.BATCH) {
+            ParseResult result = this.parser.tryParse(command);
+            if (result.isSuccess()) {
+                this.parser.popInvalidCommand(result.getCommand());
+            }
+            blackhole.consume(result);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package workdone.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import workdone.data.Durability;
+import workdone.data.LogRecord;
+import workdone.data.ObjectTaskList;
+import workdone.data.Storage;
+import workdone.data.StorageConfig;
+import workdone.data.TaskFileFormat;
+import workdone.data.TaskFileLoader;
+import workdone.data.TaskList;
+import workdone.task.Task;
+
+/**
+ * Benchmarks loading, appending to and rewriting task files of different sizes. The durability and format of the
+ * storage are set by the usual system properties, e.g. `-Dworkdone.format=binary`. Parsing a text file of a million
+ * lines is measured on its own, with the parallel loader and with a line-by-line reader as the baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class StorageBenchmark {
+    /**
+     * Represents a compacted task file, which is only read.
+     */
+    @State(Scope.Benchmark)
+    public static class TaskFile {
+        /** Number of tasks in the file */
+        @Param({"1000", "100000", "1000000"})
+        private int numOfTasks;
+
+        private Path directory;
+        private Path file;
+
+        /**
+         * Writes the task file.
+         *
+         * @throws IOException If the temporary directory cannot be created.
+         */
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            this.directory = Files.createTempDirectory("workdone-benchmark");
+            this.file = this.directory.resolve("tasks.txt");
+            BenchmarkTasks.writeTaskFile(this.file, this.numOfTasks);
+        }
+
+        /**
+         * Deletes the task file.
+         *
+         * @throws IOException If a file cannot be deleted.
+         */
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            BenchmarkTasks.deleteDirectory(this.directory);
+        }
+    }
+
+    /**
+     * Represents a compacted task file of a million lines in the text format, which is only parsed.
+     */
+    @State(Scope.Benchmark)
+    public static class TextTaskFile {
+        /** Number of lines in the file */
+        private static final int NUM_OF_LINES = 1_000_000;
+
+        private Path directory;
+        private Path file;
+
+        /**
+         * Writes the task file.
+         *
+         * @throws IOException If the temporary directory cannot be created.
+         */
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            this.directory = Files.createTempDirectory("workdone-benchmark");
+            this.file = this.directory.resolve("tasks.txt");
+            BenchmarkTasks.writeTaskFile(this.file, TextTaskFile.NUM_OF_LINES,
+                    new StorageConfig(Durability.BUFFERED, 100, TaskFileFormat.TEXT));
+        }
+
+        /**
+         * Deletes the task file.
+         *
+         * @throws IOException If a file cannot be deleted.
+         */
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            BenchmarkTasks.deleteDirectory(this.directory);
+        }
+    }
+
+    /**
+     * Represents a storage opened on a fresh copy of the task file in each iteration, which is written to.
+     */
+    @State(Scope.Thread)
+    public static class WorkingStorage {
+        private Path file;
+        private Storage storage;
+        /** Task appended to the file */
+        private Task newTask;
+
+        /**
+         * Copies the task file and opens the copy.
+         *
+         * @param taskFile The task file to be copied.
+         * @throws IOException If the file cannot be copied.
+         */
+        @Setup(Level.Iteration)
+        public void setUp(TaskFile taskFile) throws IOException {
+            this.file = taskFile.directory.resolve("working.txt");
+            Files.copy(taskFile.file, this.file, StandardCopyOption.REPLACE_EXISTING);
+            this.storage = new Storage(this.file, new ObjectTaskList(), StorageConfig.fromSystemProperties());
+            this.newTask = BenchmarkTasks.createTask(taskFile.numOfTasks);
+        }
+
+        /**
+         * Closes the copy of the task file.
+         */
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            this.storage.close();
+        }
+    }
+
+    /**
+     * Loads the task file into a new task list.
+     *
+     * @param taskFile The task file.
+     * @return The tasks loaded.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public TaskList load(TaskFile taskFile) {
+        TaskList loaded = new ObjectTaskList();
+        new Storage(taskFile.file, loaded, StorageConfig.fromSystemProperties()).close();
+        return loaded;
+    }
+
+    /**
+     * Parses the text file of a million lines with the parallel memory-mapped loader.
+     *
+     * @param textFile The task file.
+     * @return The records parsed.
+     * @throws IOException If the file cannot be read.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public List<LogRecord> parse(TextTaskFile textFile) throws IOException {
+        return TaskFileLoader.load(textFile.file);
+    }
+
+    /**
+     * Parses the text file of a million lines one line at a time on one thread, the way it was read before the
+     * parallel loader.
+     *
+     * @param textFile The task file.
+     * @return The records parsed.
+     * @throws IOException If the file cannot be read.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public List<LogRecord> parseLineByLine(TextTaskFile textFile) throws IOException {
+        List<LogRecord> records = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(textFile.file)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                LogRecord record = LogRecord.parse(line);
+                if (record != null) {
+                    records.add(record);
+                }
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Appends a task to the task file. The task is not added to the list, so the list keeps its size.
+     *
+     * @param working The storage written to.
+     */
+    @Benchmark
+    public void append(WorkingStorage working) {
+        working.storage.addToFile(working.newTask);
+    }
+
+    /**
+     * Rewrites the whole task file.
+     *
+     * @param working The storage written to.
+     */
+    @Benchmark
+    public void rewrite(WorkingStorage working) {
+        working.storage.rewriteFile();
+    }
+}
@@ -0,0 +1,73 @@
+package workdone.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import workdone.data.TaskList;
+import workdone.task.ToDo;
+
+/**
+ * Benchmarks rendering filtered task lists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskListBenchmark {
+    /** Number of tasks in the list */
+    @Param({"1000", "100000"})
+    private int numOfTasks;
+
+    private TaskList tasks;
+
+    /**
+     * Creates the task list.
+     */
+    @Setup
+    public void setUp() {
+        this.tasks = BenchmarkTasks.createTaskList(this.numOfTasks);
+    }
+
+    /**
+     * Renders all tasks.
+     *
+     * @return The rendered list.
+     */
+    @Benchmark
+    public String getAllAsString() {
+        return this.tasks.getFilteredListAsString(task -> true);
+    }
+
+    /**
+     * Renders the tasks which are not done.
+     *
+     * @return The rendered list.
+     */
+    @Benchmark
+    public String getUndoneAsString() {
+        return this.tasks.getFilteredListAsString(task -> !task.isDone());
+    }
+
+    /**
+     * Renders the todos, as `list backlog` does.
+     *
+     * @return The rendered list.
+     */
+    @Benchmark
+    public String getBacklogAsString() {
+        return this.tasks.getFilteredListAsString(task -> task instanceof ToDo);
+    }
+}
@@ -1,12 +1,48 @@
 package workdone;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.util.Arrays;
+
 import javafx.application.Application;
+import workdone.metrics.FlightRecording;
 
 /**
  * A launcher class to workaround classpath issues.
+ *
+ * <p>The flag `--record` starts a flight recording with the bundled settings, which is written to `workdone.jfr`, or
+ * to the file given by `--record=file`, when the program exits.
  */
 public class Launcher {
+    /** Flag starting a flight recording */
+    private static final String RECORD_FLAG = "--record";
+    /** File of the flight recording if none is given */
+    private static final String DEFAULT_RECORDING = "workdone.jfr";
+
+    /**
+     * Starts the GUI, after starting a flight recording if asked to.
+     *
+     * @param args The command line parameters.
+     */
     public static void main(String[] args) {
-        Application.launch(Main.class, args);
+        for (String arg : args) {
+            if (arg.equals(Launcher.RECORD_FLAG) || arg.startsWith(Launcher.RECORD_FLAG + "=")) {
+                Path file = Paths.get(arg.equals(Launcher.RECORD_FLAG)
+                        ? Launcher.DEFAULT_RECORDING
+                        : arg.substring(Launcher.RECORD_FLAG.length() + 1));
+                try {
+                    FlightRecording.start(file);
+                    System.out.println("Recording to " + file.toAbsolutePath());
+                } catch (IOException | ParseException e) {
+                    System.err.println("☹ OOPS!!! The flight recording cannot be started: " + e.getMessage());
+                }
+            }
+        }
+        String[] otherArgs = Arrays.stream(args)
+                .filter(arg -> !arg.equals(Launcher.RECORD_FLAG) && !arg.startsWith(Launcher.RECORD_FLAG + "="))
+                .toArray(String[]::new);
+        Application.launch(Main.class, otherArgs);
     }
 }
@@ -1,6 +1,7 @@
 package workdone;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 
 import javafx.application.Application;
@@ -16,7 +17,6 @@ import workdone.ui.MainWindow;
 public class Main extends Application {
 
     private final String filePath = System.getProperty("user.dir");
-    private final WorkDone workDone = new WorkDone(Paths.get(filePath, "data", "tasks.txt"));
 
     @Override
     public void start(Stage stage) {
@@ -26,9 +26,11 @@ public class Main extends Application {
             Scene scene = new Scene(ap);
             stage.setScene(scene);
             stage.setTitle("WorkDone");
-            fxmlLoader.<MainWindow>getController().setWorkDone(workDone);
             stage.show();
+            // The window is shown before the tasks are loaded, and commands wait until loading is finished.
+            Path path = Paths.get(filePath, "data", "tasks.txt");
             fxmlLoader.<MainWindow>getController().greetTheUser();
+            fxmlLoader.<MainWindow>getController().loadWorkDone(progress -> new WorkDone(path, progress));
         } catch (IOException e) {
             e.printStackTrace();
         }
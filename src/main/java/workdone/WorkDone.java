@@ -2,16 +2,23 @@ package workdone;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.concurrent.locks.Lock;
+import java.util.function.DoubleConsumer;
 
 import workdone.command.Command;
 import workdone.data.Storage;
+import workdone.data.StorageConfig;
 import workdone.data.TaskList;
 import workdone.exception.WorkDoneException;
+import workdone.metrics.CommandExecuteEvent;
+import workdone.metrics.Metrics;
+import workdone.tool.CommandTrace;
 import workdone.ui.Parser;
 import workdone.ui.Ui;
 
 /**
- * Represents the WorkDone program. Manages tasks based on commands received.
+ * Represents the WorkDone program. Manages tasks based on commands received. The commands are recorded to a trace
+ * file if the system property `workdone.trace` is set.
  */
 public class WorkDone {
     /** Storage that can write to or retrieve data from a file on hard disk */
@@ -20,6 +27,8 @@ public class WorkDone {
     private final TaskList tasks;
     /** UI of the program */
     private final Ui ui;
+    /** Parser of the commands received */
+    private final Parser parser;
 
     /**
      * Constructor of the class 'WorkDone'.
@@ -27,9 +36,21 @@ public class WorkDone {
      * @param filePath Path of the file to retrieve data.
      */
     public WorkDone(Path filePath) {
+        this(filePath, progress -> { });
+    }
+
+    /**
+     * Constructor of the class 'WorkDone', which reports the progress of loading the file.
+     *
+     * @param filePath Path of the file to retrieve data.
+     * @param progress Listener of the fraction of the file loaded, which may be called by several threads.
+     */
+    public WorkDone(Path filePath, DoubleConsumer progress) {
         this.ui = new Ui();
-        this.tasks = new TaskList();
-        this.storage = new Storage(filePath, this.tasks);
+        this.parser = new Parser();
+        StorageConfig config = StorageConfig.fromSystemProperties();
+        this.tasks = TaskList.fromSystemProperties(filePath, config);
+        this.storage = new Storage(filePath, this.tasks, config, progress);
     }
 
     /**
@@ -43,10 +64,11 @@ public class WorkDone {
         // Read in commands while the program is running
         while (isRunning) {
             String commandString = this.ui.getCommand();
+            CommandTrace.recordIfEnabled(this.parser, commandString);
             Command command;
             try {
-                command = Parser.parse(commandString.strip());
-                command.execute(this.tasks, this.storage);
+                command = this.parser.parse(commandString.strip());
+                this.execute(this.parser, command);
                 this.ui.showCommandOutput(command);
                 isRunning = command.isRunning();
             } catch (WorkDoneException workDoneException) {
@@ -55,6 +77,43 @@ public class WorkDone {
         }
     }
 
+    /**
+     * Executes a command while holding the lock of the task list, so that other threads using the same tasks never
+     * see a command half done. Commands which only read the task list share the lock.
+     *
+     * @param parser Parser which parsed the command.
+     * @param command The command to be executed.
+     * @throws WorkDoneException If error occurs while executing the command.
+     */
+    private void execute(Parser parser, Command command) throws WorkDoneException {
+        Lock lock = command.isReadOnly() ? this.tasks.getReadLock() : this.tasks.getWriteLock();
+        lock.lock();
+        CommandExecuteEvent event = new CommandExecuteEvent();
+        event.begin();
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        try {
+            command.execute(this.tasks, this.storage);
+            if (!command.isReadOnly()) {
+                this.storage.compactIfNeeded();
+            }
+        } catch (WorkDoneException workDoneException) {
+            // A command which failed has nothing to undo.
+            parser.popInvalidCommand(command);
+            event.setFailed(true);
+            throw workDoneException;
+        } finally {
+            if (Metrics.ENABLED) {
+                Metrics.recordCommand(command, System.nanoTime() - start, this.tasks.getNumOfTasks());
+            }
+            if (event.shouldCommit()) {
+                event.setCommand(command.getClass().getSimpleName());
+                event.setTaskCount(this.tasks.getNumOfTasks());
+                event.commit();
+            }
+            lock.unlock();
+        }
+    }
+
     /**
      * Runs the WorkDone program, prints out messages based on commands received.
      *
@@ -66,16 +125,36 @@ public class WorkDone {
     }
 
     public String getResponse(String input) {
+        return this.getResponse(this.parser, input);
+    }
+
+    /**
+     * Executes a command from a session with its own parser, so that each session undoes its own commands while
+     * all sessions share the tasks.
+     *
+     * @param parser Parser of the session.
+     * @param input Command received.
+     * @return Response to the command.
+     */
+    public String getResponse(Parser parser, String input) {
+        CommandTrace.recordIfEnabled(parser, input);
         Command command;
         try {
-            command = Parser.parse(input.strip());
-            command.execute(this.tasks, this.storage);
+            command = parser.parse(input.strip());
+            this.execute(parser, command);
             return command.toString();
         } catch (WorkDoneException workDoneException) {
             return workDoneException.toString();
         }
     }
 
+    /**
+     * Writes all changes to the hard disk and stops the background work of the storage.
+     */
+    public void close() {
+        this.storage.close();
+    }
+
     public String getGreetingMessage() {
         return this.ui.getGreetingMessage();
     }
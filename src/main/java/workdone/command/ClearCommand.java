@@ -23,14 +23,9 @@ public class ClearCommand extends Command {
      */
     @Override
     public void execute(TaskList tasks, Storage storage) {
-        int len = tasks.getNumOfTasks();
-        for (int i = 0; i < len; i++) {
-            this.task = tasks.get(0);
-            // Remove the task
-            assert this.task != null : "task shouldn't be null";
-            storage.removeFromFile(0);
-            tasks.removeFromList(this.task);
-        }
+        // Remove all tasks in one pass and store the change once
+        int[] removedIndices = tasks.removeIf(task -> true);
+        storage.removeAllFromFile(removedIndices);
 
         // Update message
         this.message = "Noted. I've removed all the tasks.\n";
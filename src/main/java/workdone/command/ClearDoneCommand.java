@@ -2,6 +2,7 @@ package workdone.command;
 
 import workdone.data.Storage;
 import workdone.data.TaskList;
+import workdone.task.Task;
 
 /**
  * Represents a command that deletes all done tasks from the task list. A subclass of the ClearCommand class.
@@ -23,19 +24,9 @@ public class ClearDoneCommand extends ClearCommand {
      */
     @Override
     public void execute(TaskList tasks, Storage storage) {
-        int len = tasks.getNumOfTasks();
-        int index = 0;
-        for (int i = 0; i < len; i++) {
-            this.task = tasks.get(index);
-            // Remove the task
-            assert this.task != null : "task shouldn't be null";
-            if (this.task.isDone()) {
-                storage.removeFromFile(index);
-                tasks.removeFromList(this.task);
-            } else {
-                index++;
-            }
-        }
+        // Remove all done tasks in one pass and store the change once
+        int[] removedIndices = tasks.removeIf(Task::isDone);
+        storage.removeAllFromFile(removedIndices);
 
         // Update message
         this.message = "Noted. I've removed the tasks you've done.\n";
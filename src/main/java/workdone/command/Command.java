@@ -36,6 +36,15 @@ public abstract class Command {
         this.message = this.content;
     }
 
+    /**
+     * Returns whether the command only reads the task list, so that it can run together with other such commands.
+     *
+     * @return Whether the command leaves the task list unchanged.
+     */
+    public boolean isReadOnly() {
+        return false;
+    }
+
     /**
      * Returns whether the program is still running.
      *
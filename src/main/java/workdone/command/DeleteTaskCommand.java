@@ -3,23 +3,28 @@ package workdone.command;
 import workdone.data.Storage;
 import workdone.data.TaskList;
 import workdone.exception.InvalidTaskNoException;
-import workdone.ui.Parser;
 
 /**
- * Represents a command that deletes a task from the task list. A subclass of the Command class.
+ * Represents a command that deletes a task from the task list. A subclass of the TaskCommand class.
  */
-public class DeleteTaskCommand extends Command {
-    /** Index of the task to be deleted in the task list */
-    private final int taskIndex;
-
+public class DeleteTaskCommand extends TaskCommand {
     /**
      * Constructor of the class `DeleteTaskCommand`.
      *
      * @param taskIndex Index of a task.
      */
     public DeleteTaskCommand(int taskIndex) {
-        super("delete");
-        this.taskIndex = taskIndex;
+        this(taskIndex, false);
+    }
+
+    /**
+     * Constructor of the class `DeleteTaskCommand`.
+     *
+     * @param taskNo Index or ID of a task.
+     * @param isTaskId Whether the task is given by its ID.
+     */
+    public DeleteTaskCommand(int taskNo, boolean isTaskId) {
+        super("delete", taskNo, isTaskId);
     }
 
     /**
@@ -32,18 +37,13 @@ public class DeleteTaskCommand extends Command {
      */
     @Override
     public void execute(TaskList tasks, Storage storage) throws InvalidTaskNoException {
-        // Get task from index
-        try {
-            this.task = tasks.get(this.taskIndex);
-        } catch (NumberFormatException | NullPointerException | IndexOutOfBoundsException e) {
-            Parser.popInvalidCommand();
-            throw new InvalidTaskNoException();
-        }
+        this.task = this.getTask(tasks);
 
         // Remove the task
         assert this.task != null : "task shouldn't be null";
-        storage.removeFromFile(tasks.indexOf(this.task));
+        int index = tasks.indexOf(this.task);
         tasks.removeFromList(this.task);
+        storage.removeFromFile(index);
 
         // Update message
         this.message = String.format(
@@ -18,13 +18,14 @@ public class ExitCommand extends Command {
     }
 
     /**
-     * Updates the message to be printed. Returns false because the program stops.
+     * Writes all buffered changes to the hard disk and updates the message to be printed.
      *
      * @param tasks A list of tasks.
      * @param storage An instance of Storage that can read from and write to the hard disk.
      */
     @Override
     public void execute(TaskList tasks, Storage storage) {
+        storage.flush();
         this.message = ExitCommand.EXITING_MESSAGE;
     }
 
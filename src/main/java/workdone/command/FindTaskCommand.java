@@ -29,6 +29,18 @@ public class FindTaskCommand extends Command {
      */
     @Override
     public void execute(TaskList tasks, Storage storage) {
-        this.message += tasks.getFilteredListAsString(task -> task.containsKeyword(this.keyword));
+        StringBuilder output = new StringBuilder(this.message);
+        tasks.appendListContainingKeyword(output, this.keyword);
+        this.message = output.toString();
+    }
+
+    /**
+     * Returns true because the command only reads the task list.
+     *
+     * @return Whether the command leaves the task list unchanged.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
     }
 }
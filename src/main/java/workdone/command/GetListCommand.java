@@ -13,24 +13,47 @@ import workdone.task.ToDo;
  * Represents a command that retrieves the task list. A subclass of the Command class.
  */
 public class GetListCommand extends Command {
+    /** Number of tasks on a page if only the page number is given */
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    /** First line of the message */
+    private static final String HEADER = "Here are the tasks in your list:\n";
+    /** First line of the message when a page is listed */
+    private static final String PAGE_HEADER = "Here are the tasks in your list (page %d of %d):\n";
+
     private List<String> typesToHide;
+    /** Page to be listed, starting from 1, or 0 if all tasks are listed */
+    private final int page;
+    /** Number of tasks on a page */
+    private final int pageSize;
 
     /**
      * Constructor of the class `GetListCommand`.
      */
     public GetListCommand() {
-        super("list");
-        this.message = "Here are the tasks in your list:\n";
-        this.typesToHide = new ArrayList<>();
+        this(new ArrayList<>());
     }
 
     /**
      * Constructor of the class `GetListCommand`.
      */
     public GetListCommand(List<String> typesToHide) {
+        this(typesToHide, 0, GetListCommand.DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Constructor of the class `GetListCommand` which lists one page of the tasks.
+     *
+     * @param typesToHide Types of tasks not to be listed.
+     * @param page Page to be listed, starting from 1, or 0 if all tasks are listed.
+     * @param pageSize Number of tasks on a page.
+     */
+    public GetListCommand(List<String> typesToHide, int page, int pageSize) {
         super("list");
-        this.message = "Here are the tasks in your list:\n";
+        assert page >= 0 && pageSize > 0 : "page and page size shouldn't be negative";
+        this.message = GetListCommand.HEADER;
         this.typesToHide = typesToHide;
+        this.page = page;
+        this.pageSize = pageSize;
     }
 
     /**
@@ -41,7 +64,10 @@ public class GetListCommand extends Command {
      */
     @Override
     public void execute(TaskList tasks, Storage storage) {
-        this.message += tasks.getFilteredListAsString(x -> {
+        StringBuilder output = new StringBuilder();
+        int skip = this.page == 0 ? 0 : (this.page - 1) * this.pageSize;
+        int limit = this.page == 0 ? Integer.MAX_VALUE : this.pageSize;
+        int numOfMatches = tasks.appendFilteredList(output, x -> {
             String type = "";
             if (x instanceof ToDo) {
                 type = "T";
@@ -51,6 +77,23 @@ public class GetListCommand extends Command {
                 type = "E";
             }
             return !this.typesToHide.contains(type);
-        });
+        }, skip, limit);
+
+        if (this.page == 0) {
+            this.message = GetListCommand.HEADER + output;
+        } else {
+            int numOfPages = Math.max(1, (numOfMatches + this.pageSize - 1) / this.pageSize);
+            this.message = String.format(GetListCommand.PAGE_HEADER, this.page, numOfPages) + output;
+        }
+    }
+
+    /**
+     * Returns true because the command only reads the task list.
+     *
+     * @return Whether the command leaves the task list unchanged.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
     }
 }
@@ -29,22 +29,35 @@ public class HelpCommand extends Command {
                 + "deadline {task description} /by yyyy-MM-dd HH:mm - add a task with a deadline\n"
                 + "event {event description} /at yyyy-MM-dd HH:mm to yyyy-MM-dd HH:mm - add an event\n"
                 + "Finish a task:\n"
-                + "done {task no.} - mark a task as done\n"
-                + "undone {task no.} - mark a task as undone\n"
+                + "done {task no. or #task ID} - mark a task as done\n"
+                + "undone {task no. or #task ID} - mark a task as undone\n"
                 + "Delete tasks:\n"
-                + "delete {task no.} - delete a task by specifying its task number\n"
+                + "delete {task no. or #task ID} - delete a task by specifying its task number or ID\n"
                 + "clear - delete all tasks from the task list\n"
                 + "clear done - delete all tasks marked as done\n"
                 + "View all tasks:\n"
                 + "list - list all tasks added\n"
                 + "list scheduled - list all scheduled tasks\n"
                 + "list backlog - list all todo tasks\n"
+                + "list --page {page no.} --size {tasks per page} - list one page of the tasks\n"
                 + "sort - sort tasks by deadline and display all tasks"
                 + "Find a task:\n"
                 + "find {keyword} - find tasks containing `keyword`\n"
+                + "Statistics:\n"
+                + "stats - show the time taken by commands and the data written to disk\n"
                 + "Undo:\n"
                 + "undo - undo the last command\n"
                 + "Exit:\n"
                 + "bye - exit the program\n";
     }
+
+    /**
+     * Returns true because the command only reads the task list.
+     *
+     * @return Whether the command leaves the task list unchanged.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
@@ -1,16 +1,7 @@
 package workdone.command;
 
-import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
-
-import javafx.util.Pair;
 import workdone.data.Storage;
 import workdone.data.TaskList;
-import workdone.task.Deadline;
-import workdone.task.Event;
-import workdone.task.Task;
 
 /**
  * Represents a command that sorts all tasks with deadline from the task list. A subclass of the Command class.
@@ -32,49 +23,14 @@ public class SortCommand extends Command {
      */
     @Override
     public void execute(TaskList tasks, Storage storage) {
-        int len = tasks.getNumOfTasks();
-        List<Task> otherTasks = new ArrayList<>();
-        List<Pair<LocalDateTime, Task>> tasksWithTime = new ArrayList<>();
-
-        for (int i = 0; i < len; i++) {
-            this.task = tasks.get(0);
-            // Remove the task
-            storage.removeFromFile(0);
-            tasks.removeFromList(this.task);
-            if (this.task instanceof Deadline) {
-                tasksWithTime.add(new Pair<>(((Deadline) this.task).getTime(), this.task));
-            } else if (this.task instanceof Event) {
-                tasksWithTime.add(new Pair<>(((Event) this.task).getStartingTime(), this.task));
-            } else {
-                otherTasks.add(this.task);
-            }
-        }
-        tasksWithTime.sort(new Comparator<Pair<LocalDateTime, Task>>() {
-            @Override
-            public int compare(Pair<LocalDateTime, Task> o1, Pair<LocalDateTime, Task> o2) {
-                if (o1.getKey().isBefore(o2.getKey())) {
-                    return -1;
-                } else if (o1.getKey().isAfter(o2.getKey())) {
-                    return 1;
-                } else {
-                    return 0;
-                }
-            }
-        });
-
-        // Add sorted tasks
-        for (Pair<LocalDateTime, Task> pair : tasksWithTime) {
-            tasks.addTask(pair.getValue());
-            storage.addToFile(pair.getValue());
-        }
-        for (Task task : otherTasks) {
-            tasks.addTask(task);
-            storage.addToFile(task);
-        }
+        // Sort in memory, then store the new order with a single write
+        tasks.sortByTime();
+        storage.rewriteFile();
 
         // Update message
-        this.message = "Noted. I've sorted all the tasks with deadline.\n";
-        this.message += "Here are the tasks in your list:\n";
-        this.message += tasks.getFilteredListAsString(x -> true);
+        StringBuilder output = new StringBuilder("Noted. I've sorted all the tasks with deadline.\n")
+                .append("Here are the tasks in your list:\n");
+        tasks.appendFilteredList(output, x -> true, 0, Integer.MAX_VALUE);
+        this.message = output.toString();
     }
 }
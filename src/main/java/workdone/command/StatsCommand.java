@@ -0,0 +1,40 @@
+package workdone.command;
+
+import workdone.data.Storage;
+import workdone.data.TaskList;
+import workdone.metrics.Metrics;
+
+/**
+ * Represents a command that shows the metrics of the program. A subclass of the Command class.
+ */
+public class StatsCommand extends Command {
+    /**
+     * Constructor of the class `StatsCommand`.
+     */
+    public StatsCommand() {
+        super("stats");
+    }
+
+    /**
+     * Executes the command. Updates the message with the metrics collected so far.
+     *
+     * @param tasks A list of tasks.
+     * @param storage An instance of Storage that can read from and write to the hard disk.
+     */
+    @Override
+    public void execute(TaskList tasks, Storage storage) {
+        this.message = Metrics.ENABLED
+                ? Metrics.getReport()
+                : "Statistics are off. Start WorkDone with -D" + Metrics.ENABLED_PROPERTY + "=true to collect them.\n";
+    }
+
+    /**
+     * Returns true because the command only reads the task list.
+     *
+     * @return Whether the command leaves the task list unchanged.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
@@ -0,0 +1,46 @@
+package workdone.command;
+
+import workdone.data.TaskList;
+import workdone.exception.InvalidTaskNoException;
+import workdone.task.Task;
+
+/**
+ * Represents a command that acts on one task, which is given either by its task number or by its ID. A subclass
+ * of the Command class.
+ */
+public abstract class TaskCommand extends Command {
+    /** Index of the task in the task list, or the ID of the task if `isTaskId` is true */
+    protected final int taskNo;
+    /** Whether the task is given by its ID */
+    protected final boolean isTaskId;
+
+    /**
+     * Constructor of the class `TaskCommand`.
+     *
+     * @param content The content of the command received.
+     * @param taskNo Index or ID of a task.
+     * @param isTaskId Whether the task is given by its ID.
+     */
+    public TaskCommand(String content, int taskNo, boolean isTaskId) {
+        super(content);
+        this.taskNo = taskNo;
+        this.isTaskId = isTaskId;
+    }
+
+    /**
+     * Returns the task the command acts on.
+     *
+     * @param tasks A list of tasks.
+     * @return The task given by its index or ID.
+     * @throws InvalidTaskNoException If no task has the index or ID.
+     */
+    protected Task getTask(TaskList tasks) throws InvalidTaskNoException {
+        Task task = this.isTaskId
+                ? tasks.getById(this.taskNo)
+                : this.taskNo >= 0 && this.taskNo < tasks.getNumOfTasks() ? tasks.get(this.taskNo) : null;
+        if (task == null) {
+            throw new InvalidTaskNoException();
+        }
+        return task;
+    }
+}
@@ -3,33 +3,29 @@ package workdone.command;
 import workdone.data.Storage;
 import workdone.data.TaskList;
 import workdone.exception.InvalidTaskNoException;
-import workdone.ui.Parser;
 
 /**
- * Represents a command that marks a task as undone. A subclass of the Command class.
+ * Represents a command that marks a task as undone. A subclass of the TaskCommand class.
  */
-public class TaskUndoneCommand extends Command {
-    /** Index of the task to be deleted in the task list */
-    private final int taskIndex;
-
+public class TaskUndoneCommand extends TaskCommand {
     /**
      * Constructor of the class `TaskUndoneCommand`.
      *
      * @param taskIndex Index of a task.
      */
     public TaskUndoneCommand(int taskIndex) {
-        super("undone");
-        this.taskIndex = taskIndex;
-        this.message = "Got it! I've marked this task as undone:\n";
+        this(taskIndex, false);
     }
 
     /**
-     * Returns the index of the task.
+     * Constructor of the class `TaskUndoneCommand`.
      *
-     * @return Index of the task.
+     * @param taskNo Index or ID of a task.
+     * @param isTaskId Whether the task is given by its ID.
      */
-    public int getTaskIndex() {
-        return taskIndex;
+    public TaskUndoneCommand(int taskNo, boolean isTaskId) {
+        super("undone", taskNo, isTaskId);
+        this.message = "Got it! I've marked this task as undone:\n";
     }
 
     /**
@@ -41,18 +37,12 @@ public class TaskUndoneCommand extends Command {
      */
     @Override
     public void execute(TaskList tasks, Storage storage) throws InvalidTaskNoException {
-        // Get task from index
-        try {
-            this.task = tasks.get(this.taskIndex);
-        } catch (NumberFormatException | NullPointerException | IndexOutOfBoundsException e) {
-            Parser.popInvalidCommand();
-            throw new InvalidTaskNoException();
-        }
+        this.task = this.getTask(tasks);
 
         // Mark task as undone
         assert this.task != null : "task shouldn't be null";
         this.task.setUndone();
-        storage.rewriteFile();
+        storage.updateStatusInFile(tasks.indexOf(this.task), false);
 
         // Update message
         this.message += String.format("  %s\n", this.task.toString());
@@ -2,7 +2,6 @@ package workdone.command;
 
 import workdone.data.Storage;
 import workdone.data.TaskList;
-import workdone.exception.InvalidTaskNoException;
 import workdone.exception.UnableToUndoException;
 import workdone.exception.WorkDoneException;
 
@@ -26,30 +25,23 @@ public class UndoCommand extends Command {
     @Override
     public void execute(TaskList tasks, Storage storage) throws WorkDoneException {
         if (this.lastCommand instanceof AddTaskCommand) {
-            // delete the last task
-            int index = tasks.getNumOfTasks() - 1;
-            DeleteTaskCommand deleteTaskCommand = new DeleteTaskCommand(index);
-            try {
-                deleteTaskCommand.execute(tasks, storage);
-                this.message = deleteTaskCommand.message;
-            } catch (InvalidTaskNoException e) {
-                throw e;
-            }
+            // delete the added task, wherever it is in the list now
+            DeleteTaskCommand deleteTaskCommand = new DeleteTaskCommand(this.lastCommand.task.getId(), true);
+            deleteTaskCommand.execute(tasks, storage);
+            this.message = deleteTaskCommand.message;
         } else if (this.lastCommand instanceof DeleteTaskCommand) {
-            // add the task back
+            // add the task back, it keeps its ID
             AddTaskCommand addTaskCommand = new AddTaskCommand(this.lastCommand.task);
             addTaskCommand.execute(tasks, storage);
             this.message = addTaskCommand.message;
         } else if (this.lastCommand instanceof TaskDoneCommand) {
             // undone the task
-            int index = ((TaskDoneCommand) this.lastCommand).getTaskIndex();
-            TaskUndoneCommand taskUndoneCommand = new TaskUndoneCommand(index);
+            TaskUndoneCommand taskUndoneCommand = new TaskUndoneCommand(this.lastCommand.task.getId(), true);
             taskUndoneCommand.execute(tasks, storage);
             this.message = taskUndoneCommand.message;
         } else if (this.lastCommand instanceof TaskUndoneCommand) {
             // mark the task as done
-            int index = ((TaskUndoneCommand) this.lastCommand).getTaskIndex();
-            TaskDoneCommand taskDoneCommand = new TaskDoneCommand(index);
+            TaskDoneCommand taskDoneCommand = new TaskDoneCommand(this.lastCommand.task.getId(), true);
             taskDoneCommand.execute(tasks, storage);
             this.message = taskDoneCommand.message;
         } else {
@@ -0,0 +1,238 @@
+package workdone.data;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+import workdone.task.Deadline;
+import workdone.task.Event;
+import workdone.task.Task;
+import workdone.task.ToDo;
+
+/**
+ * Represents the binary format of a task file. A subclass of TaskFileFormat.
+ *
+ * <p>The file starts with a 4-byte magic number and a version byte. A record that adds a task holds a type byte,
+ * a done flag, the ID of the task as a varint, the length of the description as a varint, the description in
+ * UTF-8, and the times of the task as minutes since the epoch. A record that mutates a task holds a type byte and
+ * the index of the task as a varint, and a record that deletes many tasks holds a type byte, the number of tasks
+ * and their indices as varints. A record that keeps the next ID holds a type byte and the ID as a varint. Files of
+ * versions 1 and 2 are read as well, the records adding tasks in version 1 have no IDs and neither version keeps the
+ * next ID.
+ */
+public class BinaryFileFormat extends TaskFileFormat {
+    /** Number of bytes in the magic number */
+    static final int MAGIC_LENGTH = 4;
+    /** Header of a file in this format, the magic number followed by the version */
+    private static final byte[] HEADER = {'W', 'D', 'T', 'F', 3};
+    /** Version of the files written before tasks had IDs */
+    private static final byte VERSION_WITHOUT_IDS = 1;
+    /** Version of the files written before the next ID was kept */
+    private static final byte VERSION_WITHOUT_NEXT_ID = 2;
+
+    /** Type byte of a record adding a todo task */
+    private static final byte TODO = 'T';
+    /** Type byte of a record adding a task with deadline */
+    private static final byte DEADLINE = 'D';
+    /** Type byte of a record adding an event */
+    private static final byte EVENT = 'E';
+    /** Type byte of a record deleting a task */
+    private static final byte DELETE = '-';
+    /** Type byte of a record deleting many tasks */
+    private static final byte DELETE_MANY = '=';
+    /** Type byte of a record marking a task as done */
+    private static final byte DONE = 'X';
+    /** Type byte of a record marking a task as undone */
+    private static final byte UNDONE = 'O';
+    /** Type byte of a record keeping the next ID */
+    private static final byte NEXT_ID = '#';
+
+    @Override
+    public byte[] getHeader() {
+        return BinaryFileFormat.HEADER.clone();
+    }
+
+    @Override
+    public byte[] encode(LogRecord record) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        int[] indices = record.getIndices();
+        if (record.getType() == LogRecord.Type.DELETE && indices.length != 1) {
+            output.write(BinaryFileFormat.DELETE_MANY);
+            BinaryFileFormat.writeVarint(output, indices.length);
+            for (int index : indices) {
+                BinaryFileFormat.writeVarint(output, index);
+            }
+            return output.toByteArray();
+        } else if (record.getType() == LogRecord.Type.NEXT_ID) {
+            output.write(BinaryFileFormat.NEXT_ID);
+            BinaryFileFormat.writeVarint(output, indices[0]);
+            return output.toByteArray();
+        } else if (record.getType() != LogRecord.Type.ADD) {
+            output.write(record.getType() == LogRecord.Type.DELETE
+                    ? BinaryFileFormat.DELETE
+                    : record.getType() == LogRecord.Type.DONE ? BinaryFileFormat.DONE : BinaryFileFormat.UNDONE);
+            BinaryFileFormat.writeVarint(output, indices[0]);
+            return output.toByteArray();
+        }
+
+        Task task = record.getTask();
+        output.write(task instanceof Deadline
+                ? BinaryFileFormat.DEADLINE
+                : task instanceof Event ? BinaryFileFormat.EVENT : BinaryFileFormat.TODO);
+        output.write(task.isDone() ? 1 : 0);
+        BinaryFileFormat.writeVarint(output, task.getId());
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        BinaryFileFormat.writeVarint(output, description.length);
+        output.writeBytes(description);
+        if (task instanceof Deadline) {
+            BinaryFileFormat.writeTime(output, ((Deadline) task).getEpochMinute());
+        } else if (task instanceof Event) {
+            BinaryFileFormat.writeTime(output, ((Event) task).getStartingEpochMinute());
+            BinaryFileFormat.writeTime(output, ((Event) task).getEndingEpochMinute());
+        }
+        return output.toByteArray();
+    }
+
+    @Override
+    protected long loadInto(Path file, DoubleConsumer progress, List<LogRecord> records) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        for (int i = 0; i < BinaryFileFormat.MAGIC_LENGTH; i++) {
+            if (!buffer.hasRemaining() || buffer.get() != BinaryFileFormat.HEADER[i]) {
+                throw new IOException("Unsupported task file: " + file);
+            }
+        }
+        byte version = buffer.hasRemaining() ? buffer.get() : 0;
+        byte currentVersion = BinaryFileFormat.HEADER[BinaryFileFormat.MAGIC_LENGTH];
+        if (version != BinaryFileFormat.VERSION_WITHOUT_IDS && version != BinaryFileFormat.VERSION_WITHOUT_NEXT_ID
+                && version != currentVersion) {
+            throw new IOException("Unsupported task file version: " + version);
+        }
+        boolean hasIds = version != BinaryFileFormat.VERSION_WITHOUT_IDS;
+
+        int completeLength = buffer.position();
+        try {
+            while (buffer.hasRemaining()) {
+                records.add(BinaryFileFormat.readRecord(buffer, hasIds));
+                completeLength = buffer.position();
+            }
+        } catch (BufferUnderflowException bufferUnderflowException) {
+            // skip the last record if it was only partially written
+        }
+        progress.accept(1);
+        return completeLength;
+    }
+
+    /**
+     * Reads the record at the position of a buffer.
+     *
+     * @param buffer Buffer holding the file.
+     * @param hasIds Whether records adding tasks hold the IDs of the tasks.
+     * @return The record read.
+     * @throws IOException If the record has an unknown type.
+     */
+    private static LogRecord readRecord(ByteBuffer buffer, boolean hasIds) throws IOException {
+        byte type = buffer.get();
+        if (type == BinaryFileFormat.DELETE_MANY) {
+            int[] indices = new int[BinaryFileFormat.readVarint(buffer)];
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = BinaryFileFormat.readVarint(buffer);
+            }
+            return LogRecord.ofDelete(indices);
+        } else if (type == BinaryFileFormat.DELETE) {
+            return LogRecord.ofMutation(LogRecord.Type.DELETE, BinaryFileFormat.readVarint(buffer));
+        } else if (type == BinaryFileFormat.DONE) {
+            return LogRecord.ofMutation(LogRecord.Type.DONE, BinaryFileFormat.readVarint(buffer));
+        } else if (type == BinaryFileFormat.UNDONE) {
+            return LogRecord.ofMutation(LogRecord.Type.UNDONE, BinaryFileFormat.readVarint(buffer));
+        } else if (type == BinaryFileFormat.NEXT_ID) {
+            return LogRecord.ofNextId(BinaryFileFormat.readVarint(buffer));
+        }
+
+        boolean isDone = buffer.get() == 1;
+        int id = hasIds ? BinaryFileFormat.readVarint(buffer) : 0;
+        byte[] description = new byte[BinaryFileFormat.readVarint(buffer)];
+        buffer.get(description);
+        String descriptionString = new String(description, StandardCharsets.UTF_8);
+        Task task;
+        if (type == BinaryFileFormat.TODO) {
+            task = new ToDo(descriptionString);
+        } else if (type == BinaryFileFormat.DEADLINE) {
+            task = new Deadline(descriptionString, BinaryFileFormat.readTime(buffer));
+        } else if (type == BinaryFileFormat.EVENT) {
+            task = new Event(descriptionString, BinaryFileFormat.readTime(buffer), BinaryFileFormat.readTime(buffer));
+        } else {
+            throw new IOException("Unknown record type: " + type);
+        }
+        if (isDone) {
+            task.setDone();
+        }
+        if (id > 0) {
+            task.setId(id);
+        }
+        return LogRecord.ofAdd(task);
+    }
+
+    /**
+     * Writes a non-negative integer in 7-bit groups, least significant group first.
+     *
+     * @param output Stream to be written to.
+     * @param value Value to be written.
+     */
+    private static void writeVarint(ByteArrayOutputStream output, int value) {
+        while ((value & ~0x7F) != 0) {
+            output.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.write(value);
+    }
+
+    /**
+     * Reads an integer written by {@link #writeVarint(ByteArrayOutputStream, int)}.
+     *
+     * @param buffer Buffer to be read from.
+     * @return The integer read.
+     */
+    private static int readVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Writes a time as a big-endian long counting minutes since the epoch.
+     *
+     * @param output Stream to be written to.
+     * @param time Minutes since the epoch.
+     */
+    private static void writeTime(ByteArrayOutputStream output, long time) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            output.write((int) (time >>> shift));
+        }
+    }
+
+    /**
+     * Reads a time written by {@link #writeTime(ByteArrayOutputStream, long)}.
+     *
+     * @param buffer Buffer to be read from.
+     * @return Minutes since the epoch.
+     */
+    private static long readTime(ByteBuffer buffer) {
+        return buffer.getLong();
+    }
+}
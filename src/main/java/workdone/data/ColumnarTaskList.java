@@ -0,0 +1,223 @@
+package workdone.data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import workdone.task.Deadline;
+import workdone.task.Event;
+import workdone.task.Task;
+
+/**
+ * Represents a list of tasks stored in parallel primitive columns rather than as task objects, so that millions of
+ * tasks fit in a small heap. Each task takes a type byte, a done bit, its ID, two times in minutes since the epoch
+ * and its description encoded in UTF-8 in a shared arena.
+ */
+public class ColumnarTaskList extends RowTaskList {
+    /** Number of tasks the columns hold before they first grow */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Type of each task */
+    private byte[] types;
+    /** ID of each task */
+    private int[] ids;
+    /** Whether each task is done */
+    private BitSet doneTasks;
+    /** Deadline or starting time of each task in minutes since the epoch */
+    private long[] startingTimes;
+    /** Ending time of each event in minutes since the epoch */
+    private long[] endingTimes;
+    /** Offset of the description of each task in the arena */
+    private int[] descriptionOffsets;
+    /** Length in bytes of the description of each task */
+    private int[] descriptionLengths;
+    /** Arena holding the descriptions in UTF-8 */
+    private byte[] arena;
+    /** Number of bytes used in the arena */
+    private int arenaSize;
+    /** Number of bytes in the arena held by descriptions of removed tasks */
+    private int arenaGarbage;
+
+    /**
+     * Constructor of the class `ColumnarTaskList`.
+     */
+    public ColumnarTaskList() {
+        this.types = new byte[ColumnarTaskList.INITIAL_CAPACITY];
+        this.ids = new int[ColumnarTaskList.INITIAL_CAPACITY];
+        this.doneTasks = new BitSet();
+        this.startingTimes = new long[ColumnarTaskList.INITIAL_CAPACITY];
+        this.endingTimes = new long[ColumnarTaskList.INITIAL_CAPACITY];
+        this.descriptionOffsets = new int[ColumnarTaskList.INITIAL_CAPACITY];
+        this.descriptionLengths = new int[ColumnarTaskList.INITIAL_CAPACITY];
+        this.arena = new byte[ColumnarTaskList.INITIAL_CAPACITY * 32];
+    }
+
+    @Override
+    protected void appendRow(Task task, byte[] description) {
+        int index = this.getNumOfTasks();
+        if (index == this.types.length) {
+            this.growColumns();
+        }
+        this.types[index] = RowTaskList.getType(task);
+        this.ids[index] = task.getId();
+        this.doneTasks.set(index, task.isDone());
+        if (task instanceof Deadline) {
+            this.startingTimes[index] = ((Deadline) task).getEpochMinute();
+        } else if (task instanceof Event) {
+            this.startingTimes[index] = ((Event) task).getStartingEpochMinute();
+            this.endingTimes[index] = ((Event) task).getEndingEpochMinute();
+        }
+        if (this.arenaSize + description.length > this.arena.length) {
+            this.arena = Arrays.copyOf(this.arena,
+                    Math.max(this.arena.length + (this.arena.length >> 1), this.arenaSize + description.length));
+        }
+        System.arraycopy(description, 0, this.arena, this.arenaSize, description.length);
+        this.descriptionOffsets[index] = this.arenaSize;
+        this.descriptionLengths[index] = description.length;
+        this.arenaSize += description.length;
+    }
+
+    /**
+     * Grows every column by half of its size.
+     */
+    private void growColumns() {
+        int capacity = this.types.length + (this.types.length >> 1);
+        this.types = Arrays.copyOf(this.types, capacity);
+        this.ids = Arrays.copyOf(this.ids, capacity);
+        this.startingTimes = Arrays.copyOf(this.startingTimes, capacity);
+        this.endingTimes = Arrays.copyOf(this.endingTimes, capacity);
+        this.descriptionOffsets = Arrays.copyOf(this.descriptionOffsets, capacity);
+        this.descriptionLengths = Arrays.copyOf(this.descriptionLengths, capacity);
+    }
+
+    /**
+     * Removes rows in a single pass, moving the remaining tasks forward in every column. The arena is compacted once
+     * most of it is held by removed descriptions.
+     *
+     * @param indices Indices of the rows to be removed, in ascending order.
+     * @param numOfRows Number of rows before the removal.
+     */
+    @Override
+    protected void removeRows(int[] indices, int numOfRows) {
+        int next = 0;
+        int newSize = 0;
+        for (int i = 0; i < numOfRows; i++) {
+            if (next < indices.length && indices[next] == i) {
+                next++;
+                this.arenaGarbage += this.descriptionLengths[i];
+                continue;
+            }
+            this.types[newSize] = this.types[i];
+            this.ids[newSize] = this.ids[i];
+            this.doneTasks.set(newSize, this.doneTasks.get(i));
+            this.startingTimes[newSize] = this.startingTimes[i];
+            this.endingTimes[newSize] = this.endingTimes[i];
+            this.descriptionOffsets[newSize] = this.descriptionOffsets[i];
+            this.descriptionLengths[newSize] = this.descriptionLengths[i];
+            newSize++;
+        }
+        this.doneTasks.clear(newSize, numOfRows);
+        if (this.arenaGarbage > this.arenaSize / 2) {
+            this.compactArena(newSize);
+        }
+    }
+
+    /**
+     * Copies the descriptions of the tasks in the list to a new arena in list order, dropping removed ones.
+     *
+     * @param numOfRows Number of rows in the list.
+     */
+    private void compactArena(int numOfRows) {
+        byte[] compactedArena = new byte[Math.max(this.arenaSize - this.arenaGarbage, numOfRows)];
+        int offset = 0;
+        for (int i = 0; i < numOfRows; i++) {
+            System.arraycopy(this.arena, this.descriptionOffsets[i], compactedArena, offset,
+                    this.descriptionLengths[i]);
+            this.descriptionOffsets[i] = offset;
+            offset += this.descriptionLengths[i];
+        }
+        this.arena = compactedArena;
+        this.arenaSize = offset;
+        this.arenaGarbage = 0;
+    }
+
+    @Override
+    protected void reorderRows(int[] order) {
+        byte[] newTypes = new byte[this.types.length];
+        int[] newIds = new int[this.ids.length];
+        BitSet newDoneTasks = new BitSet(order.length);
+        long[] newStartingTimes = new long[this.startingTimes.length];
+        long[] newEndingTimes = new long[this.endingTimes.length];
+        int[] newDescriptionOffsets = new int[this.descriptionOffsets.length];
+        int[] newDescriptionLengths = new int[this.descriptionLengths.length];
+        for (int i = 0; i < order.length; i++) {
+            int oldIndex = order[i];
+            newTypes[i] = this.types[oldIndex];
+            newIds[i] = this.ids[oldIndex];
+            newDoneTasks.set(i, this.doneTasks.get(oldIndex));
+            newStartingTimes[i] = this.startingTimes[oldIndex];
+            newEndingTimes[i] = this.endingTimes[oldIndex];
+            newDescriptionOffsets[i] = this.descriptionOffsets[oldIndex];
+            newDescriptionLengths[i] = this.descriptionLengths[oldIndex];
+        }
+        this.types = newTypes;
+        this.ids = newIds;
+        this.doneTasks = newDoneTasks;
+        this.startingTimes = newStartingTimes;
+        this.endingTimes = newEndingTimes;
+        this.descriptionOffsets = newDescriptionOffsets;
+        this.descriptionLengths = newDescriptionLengths;
+    }
+
+    @Override
+    protected byte getTypeAt(int index) {
+        return this.types[index];
+    }
+
+    @Override
+    protected int getIdAt(int index) {
+        return this.ids[index];
+    }
+
+    @Override
+    protected boolean isDoneAt(int index) {
+        return this.doneTasks.get(index);
+    }
+
+    @Override
+    protected void setDoneAt(int index, boolean isDone) {
+        this.doneTasks.set(index, isDone);
+    }
+
+    @Override
+    protected long getStartingTimeAt(int index) {
+        return this.startingTimes[index];
+    }
+
+    @Override
+    protected long getEndingTimeAt(int index) {
+        return this.endingTimes[index];
+    }
+
+    @Override
+    protected String getDescriptionAt(int index) {
+        return new String(this.arena, this.descriptionOffsets[index], this.descriptionLengths[index],
+                StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected boolean descriptionContains(int index, byte[] pattern) {
+        int start = this.descriptionOffsets[index];
+        int last = start + this.descriptionLengths[index] - pattern.length;
+        for (int i = start; i <= last; i++) {
+            int j = 0;
+            while (j < pattern.length && this.arena[i + j] == pattern[j]) {
+                j++;
+            }
+            if (j == pattern.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,151 @@
+package workdone.data;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import workdone.metrics.Metrics;
+import workdone.task.Task;
+
+/**
+ * Represents the compaction policy of a task file. Writes snapshots of the task list on the background threads
+ * shared by all task files, so that records appended to the file don't have to be replayed forever.
+ */
+public class Compactor {
+    /** Minimum number of records in the file before it is compacted */
+    private static final int MIN_RECORDS = 1000;
+    /** The file is compacted once it holds more than this many records per task in the list */
+    private static final int MAX_RECORDS_PER_TASK = 2;
+    /** Suffix of the files snapshots are written to before they replace the task file */
+    private static final String SNAPSHOT_SUFFIX = ".compact";
+    /** Maximum time to wait for a running compaction when shutting down, in seconds */
+    private static final long SHUTDOWN_TIMEOUT = 30;
+
+    /** Compaction submitted last, null if none was submitted */
+    private Future<?> lastCompaction;
+    /** Whether the compactor was shut down */
+    private boolean isShutDown;
+
+    /**
+     * Returns whether a file should be compacted.
+     *
+     * @param numOfRecords Number of records in the file.
+     * @param numOfTasks Number of tasks in the task list.
+     * @return Whether the file should be compacted.
+     */
+    public boolean shouldCompact(int numOfRecords, int numOfTasks) {
+        return numOfRecords >= Compactor.MIN_RECORDS
+                && numOfRecords > (long) Compactor.MAX_RECORDS_PER_TASK * numOfTasks;
+    }
+
+    /**
+     * Runs a compaction on a background thread, unless the compactor was shut down.
+     *
+     * @param compaction The compaction to be run.
+     */
+    public synchronized void submit(Runnable compaction) {
+        if (!this.isShutDown) {
+            this.lastCompaction = StorageExecutors.COMPACTOR.submit(compaction);
+        }
+    }
+
+    /**
+     * Stops accepting compactions and waits for the last one to finish.
+     *
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public void shutdown() throws InterruptedException {
+        Future<?> compaction;
+        synchronized (this) {
+            this.isShutDown = true;
+            compaction = this.lastCompaction;
+        }
+        if (compaction == null) {
+            return;
+        }
+        try {
+            compaction.get(Compactor.SHUTDOWN_TIMEOUT, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            // a failed compaction left the task file as it was, and a slow one still swaps in a complete snapshot
+        }
+    }
+
+    /**
+     * Writes a snapshot of the tasks next to the task file. The snapshot only replaces the task file once
+     * {@link #swapIn(Path, Path)} is called.
+     *
+     * @param file The task file.
+     * @param tasks Tasks to be written.
+     * @param nextId ID given to the next task added without one, which is kept before the tasks.
+     * @param format Format of the snapshot.
+     * @return Path of the snapshot.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public static Path writeSnapshot(Path file, List<Task> tasks, int nextId, TaskFileFormat format)
+            throws IOException {
+        Path snapshot = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(),
+                Compactor.SNAPSHOT_SUFFIX);
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(snapshot))) {
+            byte[] header = format.getHeader();
+            output.write(header);
+            byte[] nextIdRecord = format.encode(LogRecord.ofNextId(nextId));
+            output.write(nextIdRecord);
+            long numOfBytes = header.length + nextIdRecord.length;
+            for (Task task : tasks) {
+                byte[] record = format.encode(LogRecord.ofAdd(task));
+                output.write(record);
+                numOfBytes += record.length;
+            }
+            if (Metrics.ENABLED) {
+                Metrics.recordBytesWritten(numOfBytes);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Appends records to a snapshot which hasn't been swapped in yet.
+     *
+     * @param snapshot Path of the snapshot.
+     * @param records Encoded records appended to the task file after the snapshot was taken.
+     * @throws IOException If the records cannot be written.
+     */
+    public static void appendToSnapshot(Path snapshot, List<byte[]> records) throws IOException {
+        try (OutputStream output = new BufferedOutputStream(
+                Files.newOutputStream(snapshot, StandardOpenOption.APPEND))) {
+            for (byte[] record : records) {
+                output.write(record);
+                if (Metrics.ENABLED) {
+                    Metrics.recordBytesWritten(record.length);
+                }
+            }
+        }
+    }
+
+    /**
+     * Forces a snapshot to the disk, then replaces the task file with it in one atomic step.
+     *
+     * @param snapshot Path of the snapshot.
+     * @param file The task file.
+     * @throws IOException If the snapshot cannot be moved.
+     */
+    public static void swapIn(Path snapshot, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        if (Metrics.ENABLED) {
+            Metrics.recordForce();
+        }
+        Files.move(snapshot, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,13 @@
+package workdone.data;
+
+/**
+ * Represents how soon records appended to the task file are forced to the disk.
+ */
+public enum Durability {
+    /** Every change is written and forced to the disk before the command completes */
+    SYNC,
+    /** Changes are buffered, then written and forced to the disk at a fixed interval */
+    PERIODIC,
+    /** Changes are buffered and written at a fixed interval, leaving it to the OS to write them to the disk */
+    BUFFERED
+}
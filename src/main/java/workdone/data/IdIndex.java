@@ -0,0 +1,121 @@
+package workdone.data;
+
+import java.util.Arrays;
+
+/**
+ * Represents a map from the IDs of tasks to their indices in a task list, using open addressing over two int
+ * arrays. IDs are positive, so an empty slot holds 0.
+ */
+class IdIndex {
+    /** Number of slots before the map first grows */
+    private static final int INITIAL_CAPACITY = 32;
+
+    /** ID in each slot */
+    private int[] keys;
+    /** Index of the task in each slot */
+    private int[] values;
+    /** Number of IDs in the map */
+    private int size;
+
+    /**
+     * Constructor of the class `IdIndex`.
+     */
+    IdIndex() {
+        this.keys = new int[IdIndex.INITIAL_CAPACITY];
+        this.values = new int[IdIndex.INITIAL_CAPACITY];
+    }
+
+    /**
+     * Returns the slot an ID is looked up from.
+     *
+     * @param id ID of a task.
+     * @param capacity Number of slots, which is a power of two.
+     * @return The first slot probed.
+     */
+    private static int getSlot(int id, int capacity) {
+        int hash = id * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (capacity - 1);
+    }
+
+    /**
+     * Returns the index of the task with an ID.
+     *
+     * @param id ID of a task.
+     * @return Index of the task, or -1 if no task has the ID.
+     */
+    int get(int id) {
+        for (int slot = IdIndex.getSlot(id, this.keys.length); this.keys[slot] != 0;
+                slot = (slot + 1) & (this.keys.length - 1)) {
+            if (this.keys[slot] == id) {
+                return this.values[slot];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Maps an ID to the index of its task, growing the map when it is half full.
+     *
+     * @param id ID of a task.
+     * @param index Index of the task.
+     */
+    void put(int id, int index) {
+        if (this.size >= this.keys.length / 2) {
+            int[] oldKeys = this.keys;
+            int[] oldValues = this.values;
+            this.keys = new int[oldKeys.length * 2];
+            this.values = new int[oldValues.length * 2];
+            this.size = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeys[slot] != 0) {
+                    this.put(oldKeys[slot], oldValues[slot]);
+                }
+            }
+        }
+        int slot = IdIndex.getSlot(id, this.keys.length);
+        while (this.keys[slot] != 0 && this.keys[slot] != id) {
+            slot = (slot + 1) & (this.keys.length - 1);
+        }
+        if (this.keys[slot] == 0) {
+            this.size++;
+        }
+        this.keys[slot] = id;
+        this.values[slot] = index;
+    }
+
+    /**
+     * Removes an ID from the map. The IDs probed past its slot are moved back into the gap, so that lookups never
+     * stop at it.
+     *
+     * @param id ID of a task.
+     */
+    void remove(int id) {
+        int mask = this.keys.length - 1;
+        int gap = IdIndex.getSlot(id, this.keys.length);
+        while (this.keys[gap] != id) {
+            if (this.keys[gap] == 0) {
+                return;
+            }
+            gap = (gap + 1) & mask;
+        }
+        for (int slot = (gap + 1) & mask; this.keys[slot] != 0; slot = (slot + 1) & mask) {
+            // An ID may fill the gap if the gap lies between its first slot and its slot.
+            int firstSlot = IdIndex.getSlot(this.keys[slot], this.keys.length);
+            if (((slot - firstSlot) & mask) >= ((slot - gap) & mask)) {
+                this.keys[gap] = this.keys[slot];
+                this.values[gap] = this.values[slot];
+                gap = slot;
+            }
+        }
+        this.keys[gap] = 0;
+        this.size--;
+    }
+
+    /**
+     * Removes every ID from the map.
+     */
+    void clear() {
+        Arrays.fill(this.keys, 0);
+        this.size = 0;
+    }
+}
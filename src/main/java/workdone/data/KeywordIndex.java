@@ -0,0 +1,97 @@
+package workdone.data;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import workdone.task.Task;
+
+/**
+ * Represents an inverted index from the terms in task descriptions to the tasks containing them. The terms are
+ * all substrings of {@link #TERM_LENGTH} characters, so every task containing a keyword contains all terms of the
+ * keyword as well.
+ */
+public class KeywordIndex {
+    /** Number of characters in a term */
+    private static final int TERM_LENGTH = 3;
+
+    /** Tasks containing each term */
+    private final Map<String, Set<Task>> postings;
+
+    /**
+     * Constructor of the class `KeywordIndex`.
+     */
+    public KeywordIndex() {
+        this.postings = new HashMap<>();
+    }
+
+    /**
+     * Adds a task to the index.
+     *
+     * @param task The task to be added.
+     */
+    public void add(Task task) {
+        for (String term : KeywordIndex.getTerms(task.getDescription())) {
+            this.postings.computeIfAbsent(term, key -> new HashSet<>()).add(task);
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task The task to be removed.
+     */
+    public void remove(Task task) {
+        for (String term : KeywordIndex.getTerms(task.getDescription())) {
+            Set<Task> posting = this.postings.get(term);
+            if (posting != null) {
+                posting.remove(task);
+                if (posting.isEmpty()) {
+                    this.postings.remove(term);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the tasks which may contain a keyword. All tasks containing the keyword are returned, but the
+     * returned tasks still have to be checked, since a task may contain every term of the keyword without
+     * containing the keyword itself.
+     *
+     * @param keyword Keyword to be found.
+     * @return Tasks which may contain the keyword, or null if the keyword is too short to be looked up.
+     */
+    public Collection<Task> getCandidates(String keyword) {
+        if (keyword.length() < KeywordIndex.TERM_LENGTH) {
+            return null;
+        }
+        Set<Task> candidates = null;
+        for (String term : KeywordIndex.getTerms(keyword)) {
+            Set<Task> posting = this.postings.get(term);
+            if (posting == null) {
+                return Collections.emptySet();
+            }
+            if (candidates == null || posting.size() < candidates.size()) {
+                candidates = posting;
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns the distinct terms in a string.
+     *
+     * @param string The string to be split into terms.
+     * @return Terms in the string.
+     */
+    private static Set<String> getTerms(String string) {
+        Set<String> terms = new HashSet<>();
+        for (int i = 0; i + KeywordIndex.TERM_LENGTH <= string.length(); i++) {
+            terms.add(string.substring(i, i + KeywordIndex.TERM_LENGTH));
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,246 @@
+package workdone.data;
+
+import workdone.task.Deadline;
+import workdone.task.Event;
+import workdone.task.Task;
+import workdone.task.ToDo;
+
+/**
+ * Represents a record in the task file. A record either adds a task to the end of the list, or mutates the tasks
+ * at given indices of the list. Records are appended to the file and replayed in order when the file is loaded.
+ * A snapshot of the list starts with a record keeping the next ID, so that IDs of removed tasks are not given again.
+ */
+public class LogRecord {
+    /** Prefix of a record which mutates a task already in the list */
+    private static final String MUTATION_PREFIX = "@ ";
+    /** Separator between fields of a record */
+    private static final String SEPARATOR = " / ";
+    /** Separator before the ID of a task, the last field of a record adding the task */
+    private static final String ID_SEPARATOR = " / #";
+
+    /**
+     * Types of records.
+     */
+    public enum Type {
+        ADD("add"), DELETE("delete"), DONE("done"), UNDONE("undone"), NEXT_ID("next");
+
+        /** Keyword of the record type in the file */
+        private final String keyword;
+
+        Type(String keyword) {
+            this.keyword = keyword;
+        }
+    }
+
+    /** Type of the record */
+    private final Type type;
+    /** Task added by the record, null if the record is a mutation */
+    private final Task task;
+    /** Indices of the tasks mutated by the record in ascending order, or the next ID */
+    private final int[] indices;
+
+    private LogRecord(Type type, Task task, int[] indices) {
+        this.type = type;
+        this.task = task;
+        this.indices = indices;
+    }
+
+    /**
+     * Returns a record that adds a task.
+     *
+     * @param task Task to be added.
+     * @return Record that adds the task.
+     */
+    public static LogRecord ofAdd(Task task) {
+        assert task != null : "task shouldn't be null";
+        return new LogRecord(Type.ADD, task, new int[0]);
+    }
+
+    /**
+     * Returns a record that mutates the task at the given index.
+     *
+     * @param type Type of the mutation.
+     * @param index Index of the task in the task list.
+     * @return Record that mutates the task.
+     */
+    public static LogRecord ofMutation(Type type, int index) {
+        assert type != Type.ADD : "an add record needs a task";
+        return new LogRecord(type, null, new int[] {index});
+    }
+
+    /**
+     * Returns a record that deletes the tasks at the given indices in one step.
+     *
+     * @param indices Indices of the tasks in the task list, in ascending order.
+     * @return Record that deletes the tasks.
+     */
+    public static LogRecord ofDelete(int[] indices) {
+        return new LogRecord(Type.DELETE, null, indices);
+    }
+
+    /**
+     * Returns a record that keeps the ID given to the next task added without one.
+     *
+     * @param nextId The next ID of the task list.
+     * @return Record that keeps the next ID.
+     */
+    public static LogRecord ofNextId(int nextId) {
+        return new LogRecord(Type.NEXT_ID, null, new int[] {nextId});
+    }
+
+    /**
+     * Returns the type of the record.
+     *
+     * @return Type of the record.
+     */
+    public Type getType() {
+        return this.type;
+    }
+
+    /**
+     * Returns the task added by the record.
+     *
+     * @return Task added by the record, null if the record is a mutation.
+     */
+    public Task getTask() {
+        return this.task;
+    }
+
+    /**
+     * Returns the indices of the tasks mutated by the record.
+     *
+     * @return Indices of the tasks in the task list in ascending order, or the next ID if the record keeps it.
+     */
+    public int[] getIndices() {
+        return this.indices;
+    }
+
+    /**
+     * Parses a line of the file into a record.
+     *
+     * @param line A line of data.
+     * @return Parsed record, or null if the line is blank.
+     */
+    public static LogRecord parse(String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        if (!line.startsWith(LogRecord.MUTATION_PREFIX)) {
+            return LogRecord.ofAdd(LogRecord.parseTask(line));
+        }
+        int keywordEnd = line.indexOf(LogRecord.SEPARATOR);
+        String keyword = line.substring(LogRecord.MUTATION_PREFIX.length(), keywordEnd);
+        String[] indexStrings = line.substring(keywordEnd + LogRecord.SEPARATOR.length()).trim().split(" ");
+        int[] indices = new int[indexStrings.length];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = Integer.parseInt(indexStrings[i]);
+        }
+        for (Type type : Type.values()) {
+            if (type != Type.ADD && type.keyword.equals(keyword)) {
+                return new LogRecord(type, null, indices);
+            }
+        }
+        throw new IllegalArgumentException("Unknown record: " + line);
+    }
+
+    /**
+     * Parses a line of data into a task. The line holds the type, the status and the description of the task,
+     * followed by its time if the task has one and its ID. Lines written before tasks had IDs end without one.
+     *
+     * @param line A line of data.
+     * @return The task represented by the line.
+     */
+    private static Task parseTask(String line) {
+        int id = 0;
+        int idStart = line.lastIndexOf(LogRecord.ID_SEPARATOR);
+        if (idStart >= 0) {
+            try {
+                id = Math.max(Integer.parseInt(line.substring(idStart + LogRecord.ID_SEPARATOR.length())), 0);
+            } catch (NumberFormatException e) {
+                // the description merely contains the separator
+            }
+            if (id > 0) {
+                line = line.substring(0, idStart);
+            }
+        }
+
+        int typeEnd = line.indexOf(LogRecord.SEPARATOR);
+        int statusEnd = line.indexOf(LogRecord.SEPARATOR, typeEnd + 1);
+        if (typeEnd < 0 || statusEnd < 0) {
+            throw new IllegalArgumentException("Invalid task: " + line);
+        }
+        String type = line.substring(0, typeEnd);
+        int descriptionStart = statusEnd + LogRecord.SEPARATOR.length();
+
+        // Determine type of the task and create corresponding task instance
+        Task task;
+        if (type.equals("D") || type.equals("E")) {
+            // a task with deadline or an event, the time follows the description
+            int descriptionEnd = line.lastIndexOf(LogRecord.SEPARATOR);
+            String description = line.substring(descriptionStart, descriptionEnd);
+            String time = line.substring(descriptionEnd + LogRecord.SEPARATOR.length());
+            task = type.equals("D") ? new Deadline(description, time) : new Event(description, time);
+        } else if (type.equals("T")) {
+            // a todo task
+            task = new ToDo(line.substring(descriptionStart));
+        } else {
+            task = new Task(line.substring(descriptionStart));
+        }
+
+        assert task != null : "task shouldn't be null";
+        // Check whether task is done
+        if (line.charAt(statusEnd - 1) == '1') {
+            task.setDone();
+        }
+        if (id > 0) {
+            task.setId(id);
+        }
+        return task;
+    }
+
+    /**
+     * Applies the record to a task list.
+     *
+     * @param tasks The task list to be updated.
+     */
+    public void applyTo(TaskList tasks) {
+        if (this.type == Type.ADD) {
+            tasks.addTask(this.task);
+            return;
+        } else if (this.type == Type.NEXT_ID) {
+            tasks.advanceNextId(this.indices[0]);
+            return;
+        }
+        for (int index : this.indices) {
+            if (index < 0 || index >= tasks.getNumOfTasks()) {
+                // ignore records left behind by a partial write
+                return;
+            }
+        }
+        if (this.type == Type.DELETE) {
+            tasks.removeAll(this.indices);
+        } else if (this.type == Type.DONE) {
+            tasks.get(this.indices[0]).setDone();
+        } else {
+            tasks.get(this.indices[0]).setUndone();
+        }
+    }
+
+    /**
+     * Converts the record to a string with the format of the file in hard disk.
+     *
+     * @return String representation of the record in the file's format.
+     */
+    public String toFileFormatString() {
+        if (this.type == Type.ADD) {
+            return this.task.toFileFormatString();
+        }
+        StringBuilder record = new StringBuilder(LogRecord.MUTATION_PREFIX)
+                .append(this.type.keyword)
+                .append(LogRecord.SEPARATOR);
+        for (int i = 0; i < this.indices.length; i++) {
+            record.append(i == 0 ? "" : " ").append(this.indices[i]);
+        }
+        return record.append("\n").toString();
+    }
+}
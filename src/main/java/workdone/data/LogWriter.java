@@ -0,0 +1,176 @@
+package workdone.data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import workdone.metrics.Metrics;
+
+/**
+ * Represents a writer that appends records to the task file. Records appended by consecutive commands are
+ * collected in a buffer and written together, as often as the durability of the storage allows.
+ */
+public class LogWriter {
+    /** Size of the buffer collecting records, in bytes */
+    private static final int BUFFER_CAPACITY = 1 << 16;
+
+    /** Path of the task file */
+    private final Path file;
+    /** How soon records are forced to the disk */
+    private final Durability durability;
+    /** Records which are not written yet */
+    private final ByteBuffer buffer;
+    /** Periodic write of buffered records on the shared flusher thread, null if records are written by every commit */
+    private final ScheduledFuture<?> flusher;
+    /** Channel to the task file, null until the first write */
+    private FileChannel channel;
+    /** Whether bytes were written to the channel since it was last forced to the disk */
+    private boolean hasUnforcedWrites;
+
+    /**
+     * Constructor of the class `LogWriter`.
+     *
+     * @param file Path of the task file.
+     * @param config Configuration of the storage.
+     */
+    public LogWriter(Path file, StorageConfig config) {
+        this.file = file;
+        this.durability = config.getDurability();
+        this.buffer = ByteBuffer.allocate(LogWriter.BUFFER_CAPACITY);
+        if (this.durability == Durability.SYNC) {
+            this.flusher = null;
+        } else {
+            this.flusher = StorageExecutors.FLUSHER.scheduleWithFixedDelay(this::flushQuietly,
+                    config.getFlushInterval(), config.getFlushInterval(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Appends a record to the buffer. The record reaches the file at the next commit or flush.
+     *
+     * @param bytes The record encoded in the file's format.
+     * @throws IOException If the buffer is full and cannot be written.
+     */
+    public synchronized void append(byte[] bytes) throws IOException {
+        if (bytes.length > this.buffer.remaining()) {
+            this.writeBuffer();
+        }
+        if (bytes.length > this.buffer.capacity()) {
+            this.write(ByteBuffer.wrap(bytes));
+        } else {
+            this.buffer.put(bytes);
+        }
+    }
+
+    /**
+     * Marks the end of a command. Writes and forces the buffered records to the disk if every command has to be
+     * durable, otherwise leaves them to the background thread.
+     *
+     * @throws IOException If the records cannot be written.
+     */
+    public synchronized void commit() throws IOException {
+        if (this.durability == Durability.SYNC) {
+            this.flush();
+        }
+    }
+
+    /**
+     * Writes all buffered records to the file, forcing them to the disk unless the OS is trusted to do so.
+     *
+     * @throws IOException If the records cannot be written.
+     */
+    public synchronized void flush() throws IOException {
+        this.writeBuffer();
+        if (this.hasUnforcedWrites && this.durability != Durability.BUFFERED) {
+            this.channel.force(false);
+            this.hasUnforcedWrites = false;
+            if (Metrics.ENABLED) {
+                Metrics.recordForce();
+            }
+        }
+    }
+
+    /**
+     * Drops all buffered records and closes the channel, so that the next write opens the task file again. Used
+     * after the task file is replaced by a snapshot, which already includes the buffered records.
+     *
+     * @throws IOException If the channel cannot be closed.
+     */
+    public synchronized void reopen() throws IOException {
+        this.buffer.clear();
+        if (this.channel != null) {
+            this.channel.close();
+            this.channel = null;
+        }
+        this.hasUnforcedWrites = false;
+    }
+
+    /**
+     * Writes all buffered records and closes the task file.
+     *
+     * @throws IOException If the records cannot be written.
+     */
+    public synchronized void close() throws IOException {
+        this.flush();
+        if (this.flusher != null) {
+            this.flusher.cancel(false);
+        }
+        if (this.channel != null) {
+            this.channel.close();
+            this.channel = null;
+        }
+    }
+
+    /**
+     * Writes buffered records on the background thread. Errors are reported by the next command's commit.
+     */
+    private void flushQuietly() {
+        try {
+            this.flush();
+        } catch (IOException ioException) {
+            // leave the records in the buffer, they are written by the next flush
+        }
+    }
+
+    /**
+     * Writes the buffer to the task file.
+     *
+     * @throws IOException If the buffer cannot be written.
+     */
+    private void writeBuffer() throws IOException {
+        if (this.buffer.position() == 0) {
+            return;
+        }
+        this.buffer.flip();
+        try {
+            this.write(this.buffer);
+        } finally {
+            this.buffer.compact();
+        }
+    }
+
+    /**
+     * Writes bytes to the task file, opening it if needed.
+     *
+     * @param bytes Bytes to be written.
+     * @throws IOException If the bytes cannot be written.
+     */
+    private void write(ByteBuffer bytes) throws IOException {
+        if (this.channel == null) {
+            this.channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        int numOfBytes = bytes.remaining();
+        while (bytes.hasRemaining()) {
+            this.channel.write(bytes);
+        }
+        if (Metrics.ENABLED) {
+            Metrics.recordBytesWritten(numOfBytes);
+        }
+        this.hasUnforcedWrites = true;
+    }
+}
@@ -0,0 +1,571 @@
+package workdone.data;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import workdone.metrics.Metrics;
+import workdone.task.Deadline;
+import workdone.task.Event;
+import workdone.task.Task;
+
+/**
+ * Represents a list of tasks kept off the heap in a memory-mapped task file, which is both the memory of the list
+ * and its storage. Changes are made in place in the mapped pages, so storing them only takes forcing the dirty
+ * pages to the disk, as often as the durability of the storage requires.
+ *
+ * <p>The file starts with a header of {@value #HEADER_SIZE} bytes holding the magic number, the number of tasks,
+ * the next ID, the end of the used part of the file and whether a removal is committed. The rows of the tasks
+ * follow in list order, each made of a fixed-size header and a slot holding its description in UTF-8:
+ *
+ * <pre>
+ * type (1 byte) | done (1 byte) | removed (1 byte) | unused (1 byte) | ID (4 bytes)
+ *     | deadline or starting time (8 bytes) | ending time (8 bytes) | length of description (4 bytes)
+ *     | unused (4 bytes) | description
+ * </pre>
+ *
+ * <p>No change moves a row in place, so a crash never leaves the file half rewritten. Marking a task as done or
+ * undone changes one byte, and so does removing one task. Removing several tasks marks their rows as being removed
+ * first, then commits the removal in the file header, so that a file restored after a crash has either all or none
+ * of them. Sorting, and reclaiming the space of removed rows once they take more than half of the file, write the
+ * rows to a new file which then replaces the task file in one atomic step.
+ *
+ * <p>Only the position of each row is kept on the heap. The mapping grows by doubling, up to 2 GB.
+ */
+public class MappedTaskList extends RowTaskList {
+    /** Magic number and version at the start of a mapped task file */
+    private static final byte[] MAGIC = {'W', 'D', 'M', 'A', 'P', 0, 0, 2};
+    /** Oldest version which can be read, whose rows are never marked as removed */
+    private static final byte OLDEST_VERSION = 1;
+    /** Size of the file header */
+    private static final int HEADER_SIZE = 32;
+    /** Offset of the number of tasks in the file header */
+    private static final int NUM_OF_TASKS_OFFSET = 8;
+    /** Offset of the next ID in the file header */
+    private static final int NEXT_ID_OFFSET = 12;
+    /** Offset of the end of the used part of the file in the file header */
+    private static final int END_OFFSET = 16;
+    /** Offset of the flag committing the removal of the rows being removed in the file header */
+    private static final int COMMITTED_REMOVAL_OFFSET = 20;
+    /** Size of the header of a row */
+    private static final int ROW_HEADER_SIZE = 32;
+    /** Offset of the type in a row */
+    private static final int TYPE_OFFSET = 0;
+    /** Offset of the done flag in a row */
+    private static final int DONE_OFFSET = 1;
+    /** Offset of the removal state in a row */
+    private static final int REMOVED_OFFSET = 2;
+    /** Offset of the ID in a row */
+    private static final int ID_OFFSET = 4;
+    /** Offset of the deadline or starting time in a row */
+    private static final int STARTING_TIME_OFFSET = 8;
+    /** Offset of the ending time in a row */
+    private static final int ENDING_TIME_OFFSET = 16;
+    /** Offset of the length of the description in a row */
+    private static final int DESCRIPTION_LENGTH_OFFSET = 24;
+    /** Size of a new mapping */
+    private static final int INITIAL_MAPPING_SIZE = 1 << 16;
+    /** Removal state of a row in the list */
+    private static final byte KEPT = 0;
+    /** Removal state of a removed row */
+    private static final byte REMOVED = 1;
+    /** Removal state of a row removed only once the removal is committed in the file header */
+    private static final byte BEING_REMOVED = 2;
+    /** Size the removed rows must exceed before their space is reclaimed */
+    private static final int MIN_RECLAIMED_SIZE = 1 << 16;
+
+    /** Path of the task file */
+    private final Path file;
+    /** Channel the task file is mapped through, replaced when the file is rewritten */
+    private FileChannel channel;
+    /** How soon changes are forced to the disk */
+    private final Durability durability;
+    /** Periodic force on the shared flusher thread, null unless changes are forced periodically */
+    private final ScheduledFuture<?> flusher;
+    /** Mapping of the task file */
+    private MappedByteBuffer buffer;
+    /** Offset of the row of each task in the file */
+    private int[] rowOffsets;
+    /** End of the used part of the file */
+    private int end;
+    /** Number of bytes taken by removed rows */
+    private int removedSize;
+    /** Whether the mapping was changed since it was last forced to the disk */
+    private boolean hasUnforcedChanges;
+
+    /**
+     * Constructor of the class `MappedTaskList`. A task file in another format is converted first.
+     *
+     * @param file Path of the task file.
+     * @param config Configuration of the storage.
+     * @throws IOException If the task file cannot be converted or mapped.
+     */
+    public MappedTaskList(Path file, StorageConfig config) throws IOException {
+        if (Files.exists(file) && Files.size(file) > 0 && !MappedTaskList.isMappedFile(file)) {
+            MappedTaskList.convert(file);
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.file = file;
+        this.durability = config.getDurability();
+        // Mapping more than the file holds makes the file longer.
+        long fileSize = Files.exists(file) ? Files.size(file) : 0;
+        this.open();
+        this.rowOffsets = new int[16];
+        if (fileSize == 0) {
+            this.buffer.put(MappedTaskList.MAGIC);
+            this.end = MappedTaskList.HEADER_SIZE;
+            this.writeHeader(0);
+            this.markChanged();
+        } else {
+            this.restore();
+        }
+        if (this.durability == Durability.PERIODIC) {
+            this.flusher = StorageExecutors.FLUSHER.scheduleWithFixedDelay(this::force, config.getFlushInterval(),
+                    config.getFlushInterval(), TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    /**
+     * Returns whether a file is a mapped task file.
+     *
+     * @param file Path of a task file.
+     * @return Whether the file starts with the magic number of mapped task files.
+     * @throws IOException If the file cannot be read.
+     */
+    public static boolean isMappedFile(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(MappedTaskList.MAGIC.length);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // keep reading until the magic number is read or the file ends
+            }
+            return MappedTaskList.isSupportedMagic(magic.array());
+        }
+    }
+
+    /**
+     * Returns whether the start of a file is the magic number of a version of mapped task files which can be read.
+     *
+     * @param magic Bytes at the start of a file.
+     * @return Whether the file is a mapped task file.
+     */
+    private static boolean isSupportedMagic(byte[] magic) {
+        int version = magic.length - 1;
+        return Arrays.equals(magic, 0, version, MappedTaskList.MAGIC, 0, version)
+                && magic[version] >= MappedTaskList.OLDEST_VERSION && magic[version] <= MappedTaskList.MAGIC[version];
+    }
+
+    /**
+     * Opens and maps the task file.
+     *
+     * @throws IOException If the file cannot be mapped.
+     */
+    private void open() throws IOException {
+        this.channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                Math.max(this.channel.size(), MappedTaskList.INITIAL_MAPPING_SIZE));
+    }
+
+    /**
+     * Converts a task file in another format to a mapped task file, replaying its records into a new mapped file
+     * which then replaces it in one atomic step.
+     *
+     * @param file Path of the task file.
+     * @throws IOException If either file cannot be accessed.
+     */
+    private static void convert(Path file) throws IOException {
+        Path mappedFile = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(),
+                ".mapped");
+        MappedTaskList tasks = new MappedTaskList(mappedFile,
+                new StorageConfig(Durability.BUFFERED, 1, TaskFileFormat.BINARY));
+        try {
+            for (LogRecord record : TaskFileFormat.detect(file).load(file)) {
+                record.applyTo(tasks);
+            }
+        } finally {
+            tasks.close();
+        }
+        Compactor.swapIn(mappedFile, file);
+    }
+
+    /**
+     * Reads the header of the file and finds the row of each task. Rows being removed when the program stopped are
+     * removed if the removal was committed, and kept otherwise.
+     *
+     * @throws IOException If the file is not a mapped task file.
+     */
+    private void restore() throws IOException {
+        byte[] magic = new byte[MappedTaskList.MAGIC.length];
+        this.region(0, magic.length).get(magic);
+        if (!MappedTaskList.isSupportedMagic(magic)) {
+            throw new IOException("Unsupported task file: " + this.file);
+        }
+        int nextId = this.buffer.getInt(MappedTaskList.NEXT_ID_OFFSET);
+        this.end = this.buffer.getInt(MappedTaskList.END_OFFSET);
+        boolean isRemovalCommitted = this.buffer.getInt(MappedTaskList.COMMITTED_REMOVAL_OFFSET) != 0;
+        int numOfTasks = 0;
+        int offset = MappedTaskList.HEADER_SIZE;
+        while (offset < this.end) {
+            int rowLength = this.getRowLength(offset);
+            byte state = this.buffer.get(offset + MappedTaskList.REMOVED_OFFSET);
+            if (state == MappedTaskList.BEING_REMOVED) {
+                state = isRemovalCommitted ? MappedTaskList.REMOVED : MappedTaskList.KEPT;
+                this.buffer.put(offset + MappedTaskList.REMOVED_OFFSET, state);
+            }
+            if (state == MappedTaskList.REMOVED) {
+                this.removedSize += rowLength;
+            } else {
+                if (numOfTasks == this.rowOffsets.length) {
+                    this.rowOffsets = Arrays.copyOf(this.rowOffsets, numOfTasks * 2);
+                }
+                this.rowOffsets[numOfTasks] = offset;
+                numOfTasks++;
+            }
+            offset += rowLength;
+        }
+        if (offset != this.end) {
+            throw new IOException("Corrupted task file: " + this.file);
+        }
+        this.region(0, magic.length).put(MappedTaskList.MAGIC);
+        this.buffer.putInt(MappedTaskList.COMMITTED_REMOVAL_OFFSET, 0);
+        this.restoreRows(numOfTasks, nextId);
+        this.writeHeader(numOfTasks);
+        this.markChanged();
+    }
+
+    /**
+     * Writes the number of tasks, the next ID and the end of the used part of the file to the file header.
+     *
+     * @param numOfTasks Number of tasks in the list.
+     */
+    private void writeHeader(int numOfTasks) {
+        this.buffer.putInt(MappedTaskList.NUM_OF_TASKS_OFFSET, numOfTasks);
+        this.buffer.putInt(MappedTaskList.NEXT_ID_OFFSET, this.getNextId());
+        this.buffer.putInt(MappedTaskList.END_OFFSET, this.end);
+    }
+
+    /**
+     * Returns the length of a row.
+     *
+     * @param offset Offset of the row in the file.
+     * @return Length of the row in bytes.
+     */
+    private int getRowLength(int offset) {
+        return MappedTaskList.ROW_HEADER_SIZE + this.buffer.getInt(offset + MappedTaskList.DESCRIPTION_LENGTH_OFFSET);
+    }
+
+    /**
+     * Returns a view of a region of the mapping, for copying bytes in bulk.
+     *
+     * @param offset Offset of the region in the file.
+     * @param length Length of the region.
+     * @return View of the region, positioned at its start.
+     */
+    private ByteBuffer region(int offset, int length) {
+        ByteBuffer region = this.buffer.duplicate();
+        region.position(offset).limit(offset + length);
+        return region;
+    }
+
+    /**
+     * Maps more of the file if the used part cannot grow by the given number of bytes.
+     *
+     * @param numOfBytes Number of bytes to be added.
+     */
+    private void ensureCapacity(int numOfBytes) {
+        long required = (long) this.end + numOfBytes;
+        if (required <= this.buffer.capacity()) {
+            return;
+        }
+        if (required > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Task file is full: " + this.file);
+        }
+        try {
+            // Changes in the old mapping are in the page cache, which the new mapping shares.
+            long size = Math.min(Math.max((long) this.buffer.capacity() * 2, required), Integer.MAX_VALUE);
+            this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
+    /**
+     * Records that the mapping was changed, forcing it to the disk at once if every change has to be durable.
+     */
+    private void markChanged() {
+        synchronized (this) {
+            this.hasUnforcedChanges = true;
+        }
+        if (this.durability == Durability.SYNC) {
+            this.force();
+        }
+    }
+
+    /**
+     * Makes sure the changes made so far reach the disk before any change made after, unless the OS is trusted to
+     * write them. Without a crash of the OS, the pages of the mapping are seen in the order they were changed anyway.
+     */
+    private synchronized void forceInOrder() {
+        if (this.durability != Durability.BUFFERED) {
+            this.buffer.force();
+            if (Metrics.ENABLED) {
+                Metrics.recordForce();
+            }
+        }
+    }
+
+    /**
+     * Forces the dirty pages of the mapping to the disk, unless the OS is trusted to write them.
+     */
+    public synchronized void force() {
+        if (!this.hasUnforcedChanges || this.durability == Durability.BUFFERED) {
+            return;
+        }
+        this.buffer.force();
+        this.hasUnforcedChanges = false;
+        if (Metrics.ENABLED) {
+            Metrics.recordForce();
+        }
+    }
+
+    /**
+     * Forces the mapping to the disk and closes the task file. The mapping itself is released by the garbage
+     * collector, as mappings cannot be unmapped explicitly.
+     *
+     * @throws IOException If the task file cannot be closed.
+     */
+    public void close() throws IOException {
+        if (this.flusher != null) {
+            this.flusher.cancel(false);
+        }
+        synchronized (this) {
+            if (this.hasUnforcedChanges) {
+                this.buffer.force();
+                this.hasUnforcedChanges = false;
+            }
+        }
+        this.channel.close();
+    }
+
+    @Override
+    public void advanceNextId(int nextId) {
+        this.getWriteLock().lock();
+        try {
+            super.advanceNextId(nextId);
+            this.writeHeader(this.getNumOfTasks());
+            this.markChanged();
+        } finally {
+            this.getWriteLock().unlock();
+        }
+    }
+
+    @Override
+    protected void appendRow(Task task, byte[] description) {
+        int index = this.getNumOfTasks();
+        int rowLength = MappedTaskList.ROW_HEADER_SIZE + description.length;
+        this.ensureCapacity(rowLength);
+        if (index == this.rowOffsets.length) {
+            this.rowOffsets = Arrays.copyOf(this.rowOffsets, index + (index >> 1));
+        }
+        int offset = this.end;
+        this.buffer.put(offset + MappedTaskList.TYPE_OFFSET, RowTaskList.getType(task));
+        this.buffer.put(offset + MappedTaskList.DONE_OFFSET, (byte) (task.isDone() ? 1 : 0));
+        this.buffer.put(offset + MappedTaskList.REMOVED_OFFSET, MappedTaskList.KEPT);
+        this.buffer.putInt(offset + MappedTaskList.ID_OFFSET, task.getId());
+        long startingTime = 0;
+        long endingTime = 0;
+        if (task instanceof Deadline) {
+            startingTime = ((Deadline) task).getEpochMinute();
+        } else if (task instanceof Event) {
+            startingTime = ((Event) task).getStartingEpochMinute();
+            endingTime = ((Event) task).getEndingEpochMinute();
+        }
+        this.buffer.putLong(offset + MappedTaskList.STARTING_TIME_OFFSET, startingTime);
+        this.buffer.putLong(offset + MappedTaskList.ENDING_TIME_OFFSET, endingTime);
+        this.buffer.putInt(offset + MappedTaskList.DESCRIPTION_LENGTH_OFFSET, description.length);
+        this.region(offset + MappedTaskList.ROW_HEADER_SIZE, description.length).put(description);
+        this.rowOffsets[index] = offset;
+        this.end += rowLength;
+        // The row is complete before the header counts it.
+        this.writeHeader(index + 1);
+        this.markChanged();
+    }
+
+    @Override
+    protected void removeRows(int[] indices, int numOfRows) {
+        if (indices.length == 1) {
+            // A single byte is written whole, so removing one row needs no commit.
+            this.setRemovalState(indices[0], MappedTaskList.REMOVED);
+        } else {
+            for (int index : indices) {
+                this.setRemovalState(index, MappedTaskList.BEING_REMOVED);
+            }
+            this.forceInOrder();
+            this.buffer.putInt(MappedTaskList.COMMITTED_REMOVAL_OFFSET, 1);
+            this.forceInOrder();
+            for (int index : indices) {
+                this.setRemovalState(index, MappedTaskList.REMOVED);
+            }
+            this.forceInOrder();
+            this.buffer.putInt(MappedTaskList.COMMITTED_REMOVAL_OFFSET, 0);
+        }
+        int next = 0;
+        int newSize = 0;
+        for (int i = 0; i < numOfRows; i++) {
+            if (next < indices.length && indices[next] == i) {
+                next++;
+                this.removedSize += this.getRowLength(this.rowOffsets[i]);
+            } else {
+                this.rowOffsets[newSize] = this.rowOffsets[i];
+                newSize++;
+            }
+        }
+        this.writeHeader(newSize);
+        this.markChanged();
+        if (this.removedSize >= MappedTaskList.MIN_RECLAIMED_SIZE
+                && this.removedSize > (this.end - MappedTaskList.HEADER_SIZE) / 2) {
+            this.rewrite(IntStream.range(0, newSize).toArray());
+        }
+    }
+
+    /**
+     * Sets the removal state of a row.
+     *
+     * @param index Index of the row.
+     * @param state Removal state of the row.
+     */
+    private void setRemovalState(int index, byte state) {
+        this.buffer.put(this.rowOffsets[index] + MappedTaskList.REMOVED_OFFSET, state);
+    }
+
+    @Override
+    protected void reorderRows(int[] order) {
+        this.rewrite(order);
+    }
+
+    /**
+     * Writes the rows in the given order to a new file, without the removed rows, and replaces the task file with it
+     * in one atomic step. The new file is then mapped instead.
+     *
+     * @param order Index of each row to be written, in the new order.
+     */
+    private void rewrite(int[] order) {
+        int newEnd = MappedTaskList.HEADER_SIZE;
+        int[] newRowOffsets = new int[Math.max(order.length, 16)];
+        for (int i = 0; i < order.length; i++) {
+            newRowOffsets[i] = newEnd;
+            newEnd += this.getRowLength(this.rowOffsets[order[i]]);
+        }
+        Path parent = this.file.toAbsolutePath().getParent();
+        Path rewrittenFile = null;
+        try {
+            rewrittenFile = Files.createTempFile(parent, this.file.getFileName().toString(), ".mapped");
+            try (FileChannel output = FileChannel.open(rewrittenFile, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(MappedTaskList.HEADER_SIZE);
+                header.put(MappedTaskList.MAGIC)
+                        .putInt(MappedTaskList.NUM_OF_TASKS_OFFSET, order.length)
+                        .putInt(MappedTaskList.NEXT_ID_OFFSET, this.getNextId())
+                        .putInt(MappedTaskList.END_OFFSET, newEnd);
+                header.clear();
+                while (header.hasRemaining()) {
+                    output.write(header);
+                }
+                for (int index : order) {
+                    int offset = this.rowOffsets[index];
+                    ByteBuffer row = this.region(offset, this.getRowLength(offset));
+                    while (row.hasRemaining()) {
+                        output.write(row);
+                    }
+                }
+            }
+            synchronized (this) {
+                Compactor.swapIn(rewrittenFile, this.file);
+                rewrittenFile = null;
+                this.channel.close();
+                this.open();
+                this.hasUnforcedChanges = false;
+            }
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        } finally {
+            if (rewrittenFile != null) {
+                try {
+                    Files.deleteIfExists(rewrittenFile);
+                } catch (IOException ioException) {
+                    // a stray temporary file does no harm
+                }
+            }
+        }
+        this.rowOffsets = newRowOffsets;
+        this.end = newEnd;
+        this.removedSize = 0;
+    }
+
+    @Override
+    protected byte getTypeAt(int index) {
+        return this.buffer.get(this.rowOffsets[index] + MappedTaskList.TYPE_OFFSET);
+    }
+
+    @Override
+    protected int getIdAt(int index) {
+        return this.buffer.getInt(this.rowOffsets[index] + MappedTaskList.ID_OFFSET);
+    }
+
+    @Override
+    protected boolean isDoneAt(int index) {
+        return this.buffer.get(this.rowOffsets[index] + MappedTaskList.DONE_OFFSET) != 0;
+    }
+
+    @Override
+    protected void setDoneAt(int index, boolean isDone) {
+        this.buffer.put(this.rowOffsets[index] + MappedTaskList.DONE_OFFSET, (byte) (isDone ? 1 : 0));
+        this.markChanged();
+    }
+
+    @Override
+    protected long getStartingTimeAt(int index) {
+        return this.buffer.getLong(this.rowOffsets[index] + MappedTaskList.STARTING_TIME_OFFSET);
+    }
+
+    @Override
+    protected long getEndingTimeAt(int index) {
+        return this.buffer.getLong(this.rowOffsets[index] + MappedTaskList.ENDING_TIME_OFFSET);
+    }
+
+    @Override
+    protected String getDescriptionAt(int index) {
+        int offset = this.rowOffsets[index];
+        byte[] description = new byte[this.buffer.getInt(offset + MappedTaskList.DESCRIPTION_LENGTH_OFFSET)];
+        this.region(offset + MappedTaskList.ROW_HEADER_SIZE, description.length).get(description);
+        return new String(description, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected boolean descriptionContains(int index, byte[] pattern) {
+        int offset = this.rowOffsets[index];
+        int start = offset + MappedTaskList.ROW_HEADER_SIZE;
+        int last = start + this.buffer.getInt(offset + MappedTaskList.DESCRIPTION_LENGTH_OFFSET) - pattern.length;
+        for (int i = start; i <= last; i++) {
+            int j = 0;
+            while (j < pattern.length && this.buffer.get(i + j) == pattern[j]) {
+                j++;
+            }
+            if (j == pattern.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,325 @@
+package workdone.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import workdone.task.Deadline;
+import workdone.task.Event;
+import workdone.task.Task;
+
+/**
+ * Represents a list of tasks kept as task objects, with indexes of their positions, IDs, terms and times.
+ */
+public class ObjectTaskList extends TaskList {
+    /** List of tasks */
+    private final ArrayList<Task> tasks;
+    /** Index of each task in the list */
+    private final PositionIndex positions;
+    /** Tasks in the list by their IDs */
+    private final Map<Integer, Task> tasksById;
+    /** Index of the terms in task descriptions */
+    private final KeywordIndex keywordIndex;
+    /** Tasks with time, grouped by their time and kept in the order of the list within each group */
+    private final NavigableMap<Long, List<Task>> timeIndex;
+    /** ID given to the next task added without one */
+    private int nextId;
+
+    /**
+     * Constructor of the class `ObjectTaskList`.
+     */
+    public ObjectTaskList() {
+        this.tasks = new ArrayList<>();
+        this.positions = new PositionIndex();
+        this.tasksById = new HashMap<>();
+        this.keywordIndex = new KeywordIndex();
+        this.timeIndex = new TreeMap<>();
+        this.nextId = 1;
+    }
+
+    /**
+     * Returns the time a task is sorted by, which is the deadline of a task with deadline and the starting time of
+     * an event.
+     *
+     * @param task A task.
+     * @return Time of the task in minutes since the epoch, or null if the task has no time.
+     */
+    private static Long getTime(Task task) {
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getEpochMinute();
+        } else if (task instanceof Event) {
+            return ((Event) task).getStartingEpochMinute();
+        }
+        return null;
+    }
+
+    @Override
+    public int getNextId() {
+        this.getReadLock().lock();
+        try {
+            return this.nextId;
+        } finally {
+            this.getReadLock().unlock();
+        }
+    }
+
+    @Override
+    public void advanceNextId(int nextId) {
+        this.getWriteLock().lock();
+        try {
+            this.nextId = Math.max(this.nextId, nextId);
+        } finally {
+            this.getWriteLock().unlock();
+        }
+    }
+
+    @Override
+    public void addTask(Task task) {
+        assert task != null : "task shouldn't be null";
+        this.getWriteLock().lock();
+        try {
+            assert !this.positions.contains(task) : "task shouldn't be in the list already";
+            if (task.getId() <= 0 || this.tasksById.containsKey(task.getId())) {
+                task.setId(this.nextId);
+            }
+            this.nextId = Math.max(this.nextId, task.getId() + 1);
+            this.tasksById.put(task.getId(), task);
+            this.positions.add(task);
+            this.tasks.add(task);
+            this.keywordIndex.add(task);
+            Long time = ObjectTaskList.getTime(task);
+            if (time != null) {
+                this.timeIndex.computeIfAbsent(time, key -> new ArrayList<>()).add(task);
+            }
+        } finally {
+            this.getWriteLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeFromList(Task task) {
+        assert task != null : "task shouldn't be null";
+        this.getWriteLock().lock();
+        try {
+            int index = this.positions.get(task);
+            if (index >= 0) {
+                this.removeFromList(index);
+            }
+        } finally {
+            this.getWriteLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeFromList(int index) {
+        this.getWriteLock().lock();
+        try {
+            Task task = this.tasks.remove(index);
+            this.positions.remove(task);
+            this.tasksById.remove(task.getId());
+            this.keywordIndex.remove(task);
+            Long time = ObjectTaskList.getTime(task);
+            if (time != null) {
+                List<Task> tasksAtTime = this.timeIndex.get(time);
+                tasksAtTime.remove(task);
+                if (tasksAtTime.isEmpty()) {
+                    this.timeIndex.remove(time);
+                }
+            }
+        } finally {
+            this.getWriteLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the tasks at the given indices from the task list in a single pass.
+     *
+     * @param indices Indices of the tasks to be removed, in ascending order.
+     */
+    @Override
+    public void removeAll(int[] indices) {
+        this.getWriteLock().lock();
+        try {
+            if (indices.length == 1) {
+                this.removeFromList(indices[0]);
+                return;
+            }
+            List<Task> remainingTasks = new ArrayList<>(this.tasks.size() - indices.length);
+            int next = 0;
+            for (int i = 0; i < this.tasks.size(); i++) {
+                Task task = this.tasks.get(i);
+                if (next < indices.length && indices[next] == i) {
+                    next++;
+                    this.tasksById.remove(task.getId());
+                    this.keywordIndex.remove(task);
+                } else {
+                    remainingTasks.add(task);
+                }
+            }
+            this.tasks.clear();
+            this.tasks.addAll(remainingTasks);
+            this.positions.renumber(this.tasks);
+
+            // Rebuild the time index in list order, dropping the removed tasks.
+            this.timeIndex.clear();
+            for (Task task : this.tasks) {
+                Long time = ObjectTaskList.getTime(task);
+                if (time != null) {
+                    this.timeIndex.computeIfAbsent(time, key -> new ArrayList<>()).add(task);
+                }
+            }
+        } finally {
+            this.getWriteLock().unlock();
+        }
+    }
+
+    @Override
+    public int[] removeIf(Predicate<Task> predicate) {
+        this.getWriteLock().lock();
+        try {
+            int[] indices = IntStream.range(0, this.tasks.size())
+                    .filter(i -> predicate.test(this.tasks.get(i)))
+                    .toArray();
+            if (indices.length > 0) {
+                this.removeAll(indices);
+            }
+            return indices;
+        } finally {
+            this.getWriteLock().unlock();
+        }
+    }
+
+    @Override
+    public void sortByTime() {
+        this.getWriteLock().lock();
+        try {
+            List<Task> sortedTasks = new ArrayList<>(this.tasks.size());
+            for (List<Task> tasksAtTime : this.timeIndex.values()) {
+                sortedTasks.addAll(tasksAtTime);
+            }
+            for (Task task : this.tasks) {
+                if (ObjectTaskList.getTime(task) == null) {
+                    sortedTasks.add(task);
+                }
+            }
+            this.tasks.clear();
+            this.tasks.addAll(sortedTasks);
+            this.positions.renumber(this.tasks);
+        } finally {
+            this.getWriteLock().unlock();
+        }
+    }
+
+    @Override
+    public String getFileFormattedTask(int index) {
+        this.getReadLock().lock();
+        try {
+            return this.tasks.get(index).toFileFormatString();
+        } finally {
+            this.getReadLock().unlock();
+        }
+    }
+
+    @Override
+    public int getNumOfTasks() {
+        this.getReadLock().lock();
+        try {
+            return this.tasks.size();
+        } finally {
+            this.getReadLock().unlock();
+        }
+    }
+
+    @Override
+    public Task get(int index) {
+        this.getReadLock().lock();
+        try {
+            return this.tasks.get(index);
+        } finally {
+            this.getReadLock().unlock();
+        }
+    }
+
+    @Override
+    public Task getById(int id) {
+        this.getReadLock().lock();
+        try {
+            return this.tasksById.get(id);
+        } finally {
+            this.getReadLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> toList() {
+        this.getReadLock().lock();
+        try {
+            return new ArrayList<>(this.tasks);
+        } finally {
+            this.getReadLock().unlock();
+        }
+    }
+
+    @Override
+    public int indexOf(Task task) {
+        this.getReadLock().lock();
+        try {
+            return this.positions.get(task);
+        } finally {
+            this.getReadLock().unlock();
+        }
+    }
+
+    @Override
+    public int appendFilteredList(StringBuilder output, Predicate<Task> predicate, int skip, int limit) {
+        this.getReadLock().lock();
+        try {
+            int numOfMatches = 0;
+            for (int i = 0; i < this.tasks.size(); i++) {
+                Task task = this.tasks.get(i);
+                if (!predicate.test(task)) {
+                    continue;
+                }
+                if (numOfMatches >= skip && numOfMatches - skip < limit) {
+                    TaskList.appendTask(output, i, task);
+                }
+                numOfMatches++;
+            }
+            return numOfMatches;
+        } finally {
+            this.getReadLock().unlock();
+        }
+    }
+
+    /**
+     * Appends the tasks whose description contains a keyword to the output. The tasks are looked up in the
+     * keyword index, only keywords too short to be looked up are compared with every task.
+     *
+     * @param output The output to append to.
+     * @param keyword Keyword to be found.
+     */
+    @Override
+    public void appendListContainingKeyword(StringBuilder output, String keyword) {
+        this.getReadLock().lock();
+        try {
+            Collection<Task> candidates = this.keywordIndex.getCandidates(keyword);
+            if (candidates == null) {
+                this.appendFilteredList(output, task -> task.containsKeyword(keyword), 0, Integer.MAX_VALUE);
+                return;
+            }
+            candidates.stream()
+                    .filter(task -> task.containsKeyword(keyword))
+                    .mapToInt(this::indexOf)
+                    .sorted()
+                    .forEachOrdered(index -> TaskList.appendTask(output, index, this.tasks.get(index)));
+        } finally {
+            this.getReadLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package workdone.data;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import workdone.task.Task;
+
+/**
+ * Represents a map from tasks to their indices in a task list, which doesn't renumber the tasks after a removed
+ * task. Each task keeps the stamp it was given, which grows along the list, and removed stamps are counted in a
+ * Fenwick tree. The index of a task is its stamp less the number of stamps removed before it, so both a removal
+ * and a lookup take logarithmic time.
+ */
+class PositionIndex {
+    /** Number of stamps before the tree first grows, a power of two */
+    private static final int INITIAL_CAPACITY = 32;
+
+    /** Stamp of each task in the list */
+    private final Map<Task, Integer> stamps;
+    /** Fenwick tree counting removed stamps, node i counts those from i - (i &amp; -i) to i - 1 */
+    private int[] removedCounts;
+    /** Stamp given to the next task added */
+    private int nextStamp;
+    /** Number of stamps removed since the tasks were last renumbered */
+    private int numOfRemoved;
+
+    /**
+     * Constructor of the class `PositionIndex`.
+     */
+    PositionIndex() {
+        this.stamps = new HashMap<>();
+        this.removedCounts = new int[PositionIndex.INITIAL_CAPACITY + 1];
+    }
+
+    /**
+     * Returns whether a task is in the list.
+     *
+     * @param task A task.
+     * @return Whether the task has an index.
+     */
+    boolean contains(Task task) {
+        return this.stamps.containsKey(task);
+    }
+
+    /**
+     * Returns the index of a task.
+     *
+     * @param task A task.
+     * @return Index of the task, or -1 if the task is not in the list.
+     */
+    int get(Task task) {
+        Integer stamp = this.stamps.get(task);
+        return stamp == null ? -1 : stamp - this.countRemovedBefore(stamp);
+    }
+
+    /**
+     * Gives the index after the last task to a task added to the end of the list.
+     *
+     * @param task The task added.
+     */
+    void add(Task task) {
+        if (this.nextStamp == this.removedCounts.length - 1) {
+            if (this.numOfRemoved >= this.stamps.size()) {
+                this.compact();
+            } else {
+                this.grow();
+            }
+        }
+        this.stamps.put(task, this.nextStamp++);
+    }
+
+    /**
+     * Removes a task, which moves the tasks after it forward by one.
+     *
+     * @param task The task removed.
+     */
+    void remove(Task task) {
+        Integer stamp = this.stamps.remove(task);
+        if (stamp == null) {
+            return;
+        }
+        for (int i = stamp + 1; i < this.removedCounts.length; i += i & -i) {
+            this.removedCounts[i]++;
+        }
+        this.numOfRemoved++;
+    }
+
+    /**
+     * Gives every task its index in a list, after the list is rebuilt or reordered.
+     *
+     * @param tasks Tasks in the list, in order.
+     */
+    void renumber(List<Task> tasks) {
+        this.stamps.clear();
+        for (int i = 0; i < tasks.size(); i++) {
+            this.stamps.put(tasks.get(i), i);
+        }
+        int capacity = PositionIndex.INITIAL_CAPACITY;
+        while (capacity < tasks.size()) {
+            capacity *= 2;
+        }
+        this.removedCounts = new int[capacity + 1];
+        this.nextStamp = tasks.size();
+        this.numOfRemoved = 0;
+    }
+
+    /**
+     * Returns the number of stamps removed below a stamp.
+     *
+     * @param stamp A stamp.
+     * @return Number of removed stamps below it.
+     */
+    private int countRemovedBefore(int stamp) {
+        int count = 0;
+        for (int i = stamp; i > 0; i -= i & -i) {
+            count += this.removedCounts[i];
+        }
+        return count;
+    }
+
+    /**
+     * Doubles the number of stamps. Nodes of the larger tree up to the old capacity cover the same stamps as
+     * before, the last node covers every stamp, and the nodes in between cover only stamps not given yet.
+     */
+    private void grow() {
+        int capacity = this.removedCounts.length - 1;
+        this.removedCounts = Arrays.copyOf(this.removedCounts, 2 * capacity + 1);
+        this.removedCounts[2 * capacity] = this.numOfRemoved;
+    }
+
+    /**
+     * Gives every task its index as its stamp, once at least half of the stamps were removed.
+     */
+    private void compact() {
+        for (Map.Entry<Task, Integer> entry : this.stamps.entrySet()) {
+            entry.setValue(entry.getValue() - this.countRemovedBefore(entry.getValue()));
+        }
+        Arrays.fill(this.removedCounts, 0);
+        this.nextStamp = this.stamps.size();
+        this.numOfRemoved = 0;
+    }
+}
@@ -0,0 +1,558 @@
+package workdone.data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import workdone.task.Deadline;
+import workdone.task.Event;
+import workdone.task.Task;
+import workdone.task.ToDo;
+
+/**
+ * Represents a list of tasks kept as rows of primitive fields rather than as task objects. Subclasses decide where
+ * the rows are stored, while this class finds rows by ID, sorts and filters them, and hands out tasks.
+ *
+ * <p>The tasks returned by the list are views created on demand. A view reads and changes the done status of its
+ * row while the task is in the list, and keeps its own status once the task is removed. Views of the same task are
+ * different objects, so the list finds tasks by their IDs. Keywords are found by scanning the descriptions, as an
+ * index of the terms would cost more memory than the tasks themselves.
+ */
+abstract class RowTaskList extends TaskList {
+    /** Type of a task of none of the types below */
+    protected static final byte TASK = 0;
+    /** Type of a todo */
+    protected static final byte TODO = 1;
+    /** Type of a task with deadline */
+    protected static final byte DEADLINE = 2;
+    /** Type of an event */
+    protected static final byte EVENT = 3;
+
+    /** Index of each task in the list by its ID */
+    private final IdIndex indexById;
+    /** Number of tasks in the list */
+    private int size;
+    /** ID given to the next task added without one */
+    private int nextId;
+
+    /**
+     * Constructor of the class `RowTaskList`.
+     */
+    protected RowTaskList() {
+        this.indexById = new IdIndex();
+        this.nextId = 1;
+    }
+
+    /**
+     * Returns the type of a task, as stored in its row.
+     *
+     * @param task A task.
+     * @return Type of the task.
+     */
+    protected static byte getType(Task task) {
+        if (task instanceof Deadline) {
+            return RowTaskList.DEADLINE;
+        } else if (task instanceof Event) {
+            return RowTaskList.EVENT;
+        }
+        return task instanceof ToDo ? RowTaskList.TODO : RowTaskList.TASK;
+    }
+
+    /**
+     * Appends a row holding a task, which already has its ID.
+     *
+     * @param task The task to be stored.
+     * @param description Description of the task encoded in UTF-8.
+     */
+    protected abstract void appendRow(Task task, byte[] description);
+
+    /**
+     * Removes rows in a single pass, moving the remaining rows forward.
+     *
+     * @param indices Indices of the rows to be removed, in ascending order.
+     * @param numOfRows Number of rows before the removal.
+     */
+    protected abstract void removeRows(int[] indices, int numOfRows);
+
+    /**
+     * Moves the rows to a new order.
+     *
+     * @param order Index each row had before, in the new order.
+     */
+    protected abstract void reorderRows(int[] order);
+
+    /**
+     * Returns the type stored in a row.
+     *
+     * @param index Index of a row.
+     * @return Type of the task.
+     */
+    protected abstract byte getTypeAt(int index);
+
+    /**
+     * Returns the ID stored in a row.
+     *
+     * @param index Index of a row.
+     * @return ID of the task.
+     */
+    protected abstract int getIdAt(int index);
+
+    /**
+     * Returns whether the task in a row is done.
+     *
+     * @param index Index of a row.
+     * @return Whether the task is done.
+     */
+    protected abstract boolean isDoneAt(int index);
+
+    /**
+     * Sets whether the task in a row is done.
+     *
+     * @param index Index of a row.
+     * @param isDone Whether the task is done.
+     */
+    protected abstract void setDoneAt(int index, boolean isDone);
+
+    /**
+     * Returns the deadline or starting time stored in a row.
+     *
+     * @param index Index of a row.
+     * @return Time in minutes since the epoch, which is meaningless for tasks without time.
+     */
+    protected abstract long getStartingTimeAt(int index);
+
+    /**
+     * Returns the ending time stored in a row.
+     *
+     * @param index Index of a row.
+     * @return Time in minutes since the epoch, which is meaningless for tasks other than events.
+     */
+    protected abstract long getEndingTimeAt(int index);
+
+    /**
+     * Returns the description stored in a row.
+     *
+     * @param index Index of a row.
+     * @return Description of the task.
+     */
+    protected abstract String getDescriptionAt(int index);
+
+    /**
+     * Returns whether the description stored in a row contains a sequence of bytes. As UTF-8 is self-synchronizing,
+     * a description contains a keyword if and only if its bytes contain the bytes of the keyword.
+     *
+     * @param index Index of a row.
+     * @param pattern Bytes to be found.
+     * @return Whether the description contains the bytes.
+     */
+    protected abstract boolean descriptionContains(int index, byte[] pattern);
+
+    @Override
+    public int getNextId() {
+        this.getReadLock().lock();
+        try {
+            return this.nextId;
+        } finally {
+            this.getReadLock().unlock();
+        }
+    }
+
+    @Override
+    public void advanceNextId(int nextId) {
+        this.getWriteLock().lock();
+        try {
+            this.nextId = Math.max(this.nextId, nextId);
+        } finally {
+            this.getWriteLock().unlock();
+        }
+    }
+
+    /**
+     * Restores the rows stored before the list was created, e.g. in a file.
+     *
+     * @param numOfRows Number of rows stored.
+     * @param nextId ID given to the next task added without one.
+     */
+    protected void restoreRows(int numOfRows, int nextId) {
+        this.size = numOfRows;
+        this.nextId = nextId;
+        this.rebuildIndexById();
+    }
+
+    @Override
+    public void addTask(Task task) {
+        assert task != null : "task shouldn't be null";
+        this.getWriteLock().lock();
+        try {
+            if (task.getId() <= 0 || this.indexById.get(task.getId()) >= 0) {
+                task.setId(this.nextId);
+            }
+            this.nextId = Math.max(this.nextId, task.getId() + 1);
+            this.appendRow(task, task.getDescription().getBytes(StandardCharsets.UTF_8));
+            this.indexById.put(task.getId(), this.size);
+            this.size++;
+        } finally {
+            this.getWriteLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeFromList(Task task) {
+        assert task != null : "task shouldn't be null";
+        this.getWriteLock().lock();
+        try {
+            int index = this.indexById.get(task.getId());
+            if (index >= 0) {
+                this.removeAll(new int[] {index});
+            }
+        } finally {
+            this.getWriteLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeFromList(int index) {
+        this.getWriteLock().lock();
+        try {
+            if (index < 0 || index >= this.size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            this.removeAll(new int[] {index});
+        } finally {
+            this.getWriteLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeAll(int[] indices) {
+        this.getWriteLock().lock();
+        try {
+            if (indices.length == 0) {
+                return;
+            }
+            for (int index : indices) {
+                this.indexById.remove(this.getIdAt(index));
+            }
+            this.removeRows(indices, this.size);
+            this.size -= indices.length;
+            // Only the rows after the first removed one have moved.
+            for (int i = indices[0]; i < this.size; i++) {
+                this.indexById.put(this.getIdAt(i), i);
+            }
+        } finally {
+            this.getWriteLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes every task in the list by its ID, after the rows are restored or every row has moved.
+     */
+    private void rebuildIndexById() {
+        this.indexById.clear();
+        for (int i = 0; i < this.size; i++) {
+            this.indexById.put(this.getIdAt(i), i);
+        }
+    }
+
+    @Override
+    public int[] removeIf(Predicate<Task> predicate) {
+        this.getWriteLock().lock();
+        try {
+            int[] indices = IntStream.range(0, this.size)
+                    .filter(i -> predicate.test(this.createView(i)))
+                    .toArray();
+            if (indices.length > 0) {
+                this.removeAll(indices);
+            }
+            return indices;
+        } finally {
+            this.getWriteLock().unlock();
+        }
+    }
+
+    @Override
+    public void sortByTime() {
+        this.getWriteLock().lock();
+        try {
+            int[] order = IntStream.concat(
+                    IntStream.range(0, this.size)
+                            .filter(this::hasTime)
+                            .boxed()
+                            .sorted(Comparator.comparingLong(this::getStartingTimeAt))
+                            .mapToInt(Integer::intValue),
+                    IntStream.range(0, this.size).filter(i -> !this.hasTime(i)))
+                    .toArray();
+            this.reorderRows(order);
+            this.rebuildIndexById();
+        } finally {
+            this.getWriteLock().unlock();
+        }
+    }
+
+    /**
+     * Returns whether the task in a row has time.
+     *
+     * @param index Index of a row.
+     * @return Whether the task is a task with deadline or an event.
+     */
+    private boolean hasTime(int index) {
+        byte type = this.getTypeAt(index);
+        return type == RowTaskList.DEADLINE || type == RowTaskList.EVENT;
+    }
+
+    @Override
+    public String getFileFormattedTask(int index) {
+        return this.get(index).toFileFormatString();
+    }
+
+    @Override
+    public int getNumOfTasks() {
+        this.getReadLock().lock();
+        try {
+            return this.size;
+        } finally {
+            this.getReadLock().unlock();
+        }
+    }
+
+    @Override
+    public Task get(int index) {
+        this.getReadLock().lock();
+        try {
+            if (index < 0 || index >= this.size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return this.createView(index);
+        } finally {
+            this.getReadLock().unlock();
+        }
+    }
+
+    @Override
+    public Task getById(int id) {
+        this.getReadLock().lock();
+        try {
+            int index = this.indexById.get(id);
+            return index < 0 ? null : this.createView(index);
+        } finally {
+            this.getReadLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> toList() {
+        this.getReadLock().lock();
+        try {
+            List<Task> tasks = new ArrayList<>(this.size);
+            for (int i = 0; i < this.size; i++) {
+                tasks.add(this.createView(i));
+            }
+            return tasks;
+        } finally {
+            this.getReadLock().unlock();
+        }
+    }
+
+    @Override
+    public int indexOf(Task task) {
+        this.getReadLock().lock();
+        try {
+            return this.indexById.get(task.getId());
+        } finally {
+            this.getReadLock().unlock();
+        }
+    }
+
+    @Override
+    public int appendFilteredList(StringBuilder output, Predicate<Task> predicate, int skip, int limit) {
+        this.getReadLock().lock();
+        try {
+            int numOfMatches = 0;
+            for (int i = 0; i < this.size; i++) {
+                Task task = this.createView(i);
+                if (!predicate.test(task)) {
+                    continue;
+                }
+                if (numOfMatches >= skip && numOfMatches - skip < limit) {
+                    TaskList.appendTask(output, i, task);
+                }
+                numOfMatches++;
+            }
+            return numOfMatches;
+        } finally {
+            this.getReadLock().unlock();
+        }
+    }
+
+    /**
+     * Appends the tasks whose description contains a keyword to the output. The keyword is encoded in UTF-8 and
+     * searched for in the stored descriptions, so only matching tasks are decoded.
+     *
+     * @param output The output to append to.
+     * @param keyword Keyword to be found.
+     */
+    @Override
+    public void appendListContainingKeyword(StringBuilder output, String keyword) {
+        byte[] pattern = keyword.getBytes(StandardCharsets.UTF_8);
+        this.getReadLock().lock();
+        try {
+            for (int i = 0; i < this.size; i++) {
+                if (this.descriptionContains(i, pattern)) {
+                    TaskList.appendTask(output, i, this.createView(i));
+                }
+            }
+        } finally {
+            this.getReadLock().unlock();
+        }
+    }
+
+    /**
+     * Creates a view of the task at the given index.
+     *
+     * @param index Index of a task.
+     * @return A task reading its status from the list while it is in the list.
+     */
+    private Task createView(int index) {
+        String description = this.getDescriptionAt(index);
+        boolean isDone = this.isDoneAt(index);
+        Task view;
+        switch (this.getTypeAt(index)) {
+        case RowTaskList.TODO:
+            view = new ToDoView(description, isDone);
+            break;
+        case RowTaskList.DEADLINE:
+            view = new DeadlineView(description, this.getStartingTimeAt(index), isDone);
+            break;
+        case RowTaskList.EVENT:
+            view = new EventView(description, this.getStartingTimeAt(index), this.getEndingTimeAt(index), isDone);
+            break;
+        default:
+            view = new TaskView(description, isDone);
+            break;
+        }
+        view.setId(this.getIdAt(index));
+        return view;
+    }
+
+    /**
+     * Returns whether the task with the given ID is done.
+     *
+     * @param id ID of a task.
+     * @param isDetachedDone Status of the view, used if the task is no longer in the list.
+     * @return Whether the task is done.
+     */
+    private boolean isDone(int id, boolean isDetachedDone) {
+        this.getReadLock().lock();
+        try {
+            int index = this.indexById.get(id);
+            return index < 0 ? isDetachedDone : this.isDoneAt(index);
+        } finally {
+            this.getReadLock().unlock();
+        }
+    }
+
+    /**
+     * Sets whether the task with the given ID is done, if it is in the list.
+     *
+     * @param id ID of a task.
+     * @param isDone Whether the task is done.
+     */
+    private void setStatus(int id, boolean isDone) {
+        this.getWriteLock().lock();
+        try {
+            int index = this.indexById.get(id);
+            if (index >= 0) {
+                this.setDoneAt(index, isDone);
+            }
+        } finally {
+            this.getWriteLock().unlock();
+        }
+    }
+
+    /**
+     * Represents a view of a task of none of the other types.
+     */
+    private class TaskView extends Task {
+        TaskView(String description, boolean isDone) {
+            super(description);
+            this.isDone = isDone;
+        }
+
+        @Override
+        public boolean isDone() {
+            return RowTaskList.this.isDone(this.id, this.isDone);
+        }
+
+        @Override
+        protected void setStatus(boolean isDone) {
+            super.setStatus(isDone);
+            RowTaskList.this.setStatus(this.id, isDone);
+        }
+    }
+
+    /**
+     * Represents a view of a todo.
+     */
+    private class ToDoView extends ToDo {
+        ToDoView(String description, boolean isDone) {
+            super(description);
+            this.isDone = isDone;
+        }
+
+        @Override
+        public boolean isDone() {
+            return RowTaskList.this.isDone(this.id, this.isDone);
+        }
+
+        @Override
+        protected void setStatus(boolean isDone) {
+            super.setStatus(isDone);
+            RowTaskList.this.setStatus(this.id, isDone);
+        }
+    }
+
+    /**
+     * Represents a view of a task with deadline.
+     */
+    private class DeadlineView extends Deadline {
+        DeadlineView(String description, long time, boolean isDone) {
+            super(description, time);
+            this.isDone = isDone;
+        }
+
+        @Override
+        public boolean isDone() {
+            return RowTaskList.this.isDone(this.id, this.isDone);
+        }
+
+        @Override
+        protected void setStatus(boolean isDone) {
+            super.setStatus(isDone);
+            RowTaskList.this.setStatus(this.id, isDone);
+        }
+    }
+
+    /**
+     * Represents a view of an event.
+     */
+    private class EventView extends Event {
+        EventView(String description, long startingTime, long endingTime, boolean isDone) {
+            super(description, startingTime, endingTime);
+            this.isDone = isDone;
+        }
+
+        @Override
+        public boolean isDone() {
+            return RowTaskList.this.isDone(this.id, this.isDone);
+        }
+
+        @Override
+        protected void setStatus(boolean isDone) {
+            super.setStatus(isDone);
+            RowTaskList.this.setStatus(this.id, isDone);
+        }
+    }
+}
@@ -1,101 +1,291 @@
 package workdone.data;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleConsumer;
 
-import workdone.task.Deadline;
-import workdone.task.Event;
+import workdone.metrics.Metrics;
+import workdone.metrics.StorageEvent;
 import workdone.task.Task;
-import workdone.task.ToDo;
 import workdone.ui.Ui;
 
 /**
- * Represents storage that can store data into a file and read data from a file.
+ * Represents storage that can store data into a file and read data from a file. Changes to the task list are
+ * appended to the file as records, which are replayed in order when the file is read. Once there are too many
+ * records, a snapshot of the task list replaces the file in the background, started by {@link #compactIfNeeded()}
+ * after a command.
+ *
+ * <p>Changes are stored by commands holding the write lock of the task list, so records reach the file in the
+ * order the changes were made.
+ *
+ * <p>A {@link MappedTaskList} is backed by the file itself, so nothing is appended for it. Storing its changes only
+ * takes forcing them to the disk.
  */
 public class Storage {
-    /** Path of the current folder as a string */
-    private static final String DIRECTORY_PATH = System.getProperty("user.dir");
+    /** Share of the progress of loading the file taken by parsing it, the rest is taken by replaying the records */
+    private static final double PARSE_PROGRESS = 0.8;
+    /** Storages not closed yet, which are flushed by one shutdown hook shared by all of them */
+    private static final Set<Storage> OPEN_STORAGES = ConcurrentHashMap.newKeySet();
+
+    static {
+        // Buffered records are written even if the program doesn't exit through the `bye` command.
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> Storage.OPEN_STORAGES.forEach(Storage::flush),
+                "workdone-shutdown"));
+    }
+
     /** Path of file containing data saved */
-    private static File data;
+    private final File data;
     /** A temporary list of tasks */
     private final TaskList tasks;
+    /** Compaction policy of the file */
+    private final Compactor compactor;
+    /** Writer appending records to the file, null if the task list is mapped */
+    private final LogWriter writer;
+    /** The task list if it is backed by the file, null otherwise */
+    private final MappedTaskList mappedTasks;
+    /** Format of the file */
+    private final TaskFileFormat format;
+    /** Number of records in the file */
+    private int numOfRecords;
+    /** Records appended since the running compaction took its snapshot, null if no compaction is running */
+    private List<byte[]> recordsSinceSnapshot;
+    /** Incremented whenever the file is rewritten, so that an outdated snapshot is never swapped in */
+    private int generation;
 
     /**
-     * Constructor of the `Storage` class.
+     * Constructor of the `Storage` class, configured by system properties.
      *
      * @param filePath Path to the file to be loaded.
      * @param tasks A temporary list of tasks.
      */
     public Storage(Path filePath, TaskList tasks) {
-        Storage.data = filePath.toFile();
+        this(filePath, tasks, StorageConfig.fromSystemProperties());
+    }
+
+    /**
+     * Constructor of the `Storage` class.
+     *
+     * @param filePath Path to the file to be loaded.
+     * @param tasks A temporary list of tasks.
+     * @param config Configuration of the storage.
+     */
+    public Storage(Path filePath, TaskList tasks, StorageConfig config) {
+        this(filePath, tasks, config, progress -> { });
+    }
+
+    /**
+     * Constructor of the `Storage` class, which reports the progress of loading the file.
+     *
+     * @param filePath Path to the file to be loaded.
+     * @param tasks A temporary list of tasks.
+     * @param config Configuration of the storage.
+     * @param progress Listener of the fraction of the file loaded, which may be called by several threads.
+     */
+    public Storage(Path filePath, TaskList tasks, StorageConfig config, DoubleConsumer progress) {
+        this.data = filePath.toFile();
         this.tasks = tasks;
-        this.readFile();
+        this.compactor = new Compactor();
+        this.format = config.getFormat();
+        if (tasks instanceof MappedTaskList) {
+            // The mapped task list has loaded the file already.
+            this.mappedTasks = (MappedTaskList) tasks;
+            this.writer = null;
+            progress.accept(1);
+            Storage.OPEN_STORAGES.add(this);
+            return;
+        }
+        this.mappedTasks = null;
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        boolean isOutdated = this.readFile(progress);
+        if (Metrics.ENABLED) {
+            Metrics.recordStorage(Metrics.StorageOperation.LOAD, System.nanoTime() - start);
+        }
+        if (event.shouldCommit()) {
+            this.commitEvent(event, Metrics.StorageOperation.LOAD, this.data.length());
+        }
+        this.writer = new LogWriter(filePath, config);
+        Storage.OPEN_STORAGES.add(this);
+        if (isOutdated) {
+            // Convert the file to the configured format and version before appending to it.
+            this.rewriteFile();
+        }
+        this.compactIfNeeded();
     }
 
     /**
-     * Reads data in the file. If the directory or file doesn't exist, create a new file in the correct
-     * location.
+     * Reads data in the file and replays its records. If the directory or file doesn't exist, create a new file in
+     * the correct location.
+     *
+     * @param progress Listener of the fraction of the file loaded.
+     * @return Whether the file has to be rewritten before records are appended to it, which is the case if it is
+     *     in another format, in an older version of the format, or holds tasks without IDs.
      */
-    private void readFile() {
+    private boolean readFile(DoubleConsumer progress) {
+        Path file = this.data.toPath();
         try {
-            Scanner fileScanner = new Scanner(Storage.data);
-            while (fileScanner.hasNextLine()) {
-                String task = fileScanner.nextLine();
-                this.readData(task);
+            if (Files.notExists(file) || Files.size(file) == 0) {
+                // If file doesn't exist, create it together with its directory.
+                Files.createDirectories(file.toAbsolutePath().getParent());
+                Files.write(file, this.format.getHeader());
+                progress.accept(1);
+                return false;
+            }
+            if (MappedTaskList.isMappedFile(file)) {
+                // Convert a mapped task file back to records, copying the tasks out of the mapping with their IDs.
+                MappedTaskList mappedFile = new MappedTaskList(file, new StorageConfig(Durability.BUFFERED, 1));
+                try {
+                    for (Task task : mappedFile.toList()) {
+                        LogRecord.parse(LogRecord.ofAdd(task).toFileFormatString().strip()).applyTo(this.tasks);
+                    }
+                    this.tasks.advanceNextId(mappedFile.getNextId());
+                } finally {
+                    mappedFile.close();
+                }
+                progress.accept(1);
+                return true;
             }
-            fileScanner.close();
-        } catch (FileNotFoundException fileNotFoundException) {
-            // If file doesn't exist, create it.
+            TaskFileFormat fileFormat = TaskFileFormat.detect(file);
+            boolean isOutdated = fileFormat != this.format || !fileFormat.hasCurrentHeader(file);
+            // Parsing takes most of the time, so it makes up most of the progress.
+            DoubleConsumer parseProgress = fraction -> progress.accept(fraction * Storage.PARSE_PROGRESS);
+            // A record cut off when the program stopped is dropped, so records appended next follow a complete one.
+            List<LogRecord> records = fileFormat.loadForAppend(file, parseProgress);
+            int step = Math.max(records.size() / 100, 1);
+            for (LogRecord record : records) {
+                // Tasks stored before tasks had IDs are given new IDs, which have to be stored as well.
+                isOutdated |= record.getType() == LogRecord.Type.ADD && record.getTask().getId() == 0;
+                record.applyTo(this.tasks);
+                if (++this.numOfRecords % step == 0) {
+                    double replayed = (double) this.numOfRecords / records.size();
+                    progress.accept(Storage.PARSE_PROGRESS + (1 - Storage.PARSE_PROGRESS) * replayed);
+                }
+            }
+            progress.accept(1);
+            return isOutdated;
+        } catch (IOException ioException) {
+            Ui.showFileNotFoundError();
+            return false;
+        }
+    }
+
+    /**
+     * Reads data in the file and replays its records, without reporting progress.
+     *
+     * @return Whether the file has to be rewritten before records are appended to it.
+     */
+    private boolean readFile() {
+        return this.readFile(progress -> { });
+    }
+
+    /**
+     * Appends a record to the end of the file.
+     *
+     * @param record The record to be appended.
+     * @param operation Storage operation appending the record, which is timed if metrics are on.
+     */
+    private void appendToFile(LogRecord record, Metrics.StorageOperation operation) {
+        if (this.mappedTasks != null) {
+            return;
+        }
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        byte[] bytes = this.format.encode(record);
+        synchronized (this) {
             try {
-                Storage.data.createNewFile();
+                this.writer.append(bytes);
+                this.writer.commit();
             } catch (IOException ioException) {
-                // If directory doesn't exist, create it.
-                File directory = Paths.get(Storage.DIRECTORY_PATH, "data").toFile();
-                directory.mkdirs();
-                // Run this method again to create a file.
                 this.readFile();
+                Ui.showFileNotFoundError();
+                return;
             }
+            this.numOfRecords++;
+            if (this.recordsSinceSnapshot != null) {
+                this.recordsSinceSnapshot.add(bytes);
+            }
+        }
+        if (Metrics.ENABLED) {
+            Metrics.recordStorage(operation, System.nanoTime() - start);
+        }
+        if (event.shouldCommit()) {
+            this.commitEvent(event, operation, bytes.length);
         }
     }
 
     /**
-     * Reads a line of data, creates a task and adds it to the task list.
-     *
-     * @param line A line of data.
-     */
-    private void readData(String line) {
-        String[] splitted = line.split(" / ");
-
-        // Determine type of the task and create corresponding task instance
-        Task task;
-        if (splitted[0].equals("T")) {
-            // a todo task
-            task = new ToDo(splitted[2]);
-        } else if (splitted[0].equals("D")) {
-            // a task with deadline
-            task = new Deadline(splitted[2], splitted[3]);
-        } else if (splitted[0].equals("E")) {
-            // an event
-            task = new Event(splitted[2], splitted[3]);
-        } else {
-            task = new Task(splitted[2]);
+     * Starts a compaction in the background if the file holds too many records and no compaction is running. Called
+     * once a command has both changed the task list and appended its records, as the snapshot taken here must hold
+     * every change recorded before it and none recorded after it.
+     */
+    public void compactIfNeeded() {
+        List<Task> snapshot;
+        int nextId;
+        Path file;
+        int snapshotGeneration;
+        synchronized (this) {
+            if (this.recordsSinceSnapshot != null
+                    || !this.compactor.shouldCompact(this.numOfRecords, this.tasks.getNumOfTasks())) {
+                return;
+            }
+            snapshot = this.tasks.toList();
+            nextId = this.tasks.getNextId();
+            file = this.data.toPath();
+            snapshotGeneration = this.generation;
+            this.recordsSinceSnapshot = new ArrayList<>();
         }
+        this.compactor.submit(() -> this.compact(file, snapshot, nextId, snapshotGeneration));
+    }
 
-        assert task != null : "task shouldn't be null";
-        // Check whether task is done
-        if (splitted[1].equals("1")) {
-            task.setDone();
+    /**
+     * Replaces the file with a snapshot of the task list followed by the records appended after the snapshot was
+     * taken. Runs on the background thread of the compactor.
+     *
+     * @param file The task file.
+     * @param snapshot Tasks in the task list when the compaction started.
+     * @param nextId Next ID of the task list when the compaction started.
+     * @param snapshotGeneration Generation of the file when the compaction started.
+     */
+    private void compact(Path file, List<Task> snapshot, int nextId, int snapshotGeneration) {
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        Path snapshotFile = null;
+        try {
+            snapshotFile = Compactor.writeSnapshot(file, snapshot, nextId, this.format);
+            synchronized (this) {
+                if (snapshotGeneration == this.generation) {
+                    Compactor.appendToSnapshot(snapshotFile, this.recordsSinceSnapshot);
+                    Compactor.swapIn(snapshotFile, file);
+                    this.writer.reopen();
+                    this.numOfRecords = snapshot.size() + this.recordsSinceSnapshot.size();
+                }
+                this.recordsSinceSnapshot = null;
+            }
+        } catch (IOException ioException) {
+            // Keep appending to the old file, the compaction is retried after the next command.
+            synchronized (this) {
+                this.recordsSinceSnapshot = null;
+            }
+        } finally {
+            if (snapshotFile != null) {
+                snapshotFile.toFile().delete();
+            }
+            if (Metrics.ENABLED) {
+                Metrics.recordStorage(Metrics.StorageOperation.COMPACT, System.nanoTime() - start);
+            }
+            if (event.shouldCommit()) {
+                this.commitEvent(event, Metrics.StorageOperation.COMPACT, file.toFile().length());
+            }
         }
-
-        // Add to task list
-        tasks.addTask(task);
     }
 
     /**
@@ -105,50 +295,130 @@ public class Storage {
      */
     public void addToFile(Task task) {
         assert task != null : "task shouldn't be null";
+        this.appendToFile(LogRecord.ofAdd(task), Metrics.StorageOperation.ADD);
+    }
+
+    /**
+     * Removes a task from the file by appending a delete record.
+     *
+     * @param index Index of the task in the task list.
+     */
+    public void removeFromFile(int index) {
+        this.appendToFile(LogRecord.ofMutation(LogRecord.Type.DELETE, index), Metrics.StorageOperation.DELETE);
+    }
+
+    /**
+     * Removes many tasks from the file at once. Appends a single delete record, or rewrites the file if no tasks
+     * are left.
+     *
+     * @param indices Indices the tasks had in the task list before they were removed, in ascending order.
+     */
+    public void removeAllFromFile(int[] indices) {
+        if (indices.length == 0) {
+            return;
+        }
+        if (this.tasks.getNumOfTasks() == 0) {
+            this.rewriteFile();
+        } else {
+            this.appendToFile(LogRecord.ofDelete(indices), Metrics.StorageOperation.DELETE_ALL);
+        }
+    }
+
+    /**
+     * Updates the status of a task in the file by appending a done or undone record.
+     *
+     * @param index Index of the task in the task list.
+     * @param isDone Whether the task is done.
+     */
+    public void updateStatusInFile(int index, boolean isDone) {
+        LogRecord record = LogRecord.ofMutation(isDone ? LogRecord.Type.DONE : LogRecord.Type.UNDONE, index);
+        this.appendToFile(record, Metrics.StorageOperation.UPDATE_STATUS);
+    }
+
+    /**
+     * Rewrites data from taskList to the file, dropping all records replayed so far. The file is replaced in one
+     * atomic step.
+     */
+    public synchronized void rewriteFile() {
+        if (this.mappedTasks != null) {
+            return;
+        }
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        this.generation++;
         try {
-            FileWriter fileWriter = new FileWriter(Storage.data, true);
-            fileWriter.append(task.toFileFormatString()); // write to file.
-            fileWriter.close();
+            Path file = this.data.toPath();
+            Path snapshotFile = Compactor.writeSnapshot(file, this.tasks.toList(), this.tasks.getNextId(),
+                    this.format);
+            Compactor.swapIn(snapshotFile, file);
+            this.writer.reopen();
+            this.numOfRecords = this.tasks.getNumOfTasks();
         } catch (IOException ioException) {
             this.readFile();
             Ui.showFileNotFoundError();
         }
+        if (Metrics.ENABLED) {
+            Metrics.recordStorage(Metrics.StorageOperation.REWRITE, System.nanoTime() - start);
+        }
+        if (event.shouldCommit()) {
+            this.commitEvent(event, Metrics.StorageOperation.REWRITE, this.data.length());
+        }
     }
 
     /**
-     * Removes a task from the file.
+     * Commits a flight recorder event for an operation on the file.
      *
-     * @param index Index of the task in the task list.
+     * @param event The event, which began when the operation started.
+     * @param operation The operation.
+     * @param bytes Bytes read or written by the operation.
      */
-    public void removeFromFile(int index) {
+    private void commitEvent(StorageEvent event, Metrics.StorageOperation operation, long bytes) {
+        event.setOperation(operation.name().toLowerCase());
+        event.setFile(this.data.getPath());
+        event.setBytes(bytes);
+        event.commit();
+    }
+
+    /**
+     * Writes all buffered records to the file.
+     */
+    public void flush() {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
         try {
-            List<String> lines = Files.readAllLines(Storage.data.toPath());
-            FileWriter fileWriter = new FileWriter(Storage.data);
-            for (int i = 0; i < this.tasks.getNumOfTasks(); i++) { // remove this task from file.
-                if (i != index) {
-                    fileWriter.append(lines.get(i) + "\n");
-                }
+            if (this.mappedTasks != null) {
+                this.mappedTasks.force();
+            } else {
+                this.writer.flush();
             }
-            fileWriter.close();
         } catch (IOException ioException) {
-            this.readFile();
             Ui.showFileNotFoundError();
         }
+        if (Metrics.ENABLED) {
+            Metrics.recordStorage(Metrics.StorageOperation.FLUSH, System.nanoTime() - start);
+        }
     }
 
     /**
-     * Rewrites data from taskList to the file.
+     * Waits for a running compaction to finish, then writes all buffered records and closes the file.
      */
-    public void rewriteFile() {
+    public void close() {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        Storage.OPEN_STORAGES.remove(this);
         try {
-            FileWriter fileWriter = new FileWriter(Storage.data);
-            for (int i = 0; i < this.tasks.getNumOfTasks(); i++) {
-                fileWriter.append(this.tasks.getFileFormattedTask(i));
+            this.compactor.shutdown();
+            if (this.mappedTasks != null) {
+                this.mappedTasks.close();
+            } else {
+                this.writer.close();
             }
-            fileWriter.close();
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
         } catch (IOException ioException) {
-            this.readFile();
             Ui.showFileNotFoundError();
         }
+        if (Metrics.ENABLED) {
+            Metrics.recordStorage(Metrics.StorageOperation.CLOSE, System.nanoTime() - start);
+        }
     }
 }
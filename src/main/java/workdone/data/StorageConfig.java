@@ -0,0 +1,94 @@
+package workdone.data;
+
+/**
+ * Represents the configuration of a storage, read from system properties, e.g.
+ * {@code -Dworkdone.durability=periodic -Dworkdone.durability.interval=50 -Dworkdone.format=binary}.
+ */
+public class StorageConfig {
+    /** Name of the property choosing the durability of the task file */
+    public static final String DURABILITY_PROPERTY = "workdone.durability";
+    /** Name of the property choosing how often buffered changes are written, in milliseconds */
+    public static final String FLUSH_INTERVAL_PROPERTY = "workdone.durability.interval";
+    /** Name of the property choosing the format of the task file */
+    public static final String FORMAT_PROPERTY = "workdone.format";
+
+    /** Durability used if none is configured */
+    private static final Durability DEFAULT_DURABILITY = Durability.SYNC;
+    /** Interval between writes of buffered changes used if none is configured, in milliseconds */
+    private static final long DEFAULT_FLUSH_INTERVAL = 100;
+    /** Format used if none is configured */
+    private static final TaskFileFormat DEFAULT_FORMAT = TaskFileFormat.TEXT;
+
+    /** How soon changes are forced to the disk */
+    private final Durability durability;
+    /** Interval between writes of buffered changes, in milliseconds */
+    private final long flushInterval;
+    /** Format of the task file */
+    private final TaskFileFormat format;
+
+    /**
+     * Constructor of the class `StorageConfig`, using the default format.
+     *
+     * @param durability How soon changes are forced to the disk.
+     * @param flushInterval Interval between writes of buffered changes, in milliseconds.
+     */
+    public StorageConfig(Durability durability, long flushInterval) {
+        this(durability, flushInterval, StorageConfig.DEFAULT_FORMAT);
+    }
+
+    /**
+     * Constructor of the class `StorageConfig`.
+     *
+     * @param durability How soon changes are forced to the disk.
+     * @param flushInterval Interval between writes of buffered changes, in milliseconds.
+     * @param format Format of the task file.
+     */
+    public StorageConfig(Durability durability, long flushInterval, TaskFileFormat format) {
+        assert flushInterval > 0 : "flush interval should be positive";
+        this.durability = durability;
+        this.flushInterval = flushInterval;
+        this.format = format;
+    }
+
+    /**
+     * Returns the configuration given by system properties, using defaults for properties which are not set.
+     *
+     * @return Configuration of the storage.
+     */
+    public static StorageConfig fromSystemProperties() {
+        String durability = System.getProperty(StorageConfig.DURABILITY_PROPERTY);
+        String flushInterval = System.getProperty(StorageConfig.FLUSH_INTERVAL_PROPERTY);
+        String format = System.getProperty(StorageConfig.FORMAT_PROPERTY);
+        return new StorageConfig(
+                durability == null ? StorageConfig.DEFAULT_DURABILITY : Durability.valueOf(durability.toUpperCase()),
+                flushInterval == null ? StorageConfig.DEFAULT_FLUSH_INTERVAL : Long.parseLong(flushInterval),
+                format == null ? StorageConfig.DEFAULT_FORMAT : TaskFileFormat.of(format));
+    }
+
+    /**
+     * Returns how soon changes are forced to the disk.
+     *
+     * @return Durability of the task file.
+     */
+    public Durability getDurability() {
+        return this.durability;
+    }
+
+    /**
+     * Returns the interval between writes of buffered changes.
+     *
+     * @return Interval in milliseconds.
+     */
+    public long getFlushInterval() {
+        return this.flushInterval;
+    }
+
+    /**
+     * Returns the format of the task file.
+     *
+     * @return Format of the task file.
+     */
+    public TaskFileFormat getFormat() {
+        return this.format;
+    }
+}
@@ -0,0 +1,37 @@
+package workdone.data;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Holds the background threads shared by every storage in the process, so that a server with many task files open
+ * doesn't run threads for each of them. The threads are daemons and never stop.
+ */
+final class StorageExecutors {
+    /** Thread writing buffered records and forcing changes to the disk at a fixed interval */
+    static final ScheduledExecutorService FLUSHER =
+            Executors.newSingleThreadScheduledExecutor(StorageExecutors.newDaemonFactory("workdone-flusher"));
+    /** Threads writing snapshots of task files, one for every two processors */
+    static final ExecutorService COMPACTOR = Executors.newFixedThreadPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+            StorageExecutors.newDaemonFactory("workdone-compactor"));
+
+    private StorageExecutors() {
+    }
+
+    /**
+     * Returns a factory of daemon threads, so that the threads never keep the program running.
+     *
+     * @param name Name of the threads.
+     * @return The thread factory.
+     */
+    private static ThreadFactory newDaemonFactory(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
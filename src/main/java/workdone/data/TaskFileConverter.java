@@ -0,0 +1,48 @@
+package workdone.data;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Represents a tool that converts a task file between the text and the binary format.
+ */
+public class TaskFileConverter {
+    private TaskFileConverter() {
+    }
+
+    /**
+     * Converts a task file, replaying all of its records into a file in the given format.
+     *
+     * @param source Path of the file to be converted, in either format.
+     * @param target Path of the converted file.
+     * @param format Format of the converted file.
+     * @throws IOException If either file cannot be accessed.
+     */
+    public static void convert(Path source, Path target, TaskFileFormat format) throws IOException {
+        TaskList tasks = new ObjectTaskList();
+        for (LogRecord record : TaskFileFormat.detect(source).load(source)) {
+            record.applyTo(tasks);
+        }
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        Compactor.swapIn(Compactor.writeSnapshot(target, tasks.toList(), tasks.getNextId(), format), target);
+    }
+
+    /**
+     * Converts the task file given by the command line parameters.
+     *
+     * @param args Path of the file to be converted, path of the converted file and its format.
+     */
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.out.println("Usage: TaskFileConverter <source> <target> <text|binary>");
+            return;
+        }
+        try {
+            TaskFileConverter.convert(Paths.get(args[0]), Paths.get(args[1]), TaskFileFormat.of(args[2]));
+        } catch (IOException | IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+}
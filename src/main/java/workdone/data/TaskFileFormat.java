@@ -0,0 +1,145 @@
+package workdone.data;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Represents the format of a task file, which decides how records are encoded on the hard disk.
+ */
+public abstract class TaskFileFormat {
+    /** The human-readable text format */
+    public static final TaskFileFormat TEXT = new TextFileFormat();
+    /** The compact binary format */
+    public static final TaskFileFormat BINARY = new BinaryFileFormat();
+
+    /**
+     * Returns the format with the given name.
+     *
+     * @param name Name of the format, either `text` or `binary`.
+     * @return The format with the given name.
+     */
+    public static TaskFileFormat of(String name) {
+        if (name.equalsIgnoreCase("binary")) {
+            return TaskFileFormat.BINARY;
+        } else if (name.equalsIgnoreCase("text")) {
+            return TaskFileFormat.TEXT;
+        }
+        throw new IllegalArgumentException("Unknown task file format: " + name);
+    }
+
+    /**
+     * Returns the format of an existing task file, detected from its header.
+     *
+     * @param file Path of the task file.
+     * @return Format of the task file.
+     * @throws IOException If the file cannot be read.
+     */
+    public static TaskFileFormat detect(Path file) throws IOException {
+        byte[] header = TaskFileFormat.BINARY.getHeader();
+        try (InputStream input = Files.newInputStream(file)) {
+            byte[] prefix = input.readNBytes(BinaryFileFormat.MAGIC_LENGTH);
+            for (int i = 0; i < BinaryFileFormat.MAGIC_LENGTH; i++) {
+                if (i >= prefix.length || prefix[i] != header[i]) {
+                    return TaskFileFormat.TEXT;
+                }
+            }
+            return TaskFileFormat.BINARY;
+        }
+    }
+
+    /**
+     * Returns whether a file of this format starts with the header of the current version of the format.
+     *
+     * @param file Path of the task file.
+     * @return Whether the file has the current header.
+     * @throws IOException If the file cannot be read.
+     */
+    public boolean hasCurrentHeader(Path file) throws IOException {
+        byte[] header = this.getHeader();
+        try (InputStream input = Files.newInputStream(file)) {
+            return Arrays.equals(input.readNBytes(header.length), header);
+        }
+    }
+
+    /**
+     * Returns the bytes at the start of every file in this format.
+     *
+     * @return Header of the file.
+     */
+    public abstract byte[] getHeader();
+
+    /**
+     * Encodes a record in this format.
+     *
+     * @param record The record to be encoded.
+     * @return Bytes of the encoded record, which may be shared and must not be modified.
+     */
+    public abstract byte[] encode(LogRecord record);
+
+    /**
+     * Loads all complete records in a file of this format into a list, in the order they appear in the file. A
+     * record at the end of the file which was only partially written is skipped.
+     *
+     * @param file Path of the task file.
+     * @param progress Listener of the fraction of the file loaded, which may be called by several threads.
+     * @param records List the records are added to.
+     * @return Length of the part of the file holding complete records.
+     * @throws IOException If the file cannot be read or is not in this format.
+     */
+    protected abstract long loadInto(Path file, DoubleConsumer progress, List<LogRecord> records) throws IOException;
+
+    /**
+     * Loads all records in a file of this format, in the order they appear in the file.
+     *
+     * @param file Path of the task file.
+     * @return Records in the file.
+     * @throws IOException If the file cannot be read or is not in this format.
+     */
+    public List<LogRecord> load(Path file) throws IOException {
+        return this.load(file, progress -> { });
+    }
+
+    /**
+     * Loads all records in a file of this format, reporting the fraction of the file loaded as it goes.
+     *
+     * @param file Path of the task file.
+     * @param progress Listener of the fraction of the file loaded, which may be called by several threads.
+     * @return Records in the file.
+     * @throws IOException If the file cannot be read or is not in this format.
+     */
+    public List<LogRecord> load(Path file, DoubleConsumer progress) throws IOException {
+        List<LogRecord> records = new ArrayList<>();
+        this.loadInto(file, progress, records);
+        return records;
+    }
+
+    /**
+     * Loads all records in a file of this format which is appended to next, cutting off a record at the end of the
+     * file which was only partially written. Records appended later then follow the last complete record instead of
+     * the broken one.
+     *
+     * @param file Path of the task file.
+     * @param progress Listener of the fraction of the file loaded, which may be called by several threads.
+     * @return Records in the file.
+     * @throws IOException If the file cannot be read, is not in this format or cannot be cut.
+     */
+    public List<LogRecord> loadForAppend(Path file, DoubleConsumer progress) throws IOException {
+        List<LogRecord> records = new ArrayList<>();
+        long completeLength = this.loadInto(file, progress, records);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            if (completeLength < channel.size()) {
+                channel.truncate(completeLength);
+                channel.force(true);
+            }
+        }
+        return records;
+    }
+}
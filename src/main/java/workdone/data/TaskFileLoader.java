@@ -0,0 +1,237 @@
+package workdone.data;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Represents a loader that reads the records of a task file. The file is memory-mapped and split into chunks
+ * which end at line breaks, and the chunks are parsed in parallel on the common fork-join pool.
+ */
+public class TaskFileLoader {
+    /** Size of a chunk parsed by one thread, in bytes */
+    private static final int CHUNK_SIZE = 1 << 22;
+    /** Number of bytes read at a time while looking for the end of a chunk */
+    private static final int PROBE_SIZE = 256;
+
+    private TaskFileLoader() {
+    }
+
+    /**
+     * Loads all records in a task file, in the order they appear in the file.
+     *
+     * @param file Path of the task file.
+     * @return Records in the file.
+     * @throws IOException If the file cannot be read.
+     */
+    public static List<LogRecord> load(Path file) throws IOException {
+        return TaskFileLoader.load(file, progress -> { });
+    }
+
+    /**
+     * Loads all records in a task file, in the order they appear in the file, and reports the fraction of the file
+     * parsed after each chunk. The progress may be reported by several threads at once.
+     *
+     * @param file Path of the task file.
+     * @param progress Listener of the fraction of the file parsed.
+     * @return Records in the file.
+     * @throws IOException If the file cannot be read.
+     */
+    public static List<LogRecord> load(Path file, DoubleConsumer progress) throws IOException {
+        List<LogRecord> records = new ArrayList<>();
+        TaskFileLoader.loadInto(file, progress, records);
+        return records;
+    }
+
+    /**
+     * Loads all complete records in a task file into a list, in the order they appear in the file, and reports the
+     * fraction of the file parsed after each chunk. Records written by the program end with a line break, so the
+     * text after the last line break is either a last line edited by hand or a record which was only partially
+     * written. It is kept if it parses as a record, and skipped otherwise.
+     *
+     * @param file Path of the task file.
+     * @param progress Listener of the fraction of the file parsed.
+     * @param records List the records are added to.
+     * @return Length of the part of the file holding complete records.
+     * @throws IOException If the file cannot be read.
+     */
+    public static long loadInto(Path file, DoubleConsumer progress, List<LogRecord> records) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<Long> boundaries = TaskFileLoader.split(channel);
+            int numOfChunks = boundaries.size() - 1;
+            AtomicInteger numOfChunksParsed = new AtomicInteger();
+            try {
+                records.addAll(IntStream.range(0, numOfChunks)
+                        .parallel()
+                        .mapToObj(i -> {
+                            List<LogRecord> chunkRecords = TaskFileLoader.parseChunk(channel, boundaries.get(i),
+                                    boundaries.get(i + 1));
+                            progress.accept((double) numOfChunksParsed.incrementAndGet() / numOfChunks);
+                            return chunkRecords;
+                        })
+                        .flatMap(List::stream)
+                        .collect(Collectors.toList()));
+            } catch (UncheckedIOException uncheckedIoException) {
+                throw uncheckedIoException.getCause();
+            }
+            long completeLength = TaskFileLoader.findCompleteLength(channel);
+            if (completeLength < channel.size() && TaskFileLoader.addLastLine(channel, completeLength, records)) {
+                return channel.size();
+            }
+            return completeLength;
+        }
+    }
+
+    /**
+     * Parses the text after the last line break of a file and adds the record to a list, if the text is a record.
+     *
+     * @param channel Channel to the file.
+     * @param start Offset after the last line break.
+     * @param records List of records parsed so far.
+     * @return Whether the text is a record.
+     * @throws IOException If the file cannot be read.
+     */
+    private static boolean addLastLine(FileChannel channel, long start, List<LogRecord> records) throws IOException {
+        ByteBuffer line = ByteBuffer.allocate((int) (channel.size() - start));
+        while (line.hasRemaining() && channel.read(line, start + line.position()) >= 0) {
+            // keep reading until the line is read
+        }
+        try {
+            TaskFileLoader.addRecord(records, line.array(), line.position());
+            return true;
+        } catch (RuntimeException runtimeException) {
+            // a record cut off while it was written
+            return false;
+        }
+    }
+
+    /**
+     * Returns the length of a file up to and including its last line break.
+     *
+     * @param channel Channel to the file.
+     * @return Offset after the last line break, or 0 if the file has none.
+     * @throws IOException If the file cannot be read.
+     */
+    private static long findCompleteLength(FileChannel channel) throws IOException {
+        ByteBuffer probe = ByteBuffer.allocate(TaskFileLoader.PROBE_SIZE);
+        long end = channel.size();
+        while (end > 0) {
+            long start = Math.max(end - TaskFileLoader.PROBE_SIZE, 0);
+            probe.clear().limit((int) (end - start));
+            while (probe.hasRemaining() && channel.read(probe, start + probe.position()) >= 0) {
+                // keep reading until the probe is full
+            }
+            for (int i = probe.position() - 1; i >= 0; i--) {
+                if (probe.get(i) == '\n') {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        return 0;
+    }
+
+    /**
+     * Splits a file into chunks of about {@link #CHUNK_SIZE} bytes, each ending right after a line break or at the
+     * end of the file.
+     *
+     * @param channel Channel to the file.
+     * @return Offsets of the chunk boundaries, starting with 0 and ending with the size of the file.
+     * @throws IOException If the file cannot be read.
+     */
+    private static List<Long> split(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(TaskFileLoader.PROBE_SIZE);
+        long boundary = 0;
+        while (boundary < size) {
+            boundary = Math.min(boundary + TaskFileLoader.CHUNK_SIZE, size);
+            // Move the boundary to the start of the next line.
+            while (boundary < size) {
+                probe.clear();
+                int length = channel.read(probe, boundary);
+                int lineBreak = -1;
+                for (int i = 0; i < length && lineBreak < 0; i++) {
+                    if (probe.get(i) == '\n') {
+                        lineBreak = i;
+                    }
+                }
+                if (lineBreak >= 0) {
+                    boundary += lineBreak + 1;
+                    break;
+                }
+                boundary += length;
+            }
+            boundaries.add(boundary);
+        }
+        return boundaries;
+    }
+
+    /**
+     * Parses the records in a chunk of a file.
+     *
+     * @param channel Channel to the file.
+     * @param start Offset of the first byte of the chunk.
+     * @param end Offset after the last byte of the chunk.
+     * @return Records in the chunk.
+     */
+    private static List<LogRecord> parseChunk(FileChannel channel, long start, long end) {
+        MappedByteBuffer chunk;
+        try {
+            chunk = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        List<LogRecord> records = new ArrayList<>();
+        byte[] line = new byte[TaskFileLoader.PROBE_SIZE];
+        int length = 0;
+        while (chunk.hasRemaining()) {
+            byte b = chunk.get();
+            if (b == '\n') {
+                TaskFileLoader.addRecord(records, line, length);
+                length = 0;
+                continue;
+            }
+            if (length == line.length) {
+                byte[] longerLine = new byte[line.length * 2];
+                System.arraycopy(line, 0, longerLine, 0, length);
+                line = longerLine;
+            }
+            line[length++] = b;
+        }
+        // Bytes after the last line break of the file are parsed once every chunk is, see addLastLine.
+        return records;
+    }
+
+    /**
+     * Parses a line and adds the record to a list, skipping blank lines.
+     *
+     * @param records List of records parsed so far.
+     * @param line Bytes of the line.
+     * @param length Number of bytes in the line.
+     */
+    private static void addRecord(List<LogRecord> records, byte[] line, int length) {
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        if (length == 0) {
+            return;
+        }
+        LogRecord record = LogRecord.parse(new String(line, 0, length, StandardCharsets.UTF_8));
+        if (record != null) {
+            records.add(record);
+        }
+    }
+}
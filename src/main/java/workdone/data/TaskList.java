@@ -1,43 +1,136 @@
 package workdone.data;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Predicate;
 
 import workdone.task.Task;
 
 /**
- * Represents a temporary list of tasks.
+ * Represents a temporary list of tasks. Every task in the list has an ID, which is given when the task is first
+ * added and stays the same while the task moves around the list. Subclasses decide how the tasks are kept: as
+ * objects in {@link ObjectTaskList}, as columns in {@link ColumnarTaskList}, or in a mapped file in
+ * {@link MappedTaskList}.
+ *
+ * <p>The list is safe to share between threads. Reads share a lock and run concurrently, while changes hold the
+ * lock alone. A command made of several steps holds {@link #getReadLock()} or {@link #getWriteLock()} around all
+ * of them, the locks are reentrant.
  */
-public class TaskList {
-    /** List of tasks */
-    private final ArrayList<Task> tasks;
+public abstract class TaskList {
+    /** Name of the property choosing how tasks are kept in memory, `objects`, `columnar` or `mapped` */
+    public static final String STORAGE_PROPERTY = "workdone.tasks";
+
+    /** Lock guarding the list and its indexes */
+    private final ReentrantReadWriteLock lock;
 
     /**
      * Constructor of the class `TaskList`.
      */
-    public TaskList() {
-        this.tasks = new ArrayList<>();
+    protected TaskList() {
+        this.lock = new ReentrantReadWriteLock();
     }
 
     /**
-     * Adds task to the task list.
+     * Returns a task list of the kind chosen by the system property {@value #STORAGE_PROPERTY}, which keeps tasks as
+     * objects unless it is `columnar` or `mapped`. A mapped task list is backed by the task file itself and holds its
+     * tasks already.
      *
-     * @param task The task to be added.
+     * @param file Path of the task file.
+     * @param config Configuration of the storage.
+     * @return A task list, which is empty unless it is mapped.
+     */
+    public static TaskList fromSystemProperties(Path file, StorageConfig config) {
+        String kind = System.getProperty(TaskList.STORAGE_PROPERTY, "");
+        if (kind.equalsIgnoreCase("columnar")) {
+            return new ColumnarTaskList();
+        } else if (kind.equalsIgnoreCase("mapped")) {
+            try {
+                return new MappedTaskList(file, config);
+            } catch (IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+        }
+        return new ObjectTaskList();
+    }
+
+    /**
+     * Returns the lock shared by commands which only read the task list.
+     *
+     * @return Read lock of the task list.
      */
-    public void addTask(Task task) {
-        assert task != null : "task shouldn't be null";
-        this.tasks.add(task);
+    public Lock getReadLock() {
+        return this.lock.readLock();
     }
 
+    /**
+     * Returns the lock held by commands which change the task list or its tasks.
+     *
+     * @return Write lock of the task list.
+     */
+    public Lock getWriteLock() {
+        return this.lock.writeLock();
+    }
+
+    /**
+     * Returns the ID given to the next task added without one. Every ID below it has been given before, even if its
+     * task was removed since.
+     *
+     * @return The next ID.
+     */
+    public abstract int getNextId();
+
+    /**
+     * Makes sure no ID below the given one is given again, e.g. after the counter is loaded from the task file.
+     *
+     * @param nextId Lowest ID which may be given to the next task added without one.
+     */
+    public abstract void advanceNextId(int nextId);
+
+    /**
+     * Adds task to the task list. A task without an ID, or whose ID is taken by another task, is given the next ID.
+     *
+     * @param task The task to be added.
+     */
+    public abstract void addTask(Task task);
+
     /**
      * Removes a task from the task list.
      *
      * @param task The task to be removed.
      */
-    public void removeFromList(Task task) {
-        assert task != null : "task shouldn't be null";
-        this.tasks.remove(task);
-    }
+    public abstract void removeFromList(Task task);
+
+    /**
+     * Removes the task at the given index from the task list.
+     *
+     * @param index Index of the task to be removed.
+     */
+    public abstract void removeFromList(int index);
+
+    /**
+     * Removes the tasks at the given indices from the task list in a single pass.
+     *
+     * @param indices Indices of the tasks to be removed, in ascending order.
+     */
+    public abstract void removeAll(int[] indices);
+
+    /**
+     * Removes all tasks satisfying the given predicate from the task list in a single pass.
+     *
+     * @param predicate The predicate deciding whether a task is removed.
+     * @return Indices the removed tasks had in the task list, in ascending order.
+     */
+    public abstract int[] removeIf(Predicate<Task> predicate);
+
+    /**
+     * Sorts the task list by time. Tasks with time come first in chronological order, followed by tasks without
+     * time. Tasks with the same time, and tasks without time, keep their order.
+     */
+    public abstract void sortByTime();
 
     /**
      * Returns a task as a string to be stored in the file.
@@ -45,18 +138,14 @@ public class TaskList {
      * @param index Index of the task.
      * @return String representation of the task.
      */
-    public String getFileFormattedTask(int index) {
-        return this.tasks.get(index).toFileFormatString();
-    }
+    public abstract String getFileFormattedTask(int index);
 
     /**
      * Returns the number of tasks.
      *
      * @return Number of tasks.
      */
-    public int getNumOfTasks() {
-        return this.tasks.size();
-    }
+    public abstract int getNumOfTasks();
 
     /**
      * Returns the task at the given index in the task list.
@@ -64,19 +153,42 @@ public class TaskList {
      * @param index Index of a task.
      * @return Task at the given index.
      */
-    public Task get(int index) {
-        return this.tasks.get(index);
-    }
+    public abstract Task get(int index);
+
+    /**
+     * Returns the task with the given ID.
+     *
+     * @param id ID of a task.
+     * @return Task with the given ID, or null if no task in the list has the ID.
+     */
+    public abstract Task getById(int id);
+
+    /**
+     * Returns a copy of the tasks in the task list.
+     *
+     * @return List of tasks in order.
+     */
+    public abstract List<Task> toList();
 
     /**
      * Returns the index of a task in the task list.
      *
      * @param task Task in the task list.
-     * @return Index of the task given.
+     * @return Index of the task given, or -1 if the task is not in the list.
      */
-    public int indexOf(Task task) {
-        return this.tasks.indexOf(task);
-    }
+    public abstract int indexOf(Task task);
+
+    /**
+     * Appends the tasks satisfying the predicate to the output, one line per task with its task number. Matching
+     * tasks are counted in order, and only those on the requested page are appended.
+     *
+     * @param output The output to append to.
+     * @param predicate The predicate to filter the list.
+     * @param skip Number of matching tasks to skip before appending.
+     * @param limit Maximum number of matching tasks to append.
+     * @return Number of tasks satisfying the predicate.
+     */
+    public abstract int appendFilteredList(StringBuilder output, Predicate<Task> predicate, int skip, int limit);
 
     /**
      * Filters the task list using the given predicate, returns the result as a string.
@@ -85,9 +197,39 @@ public class TaskList {
      * @return The string representation of the filtered tasks.
      */
     public String getFilteredListAsString(Predicate<Task> predicate) {
-        return this.tasks.stream()
-                .filter(predicate)
-                .map(task -> String.format("%d.%s\n", this.indexOf(task) + 1, task.toString()))
-                .reduce("", (result, taskString) -> result + taskString);
+        StringBuilder output = new StringBuilder();
+        this.appendFilteredList(output, predicate, 0, Integer.MAX_VALUE);
+        return output.toString();
+    }
+
+    /**
+     * Appends the tasks whose description contains a keyword to the output.
+     *
+     * @param output The output to append to.
+     * @param keyword Keyword to be found.
+     */
+    public abstract void appendListContainingKeyword(StringBuilder output, String keyword);
+
+    /**
+     * Finds the tasks whose description contains a keyword, returns the result as a string.
+     *
+     * @param keyword Keyword to be found.
+     * @return The string representation of the tasks containing the keyword.
+     */
+    public String getListContainingKeywordAsString(String keyword) {
+        StringBuilder output = new StringBuilder();
+        this.appendListContainingKeyword(output, keyword);
+        return output.toString();
+    }
+
+    /**
+     * Appends a task, its task number and its ID to the output as one line.
+     *
+     * @param output The output to append to.
+     * @param index Index of the task.
+     * @param task The task to be appended.
+     */
+    protected static void appendTask(StringBuilder output, int index, Task task) {
+        output.append(index + 1).append('.').append(task).append(" (#").append(task.getId()).append(")\n");
     }
 }
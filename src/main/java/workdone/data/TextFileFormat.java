@@ -0,0 +1,57 @@
+package workdone.data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Represents the text format of a task file, with one record per line. A subclass of TaskFileFormat.
+ */
+public class TextFileFormat extends TaskFileFormat {
+    @Override
+    public byte[] getHeader() {
+        return new byte[0];
+    }
+
+    @Override
+    public byte[] encode(LogRecord record) {
+        if (record.getType() == LogRecord.Type.ADD) {
+            // Tasks cache their encoding, so a snapshot of unchanged tasks doesn't format them again.
+            return record.getTask().toFileFormatBytes();
+        }
+        return record.toFileFormatString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected long loadInto(Path file, DoubleConsumer progress, List<LogRecord> records) throws IOException {
+        return TaskFileLoader.loadInto(file, progress, records);
+    }
+
+    /**
+     * Loads all records in a text file which is appended to next. A last line without a line break, e.g. one edited
+     * by hand, gets one, so that the next record starts on a line of its own.
+     *
+     * @param file Path of the task file.
+     * @param progress Listener of the fraction of the file loaded, which may be called by several threads.
+     * @return Records in the file.
+     * @throws IOException If the file cannot be read or written.
+     */
+    @Override
+    public List<LogRecord> loadForAppend(Path file, DoubleConsumer progress) throws IOException {
+        List<LogRecord> records = super.loadForAppend(file, progress);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            ByteBuffer lastByte = ByteBuffer.allocate(1);
+            if (size > 0 && channel.read(lastByte, size - 1) == 1 && lastByte.get(0) != '\n') {
+                channel.write(ByteBuffer.wrap(new byte[] {'\n'}), size);
+                channel.force(true);
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,15 @@
+package workdone.exception;
+
+/**
+ * Represents an exception thrown when an invalid page of the task list is requested. A subclass of
+ * WorkDoneException.
+ */
+public class InvalidPageException extends WorkDoneException {
+    /**
+     * Constructor of the class `InvalidPageException`.
+     */
+    public InvalidPageException() {
+        super("☹ OOPS!!! The page is invalid.\nPlease follow the format:\n"
+                + "list --page <page no.> --size <number of tasks per page>");
+    }
+}
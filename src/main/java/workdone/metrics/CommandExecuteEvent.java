@@ -0,0 +1,57 @@
+package workdone.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Represents a flight recorder event for executing a command, including writing its changes to the task file.
+ */
+@Name("workdone.CommandExecute")
+@Label("Command Execute")
+@Category({"WorkDone", "Commands"})
+@Description("Execution of a command, while holding the lock of the task list")
+@StackTrace(false)
+public class CommandExecuteEvent extends Event {
+    /** Type of the command executed */
+    @Label("Command")
+    private String command;
+
+    /** Number of tasks after the command */
+    @Label("Task Count")
+    private int taskCount;
+
+    /** Whether the command failed */
+    @Label("Failed")
+    private boolean isFailed;
+
+    /**
+     * Sets the type of the command executed.
+     *
+     * @param command Type of the command.
+     */
+    public void setCommand(String command) {
+        this.command = command;
+    }
+
+    /**
+     * Sets the number of tasks after the command.
+     *
+     * @param taskCount Number of tasks.
+     */
+    public void setTaskCount(int taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    /**
+     * Sets whether the command failed.
+     *
+     * @param isFailed Whether the command failed.
+     */
+    public void setFailed(boolean isFailed) {
+        this.isFailed = isFailed;
+    }
+}
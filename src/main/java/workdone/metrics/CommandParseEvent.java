@@ -0,0 +1,44 @@
+package workdone.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Represents a flight recorder event for parsing a command.
+ */
+@Name("workdone.CommandParse")
+@Label("Command Parse")
+@Category({"WorkDone", "Commands"})
+@Description("Parsing of a command received")
+@StackTrace(false)
+public class CommandParseEvent extends Event {
+    /** Type of the command parsed, or `invalid` if it cannot be parsed */
+    @Label("Command")
+    private String command;
+
+    /** Number of characters received */
+    @Label("Input Length")
+    private int inputLength;
+
+    /**
+     * Sets the type of the command parsed.
+     *
+     * @param command Type of the command, or `invalid` if it cannot be parsed.
+     */
+    public void setCommand(String command) {
+        this.command = command;
+    }
+
+    /**
+     * Sets the number of characters received.
+     *
+     * @param inputLength Number of characters.
+     */
+    public void setInputLength(int inputLength) {
+        this.inputLength = inputLength;
+    }
+}
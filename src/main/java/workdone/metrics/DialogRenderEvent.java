@@ -0,0 +1,44 @@
+package workdone.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Represents a flight recorder event for showing a message of the conversation in a dialog box.
+ */
+@Name("workdone.DialogRender")
+@Label("Dialog Render")
+@Category({"WorkDone", "GUI"})
+@Description("Filling a dialog box of the main window with a message")
+@StackTrace(false)
+public class DialogRenderEvent extends Event {
+    /** Type of the message, as in the dialog message */
+    @Label("Message Type")
+    private String messageType;
+
+    /** Number of characters in the message */
+    @Label("Text Length")
+    private int textLength;
+
+    /**
+     * Sets the type of the message.
+     *
+     * @param messageType Type of the message.
+     */
+    public void setMessageType(String messageType) {
+        this.messageType = messageType;
+    }
+
+    /**
+     * Sets the number of characters in the message.
+     *
+     * @param textLength Number of characters.
+     */
+    public void setTextLength(int textLength) {
+        this.textLength = textLength;
+    }
+}
@@ -0,0 +1,48 @@
+package workdone.metrics;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Represents a flight recording of WorkDone, using the bundled settings `/jfr/workdone.jfc` on top of the JDK's
+ * default settings. The recording is written to its file when the program exits.
+ */
+public final class FlightRecording {
+    /** Bundled settings of the recording */
+    private static final String SETTINGS = "/jfr/workdone.jfc";
+
+    private FlightRecording() {
+    }
+
+    /**
+     * Starts a recording.
+     *
+     * @param file The file the recording is written to.
+     * @return The recording started.
+     * @throws IOException If the settings cannot be read or the file cannot be written.
+     * @throws ParseException If the settings are invalid.
+     */
+    public static Recording start(Path file) throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        try (Reader reader = new InputStreamReader(FlightRecording.class.getResourceAsStream(FlightRecording.SETTINGS),
+                StandardCharsets.UTF_8)) {
+            settings.putAll(Configuration.create(reader).getSettings());
+        }
+        Recording recording = new Recording(settings);
+        recording.setName("WorkDone");
+        recording.setToDisk(true);
+        recording.setDestination(file);
+        recording.setDumpOnExit(true);
+        recording.start();
+        return recording;
+    }
+}
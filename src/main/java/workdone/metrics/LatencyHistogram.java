@@ -0,0 +1,136 @@
+package workdone.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Represents a histogram of latencies, in the style of HDR histograms. Each power of two is split into
+ * {@value #SUB_BUCKETS} buckets, so that any latency is counted within about 6% of its value, from nanoseconds to
+ * hours, in a fixed amount of memory.
+ *
+ * <p>Recording a latency takes a few atomic updates and no allocation, and may be done by many threads at once.
+ */
+public class LatencyHistogram {
+    /** Number of bits of a latency kept below its highest bit */
+    private static final int SUB_BUCKET_BITS = 4;
+    /** Number of buckets each power of two is split into */
+    private static final int SUB_BUCKETS = 1 << LatencyHistogram.SUB_BUCKET_BITS;
+    /** Number of buckets, enough for any non-negative long */
+    private static final int NUM_OF_BUCKETS = (64 - LatencyHistogram.SUB_BUCKET_BITS) * LatencyHistogram.SUB_BUCKETS;
+
+    /** Number of latencies counted in each bucket */
+    private final AtomicLongArray buckets = new AtomicLongArray(LatencyHistogram.NUM_OF_BUCKETS);
+    /** Number of latencies recorded */
+    private final AtomicLong count = new AtomicLong();
+    /** Sum of the latencies recorded, in nanoseconds */
+    private final AtomicLong sum = new AtomicLong();
+    /** Largest latency recorded, in nanoseconds */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Returns the bucket counting a latency.
+     *
+     * @param nanos Latency in nanoseconds, not negative.
+     * @return Index of the bucket.
+     */
+    static int getBucket(long nanos) {
+        if (nanos < LatencyHistogram.SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int highestBit = 63 - Long.numberOfLeadingZeros(nanos);
+        int shift = highestBit - LatencyHistogram.SUB_BUCKET_BITS;
+        // The highest bit picks the power of two, and the bits below it pick the bucket within it.
+        return (shift + 1) * LatencyHistogram.SUB_BUCKETS
+                + (int) ((nanos >>> shift) & (LatencyHistogram.SUB_BUCKETS - 1));
+    }
+
+    /**
+     * Returns the largest latency counted by a bucket.
+     *
+     * @param bucket Index of the bucket.
+     * @return Latency in nanoseconds.
+     */
+    static long getUpperBound(int bucket) {
+        if (bucket < LatencyHistogram.SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / LatencyHistogram.SUB_BUCKETS - 1;
+        long lowest = ((long) LatencyHistogram.SUB_BUCKETS + bucket % LatencyHistogram.SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos Latency in nanoseconds.
+     */
+    public void record(long nanos) {
+        long latency = Math.max(nanos, 0);
+        this.buckets.incrementAndGet(LatencyHistogram.getBucket(latency));
+        this.count.incrementAndGet();
+        this.sum.addAndGet(latency);
+        this.max.accumulateAndGet(latency, Math::max);
+    }
+
+    /**
+     * Returns the number of latencies recorded.
+     *
+     * @return Number of latencies.
+     */
+    public long getCount() {
+        return this.count.get();
+    }
+
+    /**
+     * Returns the mean of the latencies recorded.
+     *
+     * @return Mean latency in nanoseconds, or 0 if none is recorded.
+     */
+    public long getMean() {
+        long numOfLatencies = this.count.get();
+        return numOfLatencies == 0 ? 0 : this.sum.get() / numOfLatencies;
+    }
+
+    /**
+     * Returns the largest latency recorded.
+     *
+     * @return Largest latency in nanoseconds.
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * Returns the latency at a percentile, rounded up to the bucket holding it.
+     *
+     * @param percentile Percentile between 0 and 100.
+     * @return Latency in nanoseconds, or 0 if none is recorded.
+     */
+    public long getPercentile(double percentile) {
+        long numOfLatencies = this.count.get();
+        if (numOfLatencies == 0) {
+            return 0;
+        }
+        long rank = Math.max((long) Math.ceil(percentile / 100 * numOfLatencies), 1);
+        long seen = 0;
+        for (int i = 0; i < LatencyHistogram.NUM_OF_BUCKETS; i++) {
+            seen += this.buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.getUpperBound(i), this.max.get());
+            }
+        }
+        return this.max.get();
+    }
+
+    /**
+     * Returns a summary of the histogram, with latencies in microseconds.
+     *
+     * @return The summary.
+     */
+    @Override
+    public String toString() {
+        return String.format("count %d, mean %.1f, p50 %.1f, p99 %.1f, max %.1f", this.getCount(),
+                this.getMean() / 1e3, this.getPercentile(50) / 1e3, this.getPercentile(99) / 1e3,
+                this.getMax() / 1e3);
+    }
+}
@@ -0,0 +1,179 @@
+package workdone.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents the metrics of this process: latencies of parsing, of each type of command and of each storage
+ * operation, bytes written to task files, forces to the disk, and the number of tasks after each type of command.
+ *
+ * <p>Metrics are collected when the system property `workdone.metrics` is true, and also written to the file given
+ * by `workdone.metrics.dump` every `workdone.metrics.interval` seconds. Callers check {@link #ENABLED} before
+ * reading the clock, so that metrics cost nothing when they are off, and recording never allocates.
+ */
+public final class Metrics {
+    /** System property turning metrics on */
+    public static final String ENABLED_PROPERTY = "workdone.metrics";
+    /** System property giving the file the metrics are written to */
+    public static final String DUMP_PROPERTY = "workdone.metrics.dump";
+    /** System property giving the interval between writes of the metrics, in seconds */
+    public static final String INTERVAL_PROPERTY = "workdone.metrics.interval";
+    /** Whether metrics are collected, fixed when the program starts */
+    public static final boolean ENABLED = Boolean.getBoolean(Metrics.ENABLED_PROPERTY)
+            || System.getProperty(Metrics.DUMP_PROPERTY) != null;
+
+    /**
+     * Operations of the storage which are timed.
+     */
+    public enum StorageOperation {
+        LOAD, ADD, DELETE, DELETE_ALL, UPDATE_STATUS, REWRITE, COMPACT, FLUSH, CLOSE
+    }
+
+    /** Latencies of parsing commands */
+    private static final LatencyHistogram PARSE_LATENCY = new LatencyHistogram();
+    /** Metrics of each type of command, by class of the command */
+    private static final ClassValue<CommandMetrics> COMMAND_METRICS = new ClassValue<>() {
+        @Override
+        protected CommandMetrics computeValue(Class<?> type) {
+            CommandMetrics metrics = new CommandMetrics();
+            Metrics.COMMAND_TYPES.put(type.getSimpleName(), metrics);
+            return metrics;
+        }
+    };
+    /** Metrics of each type of command executed so far, by name of the type */
+    private static final Map<String, CommandMetrics> COMMAND_TYPES = new ConcurrentHashMap<>();
+    /** Latencies of each storage operation, by its ordinal */
+    private static final LatencyHistogram[] STORAGE_LATENCIES = new LatencyHistogram[StorageOperation.values().length];
+    /** Bytes written to task files */
+    private static final LongAdder BYTES_WRITTEN = new LongAdder();
+    /** Number of times a task file was forced to the disk */
+    private static final LongAdder NUM_OF_FORCES = new LongAdder();
+
+    static {
+        for (int i = 0; i < Metrics.STORAGE_LATENCIES.length; i++) {
+            Metrics.STORAGE_LATENCIES[i] = new LatencyHistogram();
+        }
+        String dumpFile = System.getProperty(Metrics.DUMP_PROPERTY);
+        if (dumpFile != null) {
+            Metrics.startDumping(Paths.get(dumpFile), Long.getLong(Metrics.INTERVAL_PROPERTY, 60));
+        }
+    }
+
+    /**
+     * Represents the metrics of one type of command.
+     */
+    private static class CommandMetrics {
+        /** Latencies of executing the command */
+        private final LatencyHistogram latency = new LatencyHistogram();
+        /** Number of tasks after the command was last executed */
+        private volatile int numOfTasks;
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * Records the time taken to parse a command.
+     *
+     * @param nanos Time taken in nanoseconds.
+     */
+    public static void recordParse(long nanos) {
+        Metrics.PARSE_LATENCY.record(nanos);
+    }
+
+    /**
+     * Records the time taken to execute a command, and the number of tasks it left.
+     *
+     * @param command The command executed.
+     * @param nanos Time taken in nanoseconds.
+     * @param numOfTasks Number of tasks after the command.
+     */
+    public static void recordCommand(Object command, long nanos, int numOfTasks) {
+        CommandMetrics metrics = Metrics.COMMAND_METRICS.get(command.getClass());
+        metrics.latency.record(nanos);
+        metrics.numOfTasks = numOfTasks;
+    }
+
+    /**
+     * Records the time taken by a storage operation.
+     *
+     * @param operation The operation.
+     * @param nanos Time taken in nanoseconds.
+     */
+    public static void recordStorage(StorageOperation operation, long nanos) {
+        Metrics.STORAGE_LATENCIES[operation.ordinal()].record(nanos);
+    }
+
+    /**
+     * Records bytes written to a task file.
+     *
+     * @param numOfBytes Number of bytes written.
+     */
+    public static void recordBytesWritten(long numOfBytes) {
+        Metrics.BYTES_WRITTEN.add(numOfBytes);
+    }
+
+    /**
+     * Records that a task file was forced to the disk.
+     */
+    public static void recordForce() {
+        Metrics.NUM_OF_FORCES.increment();
+    }
+
+    /**
+     * Returns a report of all metrics, with latencies in microseconds.
+     *
+     * @return The report.
+     */
+    public static String getReport() {
+        StringBuilder report = new StringBuilder("Here are the statistics (latencies in us):\n")
+                .append("parse: ").append(Metrics.PARSE_LATENCY).append('\n');
+        for (Map.Entry<String, CommandMetrics> entry : new TreeMap<>(Metrics.COMMAND_TYPES).entrySet()) {
+            report.append(entry.getKey()).append(": ").append(entry.getValue().latency)
+                    .append(", tasks ").append(entry.getValue().numOfTasks).append('\n');
+        }
+        for (StorageOperation operation : StorageOperation.values()) {
+            LatencyHistogram latency = Metrics.STORAGE_LATENCIES[operation.ordinal()];
+            if (latency.getCount() > 0) {
+                report.append("storage ").append(operation.name().toLowerCase()).append(": ").append(latency)
+                        .append('\n');
+            }
+        }
+        return report.append("bytes written: ").append(Metrics.BYTES_WRITTEN.sum())
+                .append(", forces to disk: ").append(Metrics.NUM_OF_FORCES.sum()).append('\n')
+                .toString();
+    }
+
+    /**
+     * Writes the report to a file on a background thread at a fixed interval, and once more when the program exits.
+     *
+     * @param file The file the report is written to, which is replaced each time.
+     * @param interval Interval between writes in seconds.
+     */
+    private static void startDumping(Path file, long interval) {
+        ScheduledExecutorService dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "workdone-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Runnable dump = () -> {
+            try {
+                Files.writeString(file, Metrics.getReport(), StandardCharsets.UTF_8);
+            } catch (IOException ioException) {
+                // the next dump tries again
+            }
+        };
+        dumper.scheduleAtFixedRate(dump, interval, interval, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(dump));
+    }
+}
@@ -0,0 +1,57 @@
+package workdone.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Represents a flight recorder event for an operation of the storage on a task file.
+ */
+@Name("workdone.Storage")
+@Label("Storage Operation")
+@Category({"WorkDone", "Storage"})
+@Description("Read, append, rewrite or compaction of a task file")
+public class StorageEvent extends Event {
+    /** Name of the operation, as in {@link Metrics.StorageOperation} */
+    @Label("Operation")
+    private String operation;
+
+    /** Path of the task file */
+    @Label("File")
+    private String file;
+
+    /** Bytes read or written */
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    /**
+     * Sets the name of the operation.
+     *
+     * @param operation Name of the operation.
+     */
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * Sets the path of the task file.
+     *
+     * @param file Path of the task file.
+     */
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    /**
+     * Sets the number of bytes read or written.
+     *
+     * @param bytes Number of bytes.
+     */
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+}
@@ -0,0 +1,140 @@
+package workdone.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Represents a client which loads a WorkDone server with many concurrent connections over the TCP protocol, and
+ * reports the throughput and latency of the commands.
+ *
+ * <p>Each connection works on one of the tenants and sends a mix of commands: it adds a task, lists the first
+ * page, finds a keyword, marks its task as done and undoes the change.
+ */
+public class LoadTestClient {
+    /** Commands sent by a connection in each round, `%s` is replaced by a unique task name */
+    private static final String[] ROUND = {"todo %s", "list --page 1 --size 10", "find %s", "done 1", "undo"};
+
+    private LoadTestClient() {
+    }
+
+    /**
+     * Runs one connection and returns the latencies of its commands.
+     *
+     * @param host Host of the server.
+     * @param port TCP port of the server.
+     * @param tenant Tenant the connection works on.
+     * @param numOfCommands Number of commands to be sent.
+     * @return Latency of each command in nanoseconds.
+     * @throws IOException If the connection fails.
+     */
+    private static long[] runConnection(String host, int port, String tenant, int numOfCommands) throws IOException {
+        long[] latencies = new long[numOfCommands];
+        try (Socket socket = new Socket(host, port);
+                BufferedReader input = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                Writer output = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            LoadTestClient.readResponse(input);
+            LoadTestClient.send(output, "tenant " + tenant);
+            LoadTestClient.readResponse(input);
+            for (int i = 0; i < numOfCommands; i++) {
+                String command = String.format(LoadTestClient.ROUND[i % LoadTestClient.ROUND.length],
+                        "task-" + Thread.currentThread().getId() + "-" + i / LoadTestClient.ROUND.length);
+                long start = System.nanoTime();
+                LoadTestClient.send(output, command);
+                LoadTestClient.readResponse(input);
+                latencies[i] = System.nanoTime() - start;
+            }
+            LoadTestClient.send(output, "bye");
+            LoadTestClient.readResponse(input);
+        }
+        return latencies;
+    }
+
+    /**
+     * Sends a command to the server.
+     *
+     * @param output Output of the connection.
+     * @param command The command to be sent.
+     * @throws IOException If the command cannot be sent.
+     */
+    private static void send(Writer output, String command) throws IOException {
+        output.write(command);
+        output.write('\n');
+        output.flush();
+    }
+
+    /**
+     * Reads a response from the server, which ends with an empty line.
+     *
+     * @param input Input of the connection.
+     * @throws IOException If the connection is closed before the response ends.
+     */
+    private static void readResponse(BufferedReader input) throws IOException {
+        String line;
+        while ((line = input.readLine()) != null) {
+            if (line.isEmpty()) {
+                return;
+            }
+        }
+        throw new IOException("Connection closed by the server");
+    }
+
+    /**
+     * Returns the latency at a percentile.
+     *
+     * @param sortedLatencies Latencies in ascending order.
+     * @param percentile Percentile between 0 and 100.
+     * @return Latency at the percentile in microseconds.
+     */
+    private static long getPercentile(long[] sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)] / 1000;
+    }
+
+    /**
+     * Runs the load test and prints a report.
+     *
+     * @param args Host, TCP port, number of connections, number of tenants and commands per connection.
+     * @throws Exception If a connection fails.
+     */
+    public static void main(String[] args) throws Exception {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : WorkDoneServer.DEFAULT_PORT;
+        int numOfConnections = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int numOfTenants = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int numOfCommands = args.length > 4 ? Integer.parseInt(args[4]) : 200;
+
+        ExecutorService executor = Executors.newFixedThreadPool(numOfConnections);
+        List<Future<long[]>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < numOfConnections; i++) {
+            String tenant = "load-" + i % numOfTenants;
+            results.add(executor.submit(() -> LoadTestClient.runConnection(host, port, tenant, numOfCommands)));
+        }
+        long[] latencies = new long[numOfConnections * numOfCommands];
+        for (int i = 0; i < numOfConnections; i++) {
+            System.arraycopy(results.get(i).get(), 0, latencies, i * numOfCommands, numOfCommands);
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        Arrays.sort(latencies);
+        System.out.printf("%d connections, %d tenants, %d commands in %.2f s%n", numOfConnections, numOfTenants,
+                latencies.length, elapsed / 1e9);
+        System.out.printf("throughput: %.0f commands/s%n", latencies.length / (elapsed / 1e9));
+        System.out.printf("latency (us): p50 %d, p90 %d, p99 %d, max %d%n",
+                LoadTestClient.getPercentile(latencies, 50), LoadTestClient.getPercentile(latencies, 90),
+                LoadTestClient.getPercentile(latencies, 99), latencies[latencies.length - 1] / 1000);
+    }
+}
@@ -0,0 +1,217 @@
+package workdone.server;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import workdone.WorkDone;
+
+/**
+ * Represents the tenants served by one process. Each tenant has its own task file in the data directory, which is
+ * loaded when the tenant is first used and then shared by all sessions of the tenant.
+ *
+ * <p>A tenant is loaded by the first thread using it, while other threads wanting the same tenant wait for the load
+ * and threads using other tenants go on. Tenants nobody used for {@value #DEFAULT_IDLE_TIMEOUT} seconds, or the
+ * number of seconds in the system property {@value #IDLE_TIMEOUT_PROPERTY}, are closed and loaded again when next
+ * used.
+ */
+public class TenantRegistry {
+    /** Name of the property setting the number of seconds an unused tenant stays loaded */
+    public static final String IDLE_TIMEOUT_PROPERTY = "workdone.tenant.idle";
+    /** Names allowed for tenants, which are used as file names */
+    private static final Pattern TENANT_NAME = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    /** Number of seconds an unused tenant stays loaded if the property is not set */
+    private static final long DEFAULT_IDLE_TIMEOUT = 600;
+
+    /**
+     * Represents a tenant which is loaded or being loaded.
+     */
+    private static class Tenant {
+        /** Program serving the tenant, completed once the task file is loaded */
+        private final CompletableFuture<WorkDone> workDone = new CompletableFuture<>();
+        /** Number of threads using the tenant */
+        private int numOfUsers;
+        /** Time the tenant was last used, in nanoseconds */
+        private long lastUsed = System.nanoTime();
+        /** Whether the tenant was closed, so that a thread finding it has to load it again */
+        private boolean isEvicted;
+    }
+
+    /** Directory holding the task files of the tenants */
+    private final Path directory;
+    /** Tenants loaded or being loaded, by tenant name */
+    private final ConcurrentMap<String, Tenant> tenants;
+    /** Number of nanoseconds an unused tenant stays loaded */
+    private final long idleTimeout;
+    /** Background thread closing idle tenants */
+    private final ScheduledExecutorService evictor;
+
+    /**
+     * Constructor of the class `TenantRegistry`, which closes idle tenants after the time set by the system
+     * property {@value #IDLE_TIMEOUT_PROPERTY}.
+     *
+     * @param directory Directory holding the task files of the tenants.
+     */
+    public TenantRegistry(Path directory) {
+        this(directory, Long.getLong(TenantRegistry.IDLE_TIMEOUT_PROPERTY, TenantRegistry.DEFAULT_IDLE_TIMEOUT),
+                TimeUnit.SECONDS);
+    }
+
+    /**
+     * Constructor of the class `TenantRegistry`.
+     *
+     * @param directory Directory holding the task files of the tenants.
+     * @param idleTimeout Time an unused tenant stays loaded.
+     * @param unit Unit of the time.
+     */
+    public TenantRegistry(Path directory, long idleTimeout, TimeUnit unit) {
+        this.directory = directory;
+        this.tenants = new ConcurrentHashMap<>();
+        this.idleTimeout = unit.toNanos(idleTimeout);
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "workdone-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(this.idleTimeout / 2, TimeUnit.MILLISECONDS.toNanos(10));
+        this.evictor.scheduleWithFixedDelay(this::evictIdleTenants, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns whether a string can be the name of a tenant.
+     *
+     * @param tenant Name of a tenant.
+     * @return Whether the name is valid.
+     */
+    public static boolean isValidName(String tenant) {
+        return TenantRegistry.TENANT_NAME.matcher(tenant).matches();
+    }
+
+    /**
+     * Runs an action with the program serving a tenant, loading the task file of the tenant if it is not loaded
+     * yet. The tenant is not closed while the action runs.
+     *
+     * @param tenant Name of the tenant.
+     * @param action Action using the program serving the tenant.
+     * @param <T> Type of the result of the action.
+     * @return Result of the action.
+     */
+    public <T> T withTenant(String tenant, Function<WorkDone, T> action) {
+        if (!TenantRegistry.isValidName(tenant)) {
+            throw new IllegalArgumentException("Invalid tenant: " + tenant);
+        }
+        Tenant entry = this.acquire(tenant);
+        try {
+            return action.apply(entry.workDone.join());
+        } catch (CompletionException completionException) {
+            // the task file couldn't be loaded, the next use tries again
+            throw completionException.getCause() instanceof RuntimeException
+                    ? (RuntimeException) completionException.getCause()
+                    : completionException;
+        } finally {
+            this.release(entry);
+        }
+    }
+
+    /**
+     * Marks a tenant as used, starting to load it if no other thread is loading it. The task file is loaded outside
+     * of the map, so that loading one tenant doesn't block others.
+     *
+     * @param name Name of the tenant.
+     * @return The tenant, which may still be loading.
+     */
+    private Tenant acquire(String name) {
+        while (true) {
+            Tenant entry = this.tenants.get(name);
+            if (entry == null) {
+                Tenant created = new Tenant();
+                entry = this.tenants.putIfAbsent(name, created);
+                if (entry == null) {
+                    entry = created;
+                    this.load(name, created);
+                }
+            }
+            synchronized (entry) {
+                if (!entry.isEvicted) {
+                    entry.numOfUsers++;
+                    return entry;
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads the task file of a tenant, completing the tenant. A tenant which fails to load is removed, so that the
+     * next use loads it again.
+     *
+     * @param name Name of the tenant.
+     * @param tenant The tenant.
+     */
+    private void load(String name, Tenant tenant) {
+        try {
+            tenant.workDone.complete(new WorkDone(this.directory.resolve(name + ".txt")));
+        } catch (RuntimeException runtimeException) {
+            this.tenants.remove(name, tenant);
+            tenant.workDone.completeExceptionally(runtimeException);
+        }
+    }
+
+    /**
+     * Marks the end of a use of a tenant.
+     *
+     * @param tenant The tenant.
+     */
+    private void release(Tenant tenant) {
+        synchronized (tenant) {
+            tenant.numOfUsers--;
+            tenant.lastUsed = System.nanoTime();
+        }
+    }
+
+    /**
+     * Closes the tenants which are loaded and were not used for the idle timeout.
+     */
+    void evictIdleTenants() {
+        long now = System.nanoTime();
+        this.tenants.forEach((name, tenant) -> {
+            synchronized (tenant) {
+                boolean isLoaded = tenant.workDone.isDone() && !tenant.workDone.isCompletedExceptionally();
+                if (!isLoaded || tenant.numOfUsers > 0 || now - tenant.lastUsed < this.idleTimeout) {
+                    return;
+                }
+                tenant.isEvicted = true;
+            }
+            this.tenants.remove(name, tenant);
+            tenant.workDone.join().close();
+        });
+    }
+
+    /**
+     * Returns the number of tenants loaded.
+     *
+     * @return Number of tenants.
+     */
+    public int size() {
+        return this.tenants.size();
+    }
+
+    /**
+     * Writes the changes of all tenants to the hard disk.
+     */
+    public void close() {
+        this.evictor.shutdown();
+        this.tenants.values().forEach(tenant -> {
+            WorkDone workDone = tenant.workDone.getNow(null);
+            if (workDone != null) {
+                workDone.close();
+            }
+        });
+    }
+}
@@ -0,0 +1,309 @@
+package workdone.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import workdone.WorkDone;
+import workdone.ui.Parser;
+import workdone.ui.Ui;
+
+/**
+ * Represents a headless WorkDone server, which serves the commands of many users over TCP and HTTP.
+ *
+ * <p>The TCP protocol is line based. The server greets every connection, then reads one command per line and
+ * answers with the lines of the response followed by an empty line. The line `tenant {name}` switches the
+ * connection to the task file of another tenant, and `bye` closes the connection. Each connection has its own
+ * undo history.
+ *
+ * <p>Over HTTP, a command is the body of a request `POST /tenants/{name}`, and the response is the body of the
+ * reply. Requests of a tenant share one undo history.
+ *
+ * <p>Every connection and request is served on its own virtual thread when the runtime has them, and on a cached
+ * thread pool otherwise.
+ */
+public class WorkDoneServer {
+    /** Port of the TCP protocol if none is given */
+    public static final int DEFAULT_PORT = 4567;
+    /** Port of the HTTP endpoint if none is given */
+    public static final int DEFAULT_HTTP_PORT = 8080;
+    /** Tenant of a connection which hasn't chosen one */
+    private static final String DEFAULT_TENANT = "default";
+    /** Command switching the tenant of a connection */
+    private static final String TENANT_COMMAND = "tenant ";
+    /** Path of the HTTP endpoint, followed by the tenant */
+    private static final String HTTP_PATH = "/tenants/";
+
+    /**
+     * Represents the state of a TCP connection.
+     */
+    private static class Session {
+        /** Tenant the connection works on */
+        private String tenant = WorkDoneServer.DEFAULT_TENANT;
+        /** Program which served the last command, whose undo history is in the parser */
+        private WorkDone workDone;
+        /** Parser holding the undo history of the connection */
+        private Parser parser;
+
+        /**
+         * Returns the response to a command. The undo history is dropped when the tenant changes or was reloaded,
+         * since it means nothing to another task list.
+         *
+         * @param workDone Program serving the tenant.
+         * @param command The command.
+         * @return Response to the command.
+         */
+        private String getResponse(WorkDone workDone, String command) {
+            if (workDone != this.workDone) {
+                this.workDone = workDone;
+                this.parser = new Parser();
+            }
+            return workDone.getResponse(this.parser, command);
+        }
+    }
+
+    /** Tenants served */
+    private final TenantRegistry tenants;
+    /** Threads serving the connections and requests */
+    private final ExecutorService executor;
+    /** Socket accepting TCP connections */
+    private final ServerSocket serverSocket;
+    /** Server of the HTTP endpoint */
+    private final HttpServer httpServer;
+
+    /**
+     * Constructor of the class `WorkDoneServer`. The server listens once it is started.
+     *
+     * @param directory Directory holding the task files of the tenants.
+     * @param port Port of the TCP protocol, or 0 for any free port.
+     * @param httpPort Port of the HTTP endpoint, or 0 for any free port.
+     * @throws IOException If a port cannot be bound.
+     */
+    public WorkDoneServer(Path directory, int port, int httpPort) throws IOException {
+        this.tenants = new TenantRegistry(directory);
+        this.executor = WorkDoneServer.newConnectionExecutor();
+        this.serverSocket = new ServerSocket(port);
+        this.httpServer = HttpServer.create(new InetSocketAddress(httpPort), 0);
+        this.httpServer.createContext(WorkDoneServer.HTTP_PATH, this::handleHttp);
+        this.httpServer.setExecutor(this.executor);
+    }
+
+    /**
+     * Returns an executor running each task on a new virtual thread. Runtimes without virtual threads get a cached
+     * thread pool instead, since the program is built for Java 11.
+     *
+     * @return Executor serving connections.
+     */
+    static ExecutorService newConnectionExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "workdone-connection");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Starts accepting connections and requests.
+     */
+    public void start() {
+        Thread acceptor = new Thread(this::acceptConnections, "workdone-acceptor");
+        acceptor.start();
+        this.httpServer.start();
+    }
+
+    /**
+     * Returns the port of the TCP protocol.
+     *
+     * @return Port the server listens on.
+     */
+    public int getPort() {
+        return this.serverSocket.getLocalPort();
+    }
+
+    /**
+     * Returns the port of the HTTP endpoint.
+     *
+     * @return Port the HTTP endpoint listens on.
+     */
+    public int getHttpPort() {
+        return this.httpServer.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server and writes the changes of all tenants to the hard disk.
+     */
+    public void stop() {
+        try {
+            this.serverSocket.close();
+        } catch (IOException ioException) {
+            // the socket is closed anyway
+        }
+        this.httpServer.stop(0);
+        this.executor.shutdown();
+        try {
+            this.executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        }
+        this.tenants.close();
+    }
+
+    /**
+     * Accepts TCP connections until the server is stopped, serving each on its own thread.
+     */
+    private void acceptConnections() {
+        while (!this.serverSocket.isClosed()) {
+            try {
+                Socket socket = this.serverSocket.accept();
+                this.executor.execute(() -> this.serve(socket));
+            } catch (IOException ioException) {
+                // the server socket is closed when the server stops
+            }
+        }
+    }
+
+    /**
+     * Serves the commands received over a TCP connection until the client leaves.
+     *
+     * @param socket Socket of the connection.
+     */
+    private void serve(Socket socket) {
+        try (socket;
+                BufferedReader input = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                Writer output = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            Session session = new Session();
+            WorkDoneServer.writeResponse(output, new Ui().getGreetingMessage());
+
+            String line;
+            while ((line = input.readLine()) != null) {
+                String command = line.strip();
+                if (command.startsWith(WorkDoneServer.TENANT_COMMAND)) {
+                    String tenant = command.substring(WorkDoneServer.TENANT_COMMAND.length()).strip();
+                    if (!TenantRegistry.isValidName(tenant)) {
+                        WorkDoneServer.writeResponse(output, "☹ OOPS!!! The tenant name is invalid.");
+                        continue;
+                    }
+                    session.tenant = tenant;
+                    WorkDoneServer.writeResponse(output, "Now serving the tasks of " + tenant + ".");
+                    continue;
+                }
+                String tenant = session.tenant;
+                String response = this.tenants.withTenant(tenant, workDone -> session.getResponse(workDone, command));
+                WorkDoneServer.writeResponse(output, response);
+                if (command.equals("bye")) {
+                    return;
+                }
+            }
+        } catch (SocketException socketException) {
+            // the client left without saying bye
+        } catch (IOException ioException) {
+            ioException.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes a response to a TCP connection, ending it with an empty line.
+     *
+     * @param output Output of the connection.
+     * @param response The response to be written.
+     * @throws IOException If the response cannot be written.
+     */
+    private static void writeResponse(Writer output, String response) throws IOException {
+        for (String line : response.split("\n")) {
+            if (!line.isEmpty()) {
+                output.write(line);
+                output.write('\n');
+            }
+        }
+        output.write('\n');
+        output.flush();
+    }
+
+    /**
+     * Serves a command received over HTTP.
+     *
+     * @param exchange The HTTP request and its reply.
+     * @throws IOException If the reply cannot be sent.
+     */
+    private void handleHttp(HttpExchange exchange) throws IOException {
+        try {
+            String tenant = exchange.getRequestURI().getPath().substring(WorkDoneServer.HTTP_PATH.length());
+            if (!exchange.getRequestMethod().equals("POST")) {
+                WorkDoneServer.sendHttpResponse(exchange, 405, "Commands are sent with POST.\n");
+                return;
+            }
+            if (!TenantRegistry.isValidName(tenant)) {
+                WorkDoneServer.sendHttpResponse(exchange, 404, "☹ OOPS!!! The tenant name is invalid.\n");
+                return;
+            }
+            String command;
+            try (InputStream body = exchange.getRequestBody()) {
+                command = new String(body.readAllBytes(), StandardCharsets.UTF_8).strip();
+            }
+            String response = this.tenants.withTenant(tenant, workDone -> workDone.getResponse(command));
+            WorkDoneServer.sendHttpResponse(exchange, 200, response);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Sends the reply to an HTTP request as plain text.
+     *
+     * @param exchange The HTTP request and its reply.
+     * @param status Status code of the reply.
+     * @param text Body of the reply.
+     * @throws IOException If the reply cannot be sent.
+     */
+    private static void sendHttpResponse(HttpExchange exchange, int status, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(bytes);
+        }
+    }
+
+    /**
+     * Runs the server until the process is stopped.
+     *
+     * @param args Optional TCP port, HTTP port and data directory, in this order.
+     * @throws IOException If a port cannot be bound.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : WorkDoneServer.DEFAULT_PORT;
+        int httpPort = args.length > 1 ? Integer.parseInt(args[1]) : WorkDoneServer.DEFAULT_HTTP_PORT;
+        Path directory = args.length > 2
+                ? Paths.get(args[2])
+                : Paths.get(System.getProperty("user.dir"), "data");
+        WorkDoneServer server = new WorkDoneServer(directory, port, httpPort);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        server.start();
+        System.out.printf("WorkDone is serving %s on TCP port %d and HTTP port %d%n", directory, server.getPort(),
+                server.getHttpPort());
+    }
+}
@@ -0,0 +1,293 @@
+package workdone.task;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Converts the times of tasks between their text formats and minutes since the epoch, which is how tasks store
+ * them. Times are stored in `yyyy-MM-dd HH:mm` and displayed in `MMM d yyyy, HH:mm`, and both formats are parsed
+ * and formatted by hand, falling back to cached formatters only for years outside 1 to 9999.
+ *
+ * <p>Parsing accepts what the formatter of the stored format accepts: a day past the end of a month is taken as
+ * the last day of the month, and 24:00 as midnight of the next day.
+ */
+public final class DateTimeCodec {
+    /** Format of stored times */
+    public static final String FILE_PATTERN = "yyyy-MM-dd HH:mm";
+    /** Value of a time which cannot be parsed */
+    public static final long INVALID_TIME = Long.MIN_VALUE;
+
+    /** Formatter of stored times */
+    private static final DateTimeFormatter FILE_FORMATTER = DateTimeFormatter.ofPattern(DateTimeCodec.FILE_PATTERN);
+    /** Formatter of displayed times */
+    private static final DateTimeFormatter DISPLAY_FORMATTER = DateTimeFormatter.ofPattern("MMM d yyyy, HH:mm");
+    /** Names of the months in displayed times, as the display formatter writes them */
+    private static final String[] MONTH_NAMES = DateTimeCodec.getMonthNames();
+    /** Length of a time in the format `yyyy-MM-dd HH:mm` */
+    private static final int TIME_LENGTH = 16;
+    /** Separator between the starting time and the ending time of a time slot */
+    private static final String SLOT_SEPARATOR = "to";
+    /** Number of minutes in a day */
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    /** Number of days from 0000-03-01, the start of the calendar used in the conversion, to the epoch */
+    private static final int DAYS_TO_EPOCH = 719468;
+    /** Number of days in a 400-year cycle */
+    private static final int DAYS_PER_CYCLE = 146097;
+
+    private DateTimeCodec() {
+    }
+
+    /**
+     * Returns the names of the months as the display formatter writes them in the default locale.
+     *
+     * @return Names of the months, January first.
+     */
+    private static String[] getMonthNames() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM");
+        String[] monthNames = new String[12];
+        for (Month month : Month.values()) {
+            monthNames[month.ordinal()] = formatter.format(LocalDateTime.of(2000, month, 1, 0, 0));
+        }
+        return monthNames;
+    }
+
+    /**
+     * Parses part of a string as a time in the format `yyyy-MM-dd HH:mm`, ignoring whitespace around it.
+     *
+     * @param input The string.
+     * @param start Index of the first character of the part.
+     * @param end Index after the last character of the part.
+     * @return Minutes since the epoch, or {@link #INVALID_TIME} if the part isn't a valid time.
+     */
+    public static long tryParse(CharSequence input, int start, int end) {
+        while (start < end && input.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (end - start != DateTimeCodec.TIME_LENGTH || input.charAt(start + 4) != '-'
+                || input.charAt(start + 7) != '-' || input.charAt(start + 10) != ' '
+                || input.charAt(start + 13) != ':') {
+            return DateTimeCodec.INVALID_TIME;
+        }
+        int year = DateTimeCodec.parseDigits(input, start, 4);
+        int month = DateTimeCodec.parseDigits(input, start + 5, 2);
+        int day = DateTimeCodec.parseDigits(input, start + 8, 2);
+        int hour = DateTimeCodec.parseDigits(input, start + 11, 2);
+        int minute = DateTimeCodec.parseDigits(input, start + 14, 2);
+        boolean isEndOfDay = hour == 24 && minute == 0;
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31 || hour < 0 || (hour > 23 && !isEndOfDay)
+                || minute < 0 || minute > 59) {
+            return DateTimeCodec.INVALID_TIME;
+        }
+        day = Math.min(day, DateTimeCodec.getLengthOfMonth(year, month));
+        // 24:00 is the midnight ending the day, which is 24 * 60 minutes after the day starts.
+        return DateTimeCodec.getEpochDay(year, month, day) * DateTimeCodec.MINUTES_PER_DAY + hour * 60 + minute;
+    }
+
+    /**
+     * Parses a time in the format `yyyy-MM-dd HH:mm`, ignoring whitespace around it.
+     *
+     * @param text The time.
+     * @return Minutes since the epoch.
+     * @throws DateTimeParseException If the text isn't a valid time.
+     */
+    public static long parse(CharSequence text) {
+        long time = DateTimeCodec.tryParse(text, 0, text.length());
+        if (time == DateTimeCodec.INVALID_TIME) {
+            throw new DateTimeParseException("Text '" + text + "' is not a time in the format "
+                    + DateTimeCodec.FILE_PATTERN, text, 0);
+        }
+        return time;
+    }
+
+    /**
+     * Parses a time slot in the format `yyyy-MM-dd HH:mm to yyyy-MM-dd HH:mm`, splitting it at the first `to`.
+     *
+     * @param text The time slot.
+     * @return Starting time and ending time in minutes since the epoch, in the given order.
+     * @throws DateTimeParseException If the text isn't a valid time slot.
+     */
+    public static long[] parseSlot(CharSequence text) {
+        int separatorStart = text.toString().indexOf(DateTimeCodec.SLOT_SEPARATOR);
+        long startingTime = separatorStart < 0
+                ? DateTimeCodec.INVALID_TIME
+                : DateTimeCodec.tryParse(text, 0, separatorStart);
+        long endingTime = startingTime == DateTimeCodec.INVALID_TIME
+                ? DateTimeCodec.INVALID_TIME
+                : DateTimeCodec.tryParse(text, separatorStart + DateTimeCodec.SLOT_SEPARATOR.length(), text.length());
+        if (endingTime == DateTimeCodec.INVALID_TIME) {
+            throw new DateTimeParseException("Text '" + text + "' is not a time slot in the format "
+                    + DateTimeCodec.FILE_PATTERN + " to " + DateTimeCodec.FILE_PATTERN, text, 0);
+        }
+        return new long[] {startingTime, endingTime};
+    }
+
+    /**
+     * Parses a number of exactly the given digits.
+     *
+     * @param input The string.
+     * @param start Index of the first digit.
+     * @param numOfDigits Number of digits.
+     * @return The number, or -1 if a character isn't a digit.
+     */
+    private static int parseDigits(CharSequence input, int start, int numOfDigits) {
+        int value = 0;
+        for (int i = start; i < start + numOfDigits; i++) {
+            char c = input.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Returns the number of days in a month.
+     *
+     * @param year The year.
+     * @param month The month, from 1 to 12.
+     * @return Number of days in the month.
+     */
+    private static int getLengthOfMonth(int year, int month) {
+        if (month == 2) {
+            boolean isLeapYear = (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+            return isLeapYear ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    /**
+     * Returns the number of days from the epoch to a date. Years start in March in the calculation, so that the
+     * leap day is the last day of a year.
+     *
+     * @param year The year.
+     * @param month The month, from 1 to 12.
+     * @param day The day of the month.
+     * @return Days since the epoch.
+     */
+    private static long getEpochDay(int year, int month, int day) {
+        long shiftedYear = month <= 2 ? year - 1 : year;
+        long cycle = Math.floorDiv(shiftedYear, 400);
+        long yearOfCycle = shiftedYear - cycle * 400;
+        long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfCycle = yearOfCycle * 365 + yearOfCycle / 4 - yearOfCycle / 100 + dayOfYear;
+        return cycle * DateTimeCodec.DAYS_PER_CYCLE + dayOfCycle - DateTimeCodec.DAYS_TO_EPOCH;
+    }
+
+    /**
+     * Appends a time in the format `yyyy-MM-dd HH:mm`.
+     *
+     * @param builder Builder to be appended to.
+     * @param time Minutes since the epoch.
+     * @return The builder.
+     */
+    public static StringBuilder appendFileFormat(StringBuilder builder, long time) {
+        long epochDay = Math.floorDiv(time, DateTimeCodec.MINUTES_PER_DAY);
+        int minuteOfDay = Math.floorMod(time, DateTimeCodec.MINUTES_PER_DAY);
+        long date = DateTimeCodec.getDate(epochDay);
+        int year = (int) (date >> 9);
+        if (year < 1 || year > 9999) {
+            DateTimeCodec.FILE_FORMATTER.formatTo(DateTimeCodec.toLocalDateTime(time), builder);
+            return builder;
+        }
+        DateTimeCodec.appendDigits(builder, year, 4).append('-');
+        DateTimeCodec.appendDigits(builder, (int) (date >> 5) & 0xF, 2).append('-');
+        DateTimeCodec.appendDigits(builder, (int) date & 0x1F, 2).append(' ');
+        return DateTimeCodec.appendTimeOfDay(builder, minuteOfDay);
+    }
+
+    /**
+     * Appends a time in the format `MMM d yyyy, HH:mm`.
+     *
+     * @param builder Builder to be appended to.
+     * @param time Minutes since the epoch.
+     * @return The builder.
+     */
+    public static StringBuilder appendDisplayFormat(StringBuilder builder, long time) {
+        long epochDay = Math.floorDiv(time, DateTimeCodec.MINUTES_PER_DAY);
+        int minuteOfDay = Math.floorMod(time, DateTimeCodec.MINUTES_PER_DAY);
+        long date = DateTimeCodec.getDate(epochDay);
+        int year = (int) (date >> 9);
+        if (year < 1 || year > 9999) {
+            DateTimeCodec.DISPLAY_FORMATTER.formatTo(DateTimeCodec.toLocalDateTime(time), builder);
+            return builder;
+        }
+        builder.append(DateTimeCodec.MONTH_NAMES[((int) (date >> 5) & 0xF) - 1]).append(' ')
+                .append((int) date & 0x1F).append(' ');
+        DateTimeCodec.appendDigits(builder, year, 4).append(", ");
+        return DateTimeCodec.appendTimeOfDay(builder, minuteOfDay);
+    }
+
+    /**
+     * Returns the date of a day since the epoch, packed as the year shifted left by 9 bits, the month shifted left
+     * by 5 bits, and the day of the month.
+     *
+     * @param epochDay Days since the epoch.
+     * @return The packed date.
+     */
+    private static long getDate(long epochDay) {
+        long shiftedDay = epochDay + DateTimeCodec.DAYS_TO_EPOCH;
+        long cycle = Math.floorDiv(shiftedDay, DateTimeCodec.DAYS_PER_CYCLE);
+        long dayOfCycle = shiftedDay - cycle * DateTimeCodec.DAYS_PER_CYCLE;
+        long yearOfCycle = (dayOfCycle - dayOfCycle / 1460 + dayOfCycle / 36524 - dayOfCycle / 146096) / 365;
+        long dayOfYear = dayOfCycle - (365 * yearOfCycle + yearOfCycle / 4 - yearOfCycle / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        long month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfCycle + cycle * 400 + (month <= 2 ? 1 : 0);
+        return year << 9 | month << 5 | day;
+    }
+
+    /**
+     * Appends a time of day in the format `HH:mm`.
+     *
+     * @param builder Builder to be appended to.
+     * @param minuteOfDay Minutes since midnight.
+     * @return The builder.
+     */
+    private static StringBuilder appendTimeOfDay(StringBuilder builder, int minuteOfDay) {
+        DateTimeCodec.appendDigits(builder, minuteOfDay / 60, 2).append(':');
+        return DateTimeCodec.appendDigits(builder, minuteOfDay % 60, 2);
+    }
+
+    /**
+     * Appends a non-negative number padded with zeros to the given number of digits.
+     *
+     * @param builder Builder to be appended to.
+     * @param value The number.
+     * @param numOfDigits Number of digits.
+     * @return The builder.
+     */
+    private static StringBuilder appendDigits(StringBuilder builder, int value, int numOfDigits) {
+        for (int divisor = numOfDigits == 4 ? 1000 : 10; divisor > 0; divisor /= 10) {
+            builder.append((char) ('0' + value / divisor % 10));
+        }
+        return builder;
+    }
+
+    /**
+     * Returns the time of a number of minutes since the epoch.
+     *
+     * @param time Minutes since the epoch.
+     * @return The time.
+     */
+    public static LocalDateTime toLocalDateTime(long time) {
+        return LocalDateTime.ofEpochSecond(time * 60, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns the number of minutes since the epoch of a time, dropping seconds.
+     *
+     * @param time The time.
+     * @return Minutes since the epoch.
+     */
+    public static long toEpochMinute(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+}
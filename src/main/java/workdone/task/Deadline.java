@@ -1,14 +1,13 @@
 package workdone.task;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 /**
  * Represents a task with a deadline. A subclass of the Task class.
  */
 public class Deadline extends Task {
-    /** Deadline of this task as an LocalDateTime instance */
-    protected LocalDateTime time;
+    /** Deadline of this task in minutes since the epoch */
+    protected long time;
 
     /**
      * Constructor of the class `Deadline`.
@@ -18,7 +17,28 @@ public class Deadline extends Task {
      */
     public Deadline(String description, String by) {
         super(description);
-        this.time = LocalDateTime.parse(by.trim(), Task.FORMATTER);
+        this.time = DateTimeCodec.parse(by);
+    }
+
+    /**
+     * Constructor of the class `Deadline`.
+     *
+     * @param description Description of the task.
+     * @param time Deadline of the task.
+     */
+    public Deadline(String description, LocalDateTime time) {
+        this(description, DateTimeCodec.toEpochMinute(time));
+    }
+
+    /**
+     * Constructor of the class `Deadline`.
+     *
+     * @param description Description of the task.
+     * @param time Deadline of the task in minutes since the epoch.
+     */
+    public Deadline(String description, long time) {
+        super(description);
+        this.time = time;
     }
 
     /**
@@ -27,28 +47,39 @@ public class Deadline extends Task {
      * @return The time of the task
      */
     public LocalDateTime getTime() {
+        return DateTimeCodec.toLocalDateTime(this.time);
+    }
+
+    /**
+     * Returns the time of the task in minutes since the epoch.
+     *
+     * @return The time of the task in minutes since the epoch.
+     */
+    public long getEpochMinute() {
         return this.time;
     }
 
     /**
-     * Converts a task with deadline to a string.
+     * Renders a task with deadline as a string.
      *
      * @return The string representation of a task with deadline.
      */
     @Override
-    public String toString() {
-        return "[D]" + super.toString() + " (by: "
-                + this.time.format(DateTimeFormatter.ofPattern("MMM d yyyy, HH:mm")) + ")";
+    protected String renderString() {
+        StringBuilder builder = new StringBuilder("[D]").append(super.renderString()).append(" (by: ");
+        return DateTimeCodec.appendDisplayFormat(builder, this.time).append(')').toString();
     }
 
     /**
-     * Converts the task to a string with the format of the file in hard disk.
+     * Renders the task in the format of the file in hard disk.
      *
      * @return String representation of the task in the file's format.
      */
     @Override
-    public String toFileFormatString() {
-        return String.format("D / %s / %s / %s\n", this.isDone ? "1" : "0", this.description,
-                this.time.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
+    protected String renderFileFormatString() {
+        StringBuilder builder = new StringBuilder("D / ").append(this.isDone() ? '1' : '0').append(" / ")
+                .append(this.description).append(" / ");
+        return DateTimeCodec.appendFileFormat(builder, this.time).append(this.getFileFormatId()).append('\n')
+                .toString();
     }
 }
@@ -1,16 +1,15 @@
 package workdone.task;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 /**
  * Represents an Event, which is a Task with a starting time and an ending time.
  */
 public class Event extends Task {
-    /** Starting time of the event */
-    protected LocalDateTime startingTime;
-    /** Ending time of the event */
-    protected LocalDateTime endingTime;
+    /** Starting time of the event in minutes since the epoch */
+    protected long startingTime;
+    /** Ending time of the event in minutes since the epoch */
+    protected long endingTime;
 
     /**
      * Constructor of the class `Event`.
@@ -20,21 +19,42 @@ public class Event extends Task {
      */
     public Event(String description, String at) {
         super(description);
-        String[] times = at.split("to", 2);
-        this.startingTime = LocalDateTime.parse(times[0].trim(), Task.FORMATTER);
-        this.endingTime = LocalDateTime.parse(times[1].trim(), Task.FORMATTER);
-        if (this.endingTime.isBefore(this.startingTime)) {
-            this.swapTime(); // swap them if they are in incorrect sequence
-        }
+        long[] times = DateTimeCodec.parseSlot(at);
+        this.setTimes(times[0], times[1]);
     }
 
     /**
-     * Swaps the starting time with the ending time.
+     * Constructor of the class `Event`.
+     *
+     * @param description Description of the task.
+     * @param startingTime Starting time of the task.
+     * @param endingTime Ending time of the task.
+     */
+    public Event(String description, LocalDateTime startingTime, LocalDateTime endingTime) {
+        this(description, DateTimeCodec.toEpochMinute(startingTime), DateTimeCodec.toEpochMinute(endingTime));
+    }
+
+    /**
+     * Constructor of the class `Event`.
+     *
+     * @param description Description of the task.
+     * @param startingTime Starting time of the task in minutes since the epoch.
+     * @param endingTime Ending time of the task in minutes since the epoch.
+     */
+    public Event(String description, long startingTime, long endingTime) {
+        super(description);
+        this.setTimes(startingTime, endingTime);
+    }
+
+    /**
+     * Sets the starting time and the ending time, swapping them if they are in incorrect sequence.
+     *
+     * @param startingTime Starting time of the task in minutes since the epoch.
+     * @param endingTime Ending time of the task in minutes since the epoch.
      */
-    private void swapTime() {
-        LocalDateTime temporaryTime = this.startingTime;
-        this.startingTime = this.endingTime;
-        this.endingTime = temporaryTime;
+    private void setTimes(long startingTime, long endingTime) {
+        this.startingTime = Math.min(startingTime, endingTime);
+        this.endingTime = Math.max(startingTime, endingTime);
     }
 
     /**
@@ -43,30 +63,59 @@ public class Event extends Task {
      * @return The starting time of the task
      */
     public LocalDateTime getStartingTime() {
+        return DateTimeCodec.toLocalDateTime(this.startingTime);
+    }
+
+    /**
+     * Returns the ending time of the task.
+     *
+     * @return The ending time of the task
+     */
+    public LocalDateTime getEndingTime() {
+        return DateTimeCodec.toLocalDateTime(this.endingTime);
+    }
+
+    /**
+     * Returns the starting time of the task in minutes since the epoch.
+     *
+     * @return The starting time of the task in minutes since the epoch.
+     */
+    public long getStartingEpochMinute() {
         return this.startingTime;
     }
 
     /**
-     * Converts a task with time range to string.
+     * Returns the ending time of the task in minutes since the epoch.
+     *
+     * @return The ending time of the task in minutes since the epoch.
+     */
+    public long getEndingEpochMinute() {
+        return this.endingTime;
+    }
+
+    /**
+     * Renders a task with time range as a string.
      *
      * @return The string representation of a task with time range.
      */
     @Override
-    public String toString() {
-        return "[E]" + super.toString() + " (at: "
-                + this.startingTime.format(DateTimeFormatter.ofPattern("MMM d yyyy, HH:mm")) + " to "
-                + this.endingTime.format(DateTimeFormatter.ofPattern("MMM d yyyy, HH:mm")) + ")";
+    protected String renderString() {
+        StringBuilder builder = new StringBuilder("[E]").append(super.renderString()).append(" (at: ");
+        DateTimeCodec.appendDisplayFormat(builder, this.startingTime).append(" to ");
+        return DateTimeCodec.appendDisplayFormat(builder, this.endingTime).append(')').toString();
     }
 
     /**
-     * Converts the task to a string with the format of the file in hard disk.
+     * Renders the task in the format of the file in hard disk.
      *
      * @return String representation of the task in the file's format.
      */
     @Override
-    public String toFileFormatString() {
-        return String.format("E / %s / %s / %s to %s\n", this.isDone ? "1" : "0", this.description,
-                this.startingTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")),
-                this.endingTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
+    protected String renderFileFormatString() {
+        StringBuilder builder = new StringBuilder("E / ").append(this.isDone() ? '1' : '0').append(" / ")
+                .append(this.description).append(" / ");
+        DateTimeCodec.appendFileFormat(builder, this.startingTime).append(" to ");
+        return DateTimeCodec.appendFileFormat(builder, this.endingTime).append(this.getFileFormatId()).append('\n')
+                .toString();
     }
 }
@@ -1,17 +1,63 @@
 package workdone.task;
 
-import java.time.format.DateTimeFormatter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * Represents a task that can be recorded by the Duke program.
+ *
+ * <p>The display string and the file format of a task are rendered once and cached until the task changes. The
+ * caches are kept for the status they were rendered with, so they are also dropped when the status of a task kept
+ * elsewhere changes. Subclasses render through {@link #renderString()} and {@link #renderFileFormatString()}, and
+ * call {@link #invalidateCache()} whenever another field they render changes.
+ *
+ * <p>The cached strings and the status they were rendered with are published together as one immutable
+ * {@link Rendering}, so that a thread reading a task never sees the strings of one status paired with another.
  */
 public class Task {
-    /** Formatter of time */
-    protected static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    /** Rendering of a task which was not rendered yet */
+    private static final Rendering NOT_RENDERED = new Rendering(false, null, null, null);
+    /** Updater publishing renderings unless the task changed while rendering */
+    private static final AtomicReferenceFieldUpdater<Task, Rendering> RENDERING =
+            AtomicReferenceFieldUpdater.newUpdater(Task.class, Rendering.class, "rendering");
+
     /** Description of the task */
     protected String description;
     /** Whether the task is done */
     protected boolean isDone;
+    /** ID of the task, which is 0 until the task is added to a task list */
+    protected int id;
+    /** Cached strings of the task, replaced whenever the task changes */
+    private volatile Rendering rendering = Task.NOT_RENDERED;
+
+    /**
+     * Represents the strings of a task rendered with one status. Strings not rendered yet are null.
+     */
+    private static final class Rendering {
+        /** Status the strings were rendered with */
+        private final boolean isDone;
+        /** Display string */
+        private final String displayString;
+        /** File format */
+        private final String fileFormatString;
+        /** File format encoded in UTF-8 */
+        private final byte[] fileFormatBytes;
+
+        /**
+         * Constructor of the class `Rendering`.
+         *
+         * @param isDone Status the strings were rendered with.
+         * @param displayString Display string, or null.
+         * @param fileFormatString File format, or null.
+         * @param fileFormatBytes File format encoded in UTF-8, or null.
+         */
+        private Rendering(boolean isDone, String displayString, String fileFormatString, byte[] fileFormatBytes) {
+            this.isDone = isDone;
+            this.displayString = displayString;
+            this.fileFormatString = fileFormatString;
+            this.fileFormatBytes = fileFormatBytes;
+        }
+    }
 
     /**
      * Constructor of the class `Task`.
@@ -23,27 +69,66 @@ public class Task {
         this.isDone = false;
     }
 
+    /**
+     * Returns the description of the task.
+     *
+     * @return Description of the task.
+     */
+    public String getDescription() {
+        return this.description;
+    }
+
+    /**
+     * Returns the ID of the task.
+     *
+     * @return ID of the task, or 0 if the task has no ID yet.
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Sets the ID of the task. IDs are given by the task list and never change once the task is stored.
+     *
+     * @param id ID of the task.
+     */
+    public void setId(int id) {
+        assert id > 0 : "id should be positive";
+        this.id = id;
+        this.invalidateCache();
+    }
+
     /**
      * Returns the status of the task as a string.
      *
      * @return The status of the task.
      */
     public String getStatusIcon() {
-        return (this.isDone ? "X" : " "); // mark done task with X
+        return (this.isDone() ? "X" : " "); // mark done task with X
     }
 
     /**
      * Marks the current task as done.
      */
     public void setDone() {
-        this.isDone = true;
+        this.setStatus(true);
     }
 
     /**
      * Marks the current task as undone.
      */
     public void setUndone() {
-        this.isDone = false;
+        this.setStatus(false);
+    }
+
+    /**
+     * Sets whether the task is done. Tasks whose status is kept elsewhere override this and {@link #isDone()}.
+     *
+     * @param isDone Whether the task is done.
+     */
+    protected void setStatus(boolean isDone) {
+        this.isDone = isDone;
+        this.invalidateCache();
     }
 
     /**
@@ -54,23 +139,116 @@ public class Task {
     }
 
     /**
-     * Converts the task to a string.
+     * Drops the cached strings, which are rendered again when next needed. A rendering started before the change is
+     * not cached.
+     */
+    protected void invalidateCache() {
+        this.rendering = new Rendering(false, null, null, null);
+    }
+
+    /**
+     * Returns the cached strings of the task, which are empty if the status of the task changed since they were
+     * rendered.
+     *
+     * @return The cached strings.
+     */
+    private Rendering getRendering() {
+        boolean isDone = this.isDone();
+        Rendering cached = this.rendering;
+        if (cached.isDone == isDone) {
+            return cached;
+        }
+        Rendering empty = new Rendering(isDone, null, null, null);
+        Task.RENDERING.compareAndSet(this, cached, empty);
+        return empty;
+    }
+
+    /**
+     * Caches strings rendered from a rendering, unless the task changed since.
+     *
+     * @param cached Rendering the strings were added to.
+     * @param rendered Rendering with the strings added.
+     */
+    private void cache(Rendering cached, Rendering rendered) {
+        if (this.isDone() == cached.isDone) {
+            Task.RENDERING.compareAndSet(this, cached, rendered);
+        }
+    }
+
+    /**
+     * Converts the task to a string, which is cached until the task changes.
      *
      * @return The string representation of the task.
      */
     @Override
     public String toString() {
-        String status = this.getStatusIcon();
-        return String.format("[%s] %s", status, this.description);
+        Rendering cached = this.getRendering();
+        String string = cached.displayString;
+        if (string == null) {
+            string = this.renderString();
+            this.cache(cached, new Rendering(cached.isDone, string, cached.fileFormatString, cached.fileFormatBytes));
+        }
+        return string;
+    }
+
+    /**
+     * Renders the string representation of the task.
+     *
+     * @return The string representation of the task.
+     */
+    protected String renderString() {
+        return "[" + this.getStatusIcon() + "] " + this.description;
     }
 
     /**
-     * Converts the task to a string with the format of the file in hard disk.
+     * Converts the task to a string with the format of the file in hard disk, which is cached until the task
+     * changes.
      *
      * @return String representation of the task in the file's format.
      */
     public String toFileFormatString() {
-        return String.format("%s / %s\n", this.isDone ? "1" : "0", this.description);
+        Rendering cached = this.getRendering();
+        String string = cached.fileFormatString;
+        if (string == null) {
+            string = this.renderFileFormatString();
+            this.cache(cached, new Rendering(cached.isDone, cached.displayString, string, cached.fileFormatBytes));
+        }
+        return string;
+    }
+
+    /**
+     * Returns the file format of the task encoded in UTF-8, which is cached until the task changes. The returned
+     * array is shared and must not be modified.
+     *
+     * @return Bytes of the task in the file's format.
+     */
+    public byte[] toFileFormatBytes() {
+        Rendering cached = this.getRendering();
+        byte[] bytes = cached.fileFormatBytes;
+        if (bytes == null) {
+            String string = cached.fileFormatString != null ? cached.fileFormatString : this.renderFileFormatString();
+            bytes = string.getBytes(StandardCharsets.UTF_8);
+            this.cache(cached, new Rendering(cached.isDone, cached.displayString, string, bytes));
+        }
+        return bytes;
+    }
+
+    /**
+     * Renders the task in the format of the file in hard disk.
+     *
+     * @return String representation of the task in the file's format.
+     */
+    protected String renderFileFormatString() {
+        return (this.isDone() ? "1 / " : "0 / ") + this.description + this.getFileFormatId() + "\n";
+    }
+
+    /**
+     * Returns the ID of the task as the last field of its file format, which is empty if the task has no ID.
+     *
+     * @return The ID field of the task in the file's format.
+     */
+    protected String getFileFormatId() {
+        return this.id > 0 ? " / #" + this.id : "";
     }
 
     /**
@@ -14,22 +14,22 @@ public class ToDo extends Task {
     }
 
     /**
-     * Converts the task to string.
+     * Renders the task as a string.
      *
      * @return String representation of the task.
      */
     @Override
-    public String toString() {
-        return "[T]" + super.toString();
+    protected String renderString() {
+        return "[T]" + super.renderString();
     }
 
     /**
-     * Converts the task to a string with the format of the file in hard disk.
+     * Renders the task in the format of the file in hard disk.
      *
      * @return String representation of the task in the file's format.
      */
     @Override
-    public String toFileFormatString() {
-        return String.format("T / %s / %s\n", this.isDone ? "1" : "0", this.description);
+    protected String renderFileFormatString() {
+        return "T / " + super.renderFileFormatString();
     }
 }
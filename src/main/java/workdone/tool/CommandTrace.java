@@ -0,0 +1,188 @@
+package workdone.tool;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Represents a trace of the commands received by WorkDone, which can be replayed by {@link TraceReplayer}.
+ *
+ * <p>Commands are recorded when the system property `workdone.trace` is set to the path of the trace file. Each
+ * line of the trace holds the milliseconds since recording started, the session which sent the command and the
+ * command, separated by tabs. Each parser is one session, so that undo is replayed per session.
+ */
+public class CommandTrace {
+    /** System property giving the path of the trace file */
+    public static final String TRACE_PROPERTY = "workdone.trace";
+    /** Recorder of this process, null if commands are not recorded */
+    private static final CommandTrace RECORDER = CommandTrace.fromSystemProperties();
+
+    /** Output of the trace file */
+    private final BufferedWriter output;
+    /** Time recording started, in nanoseconds */
+    private final long start;
+    /** Session number of each session recorded, by its parser */
+    private final Map<Object, Integer> sessions;
+    /** Number of sessions recorded so far, which numbers the next session */
+    private int numOfSessions;
+
+    /**
+     * Constructor of the class `CommandTrace`, which starts recording to a file.
+     *
+     * @param file Path of the trace file, which is replaced if it exists.
+     * @throws IOException If the file cannot be created.
+     */
+    public CommandTrace(Path file) throws IOException {
+        if (file.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+        this.output = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        this.start = System.nanoTime();
+        this.sessions = new WeakHashMap<>();
+    }
+
+    /**
+     * Returns the recorder set by the system property, which writes the trace out when the process exits.
+     *
+     * @return The recorder, or null if commands are not recorded.
+     */
+    private static CommandTrace fromSystemProperties() {
+        String path = System.getProperty(CommandTrace.TRACE_PROPERTY);
+        if (path == null) {
+            return null;
+        }
+        try {
+            CommandTrace trace = new CommandTrace(Paths.get(path));
+            Runtime.getRuntime().addShutdownHook(new Thread(trace::close));
+            return trace;
+        } catch (IOException ioException) {
+            System.err.println("☹ OOPS!!! The command trace cannot be written to " + path);
+            return null;
+        }
+    }
+
+    /**
+     * Records a command if the system property turns recording on. Does nothing otherwise.
+     *
+     * @param session Object identifying the session, usually its parser.
+     * @param command The command received.
+     */
+    public static void recordIfEnabled(Object session, String command) {
+        if (CommandTrace.RECORDER != null) {
+            CommandTrace.RECORDER.record(session, command);
+        }
+    }
+
+    /**
+     * Records a command.
+     *
+     * @param session Object identifying the session, usually its parser.
+     * @param command The command received.
+     */
+    public synchronized void record(Object session, String command) {
+        long millis = (System.nanoTime() - this.start) / 1_000_000;
+        int sessionNo = this.sessions.computeIfAbsent(session, key -> this.numOfSessions++);
+        try {
+            // A command is one line, so line breaks in it are replaced.
+            this.output.write(millis + "\t" + sessionNo + "\t" + command.replace('\n', ' ').replace('\r', ' '));
+            this.output.newLine();
+        } catch (IOException ioException) {
+            // A trace missing a command is still useful, so recording carries on.
+        }
+    }
+
+    /**
+     * Writes the trace out and closes the file.
+     */
+    public synchronized void close() {
+        try {
+            this.output.close();
+        } catch (IOException ioException) {
+            // nothing more can be recorded anyway
+        }
+    }
+
+    /**
+     * Represents a command in a trace.
+     */
+    public static class Entry {
+        /** Milliseconds since recording started */
+        private final long time;
+        /** Session which sent the command */
+        private final int session;
+        /** The command */
+        private final String command;
+
+        /**
+         * Constructor of the class `Entry`.
+         *
+         * @param time Milliseconds since recording started.
+         * @param session Session which sent the command.
+         * @param command The command.
+         */
+        public Entry(long time, int session, String command) {
+            this.time = time;
+            this.session = session;
+            this.command = command;
+        }
+
+        /**
+         * Returns the time the command was sent.
+         *
+         * @return Milliseconds since recording started.
+         */
+        public long getTime() {
+            return this.time;
+        }
+
+        /**
+         * Returns the session which sent the command.
+         *
+         * @return Session number.
+         */
+        public int getSession() {
+            return this.session;
+        }
+
+        /**
+         * Returns the command.
+         *
+         * @return The command.
+         */
+        public String getCommand() {
+            return this.command;
+        }
+    }
+
+    /**
+     * Reads a trace. A line without tabs is a command of session 0 sent at time 0, so that the input files of the
+     * text UI tests can be replayed as traces as well.
+     *
+     * @param file Path of the trace file.
+     * @return The commands of the trace, in order.
+     * @throws IOException If the file cannot be read.
+     */
+    public static List<Entry> read(Path file) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String[] fields = line.split("\t", 3);
+            try {
+                if (fields.length == 3) {
+                    entries.add(new Entry(Long.parseLong(fields[0]), Integer.parseInt(fields[1]), fields[2]));
+                    continue;
+                }
+            } catch (NumberFormatException numberFormatException) {
+                // not a recorded line, so it is a plain command
+            }
+            entries.add(new Entry(0, 0, line));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,149 @@
+package workdone.tool;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import workdone.data.ObjectTaskList;
+import workdone.data.Storage;
+import workdone.data.StorageConfig;
+import workdone.data.TaskList;
+import workdone.task.Deadline;
+import workdone.task.Event;
+import workdone.task.Task;
+import workdone.task.ToDo;
+
+/**
+ * Represents a generator of large task files with a given mix of tasks, for sizing deployments and load tests.
+ *
+ * <p>The mix is given as the weights of todos, deadlines and events, e.g. `60:25:15`. Descriptions are drawn from
+ * a small vocabulary, so that `find` commands have matches, and times are spread over one year. The file is written
+ * in the format set by the system property `workdone.format`.
+ */
+public class TaskFileGenerator {
+    /** Words the descriptions are made of */
+    private static final String[] WORDS = {"read", "book", "return", "submit", "report", "project", "meeting",
+        "review", "call", "email", "plan", "team", "lecture", "tutorial", "lab", "quiz", "buy", "groceries"};
+    /** Time of the earliest deadline or event */
+    private static final LocalDateTime START = LocalDateTime.of(2021, 1, 1, 0, 0);
+    /** Number of minutes the times are spread over */
+    private static final int MINUTES_PER_YEAR = 365 * 24 * 60;
+
+    /** Weights of todos, deadlines and events */
+    private final int[] weights;
+    /** Fraction of tasks which are done */
+    private final double doneRatio;
+    private final Random random;
+
+    /**
+     * Constructor of the class `TaskFileGenerator`.
+     *
+     * @param mix Weights of todos, deadlines and events, separated by colons.
+     * @param doneRatio Fraction of tasks which are done, between 0 and 1.
+     * @param seed Seed of the random numbers, so that the same file can be generated again.
+     */
+    public TaskFileGenerator(String mix, double doneRatio, long seed) {
+        String[] parts = mix.split(":");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("The mix has the form todos:deadlines:events, e.g. 60:25:15");
+        }
+        this.weights = new int[3];
+        for (int i = 0; i < 3; i++) {
+            this.weights[i] = Integer.parseInt(parts[i].trim());
+            if (this.weights[i] < 0) {
+                throw new IllegalArgumentException("The weights of the mix cannot be negative");
+            }
+        }
+        if (this.weights[0] + this.weights[1] + this.weights[2] == 0) {
+            throw new IllegalArgumentException("The mix needs at least one positive weight");
+        }
+        if (doneRatio < 0 || doneRatio > 1) {
+            throw new IllegalArgumentException("The done ratio is between 0 and 1");
+        }
+        this.doneRatio = doneRatio;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Returns a random description of two to five words.
+     *
+     * @return The description.
+     */
+    private String nextDescription() {
+        int numOfWords = 2 + this.random.nextInt(4);
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < numOfWords; i++) {
+            if (i > 0) {
+                description.append(' ');
+            }
+            description.append(TaskFileGenerator.WORDS[this.random.nextInt(TaskFileGenerator.WORDS.length)]);
+        }
+        return description.toString();
+    }
+
+    /**
+     * Returns a random task following the mix.
+     *
+     * @return The task.
+     */
+    public Task nextTask() {
+        int pick = this.random.nextInt(this.weights[0] + this.weights[1] + this.weights[2]);
+        LocalDateTime time = TaskFileGenerator.START.plusMinutes(
+                this.random.nextInt(TaskFileGenerator.MINUTES_PER_YEAR));
+        Task task;
+        if (pick < this.weights[0]) {
+            task = new ToDo(this.nextDescription());
+        } else if (pick < this.weights[0] + this.weights[1]) {
+            task = new Deadline(this.nextDescription(), time);
+        } else {
+            task = new Event(this.nextDescription(), time, time.plusMinutes(30 + this.random.nextInt(180)));
+        }
+        if (this.random.nextDouble() < this.doneRatio) {
+            task.setDone();
+        }
+        return task;
+    }
+
+    /**
+     * Writes a task file, replacing any file at the path.
+     *
+     * @param file Path of the task file.
+     * @param numOfTasks Number of tasks in the file.
+     * @throws IOException If the old file cannot be deleted.
+     */
+    public void generate(Path file, int numOfTasks) throws IOException {
+        TaskList tasks = new ObjectTaskList();
+        for (int i = 0; i < numOfTasks; i++) {
+            tasks.addTask(this.nextTask());
+        }
+        // Without a file to load, the storage keeps the tasks given and writes them all in one snapshot.
+        Files.deleteIfExists(file);
+        Storage storage = new Storage(file, tasks, StorageConfig.fromSystemProperties());
+        storage.rewriteFile();
+        storage.close();
+    }
+
+    /**
+     * Generates a task file.
+     *
+     * @param args Path of the file, number of tasks, mix, done ratio and seed, in this order.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = args.length > 0
+                ? Paths.get(args[0])
+                : Paths.get(System.getProperty("user.dir"), "data", "tasks.txt");
+        int numOfTasks = args.length > 1 ? Integer.parseInt(args[1]) : 100000;
+        String mix = args.length > 2 ? args[2] : "60:25:15";
+        double doneRatio = args.length > 3 ? Double.parseDouble(args[3]) : 0.3;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 42;
+
+        long start = System.nanoTime();
+        new TaskFileGenerator(mix, doneRatio, seed).generate(file, numOfTasks);
+        System.out.printf("Generated %d tasks (mix %s, %.0f%% done) in %s in %.2f s%n", numOfTasks, mix,
+                doneRatio * 100, file, (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,191 @@
+package workdone.tool;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+import workdone.WorkDone;
+import workdone.ui.Parser;
+
+/**
+ * Represents a tool replaying a command trace headlessly against a copy of a task file, and reporting the throughput
+ * and latency of the commands.
+ *
+ * <p>Commands are sent on a schedule, either at the times they were recorded or at a target rate, whether or not
+ * earlier commands have been answered. The latency of a command is measured from the time it was due, so that a
+ * slow command also counts against the commands queued behind it. Each session of the trace is replayed on its own
+ * thread with its own parser, and all sessions share the tasks.
+ */
+public class TraceReplayer {
+    /** The commands to be replayed */
+    private final List<CommandTrace.Entry> entries;
+    /** Commands per second, or 0 to replay the commands at the times they were recorded */
+    private final double rate;
+
+    /**
+     * Constructor of the class `TraceReplayer`.
+     *
+     * @param entries The commands to be replayed.
+     * @param rate Commands per second, or 0 to replay the commands at the times they were recorded.
+     */
+    public TraceReplayer(List<CommandTrace.Entry> entries, double rate) {
+        this.entries = entries;
+        this.rate = rate;
+    }
+
+    /**
+     * Represents the outcome of a replay.
+     */
+    public static class Report {
+        /** Latency of each command in nanoseconds, in ascending order */
+        private final long[] sortedLatencies;
+        /** Time taken by the replay in nanoseconds */
+        private final long elapsed;
+
+        /**
+         * Constructor of the class `Report`.
+         *
+         * @param latencies Latency of each command in nanoseconds.
+         * @param elapsed Time taken by the replay in nanoseconds.
+         */
+        Report(long[] latencies, long elapsed) {
+            this.sortedLatencies = latencies.clone();
+            Arrays.sort(this.sortedLatencies);
+            this.elapsed = elapsed;
+        }
+
+        /**
+         * Returns the number of commands replayed.
+         *
+         * @return Number of commands.
+         */
+        public int getNumOfCommands() {
+            return this.sortedLatencies.length;
+        }
+
+        /**
+         * Returns the number of commands answered per second.
+         *
+         * @return Throughput of the replay.
+         */
+        public double getThroughput() {
+            return this.sortedLatencies.length / (this.elapsed / 1e9);
+        }
+
+        /**
+         * Returns the latency at a percentile.
+         *
+         * @param percentile Percentile between 0 and 100.
+         * @return Latency at the percentile in microseconds.
+         */
+        public long getPercentile(double percentile) {
+            if (this.sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * this.sortedLatencies.length) - 1;
+            return this.sortedLatencies[Math.max(index, 0)] / 1000;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d commands in %.2f s%n", this.sortedLatencies.length, this.elapsed / 1e9)
+                    + String.format("throughput: %.0f commands/s%n", this.getThroughput())
+                    + String.format("latency (us): p50 %d, p90 %d, p99 %d, p99.9 %d, max %d%n",
+                    this.getPercentile(50), this.getPercentile(90), this.getPercentile(99),
+                    this.getPercentile(99.9), this.getPercentile(100));
+        }
+    }
+
+    /**
+     * Returns the time a command is due, relative to the start of the replay.
+     *
+     * @param index Position of the command in the trace.
+     * @return Nanoseconds since the start of the replay.
+     */
+    private long getDueTime(int index) {
+        return this.rate > 0
+                ? (long) (index * 1e9 / this.rate)
+                : TimeUnit.MILLISECONDS.toNanos(this.entries.get(index).getTime());
+    }
+
+    /**
+     * Replays the trace against a program.
+     *
+     * @param workDone The program receiving the commands.
+     * @return Report of the replay.
+     * @throws Exception If a session fails.
+     */
+    public Report replay(WorkDone workDone) throws Exception {
+        // Positions of the commands of each session, in order
+        TreeMap<Integer, List<Integer>> sessions = new TreeMap<>();
+        for (int i = 0; i < this.entries.size(); i++) {
+            sessions.computeIfAbsent(this.entries.get(i).getSession(), session -> new ArrayList<>()).add(i);
+        }
+        long[] latencies = new long[this.entries.size()];
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(sessions.size(), 1));
+        long start = System.nanoTime();
+        List<Future<?>> results = new ArrayList<>();
+        for (List<Integer> session : sessions.values()) {
+            results.add(executor.submit(() -> {
+                Parser parser = new Parser();
+                for (int index : session) {
+                    long due = start + this.getDueTime(index);
+                    for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    workDone.getResponse(parser, this.entries.get(index).getCommand());
+                    latencies[index] = System.nanoTime() - due;
+                }
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+        return new Report(latencies, elapsed);
+    }
+
+    /**
+     * Replays a trace against a copy of a task file and prints a report. The task file itself is left unchanged.
+     *
+     * @param args Path of the trace, path of the task file to start from (or `-` for no tasks) and commands per
+     *     second (or 0 for the recorded times), in this order.
+     * @throws Exception If the files cannot be read or a session fails.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.out.println("Usage: TraceReplayer <trace> [<task file> | -] [<commands per second>]");
+            return;
+        }
+        List<CommandTrace.Entry> entries = CommandTrace.read(Paths.get(args[0]));
+        double rate = args.length > 2 ? Double.parseDouble(args[2]) : 0;
+
+        Path directory = Files.createTempDirectory("workdone-replay");
+        Path taskFile = directory.resolve("tasks.txt");
+        if (args.length > 1 && !args[1].equals("-")) {
+            Files.copy(Paths.get(args[1]), taskFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+        WorkDone workDone = new WorkDone(taskFile);
+        try {
+            System.out.print(new TraceReplayer(entries, rate).replay(workDone));
+        } finally {
+            workDone.close();
+            try (Stream<Path> paths = Files.walk(directory)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package workdone.ui;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javafx.collections.ObservableListBase;
+
+/**
+ * Represents the messages of a conversation, as the items of the dialog list. Only the latest messages are kept
+ * in memory. If the history spills to disk, every message is also appended to a spill file, and older messages are
+ * read back from the file when they are scrolled to. Otherwise older messages are dropped.
+ *
+ * <p>The history is used on the JavaFX application thread only.
+ */
+public class ConversationHistory extends ObservableListBase<DialogMessage> {
+    /** Number of messages kept in memory if none is given */
+    public static final int DEFAULT_CAPACITY = 200;
+
+    /** Maximum number of latest messages kept in memory, and of older messages read back */
+    private final int capacity;
+    /** Latest messages, in order */
+    private final List<DialogMessage> latestMessages;
+    /** File holding all messages, null if older messages are dropped */
+    private final RandomAccessFile spillFile;
+    /** Offset of each message in the spill file */
+    private long[] offsets;
+    /** Number of messages in the history */
+    private int size;
+    /** Older messages read back from the spill file, least recently used first */
+    private final Map<Integer, DialogMessage> olderMessages;
+
+    /**
+     * Constructor of the class `ConversationHistory`.
+     *
+     * @param capacity Maximum number of messages kept in memory.
+     * @param isSpilled Whether messages are spilled to disk, so that older messages can be scrolled back to.
+     */
+    public ConversationHistory(int capacity, boolean isSpilled) {
+        this.capacity = capacity;
+        this.latestMessages = new ArrayList<>(capacity + 1);
+        this.spillFile = isSpilled ? ConversationHistory.createSpillFile() : null;
+        this.offsets = new long[capacity];
+        this.olderMessages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, DialogMessage> eldest) {
+                return this.size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Creates a spill file which is deleted when the program exits.
+     *
+     * @return The spill file, or null if it cannot be created.
+     */
+    private static RandomAccessFile createSpillFile() {
+        try {
+            File file = File.createTempFile("workdone-history", ".bin");
+            file.deleteOnExit();
+            return new RandomAccessFile(file, "rw");
+        } catch (IOException ioException) {
+            return null;
+        }
+    }
+
+    /**
+     * Appends a message to the end of the history.
+     *
+     * @param message The message to be appended.
+     */
+    public void append(DialogMessage message) {
+        beginChange();
+        if (this.spillFile != null) {
+            this.spill(message);
+        }
+        this.latestMessages.add(message);
+        this.size++;
+        nextAdd(this.size - 1, this.size);
+        if (this.latestMessages.size() > this.capacity) {
+            DialogMessage oldestMessage = this.latestMessages.remove(0);
+            if (this.spillFile == null) {
+                // The message is dropped, so the history shrinks from the front.
+                this.size--;
+                nextRemove(0, oldestMessage);
+            }
+        }
+        endChange();
+    }
+
+    /**
+     * Appends a message to the spill file.
+     *
+     * @param message The message to be spilled.
+     */
+    private void spill(DialogMessage message) {
+        if (this.size == this.offsets.length) {
+            this.offsets = Arrays.copyOf(this.offsets, this.offsets.length * 2);
+        }
+        try {
+            byte[] text = message.getText().getBytes(StandardCharsets.UTF_8);
+            long offset = this.spillFile.length();
+            this.spillFile.seek(offset);
+            this.spillFile.writeByte(message.getType().ordinal());
+            this.spillFile.writeInt(text.length);
+            this.spillFile.write(text);
+            this.offsets[this.size] = offset;
+        } catch (IOException ioException) {
+            this.offsets[this.size] = -1;
+        }
+    }
+
+    /**
+     * Reads a message back from the spill file.
+     *
+     * @param index Index of the message in the history.
+     * @return The message read.
+     */
+    private DialogMessage readBack(int index) {
+        try {
+            if (this.offsets[index] < 0) {
+                throw new IOException("Message was not spilled");
+            }
+            this.spillFile.seek(this.offsets[index]);
+            DialogMessage.Type type = DialogMessage.Type.values()[this.spillFile.readByte()];
+            byte[] text = new byte[this.spillFile.readInt()];
+            this.spillFile.readFully(text);
+            return new DialogMessage(type, new String(text, StandardCharsets.UTF_8));
+        } catch (IOException ioException) {
+            return new DialogMessage(DialogMessage.Type.ERROR, "☹ OOPS!!! This message cannot be loaded.");
+        }
+    }
+
+    @Override
+    public DialogMessage get(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int firstLatestIndex = this.size - this.latestMessages.size();
+        if (index >= firstLatestIndex) {
+            return this.latestMessages.get(index - firstLatestIndex);
+        }
+        return this.olderMessages.computeIfAbsent(index, this::readBack);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+}
@@ -1,15 +1,7 @@
 package workdone.ui;
 
-import java.io.IOException;
-import java.util.Collections;
-
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -17,113 +9,95 @@ import javafx.scene.layout.Background;
 import javafx.scene.layout.BackgroundFill;
 import javafx.scene.layout.CornerRadii;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
+import javafx.scene.paint.CycleMethod;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.Paint;
+import javafx.scene.paint.Stop;
 import javafx.scene.shape.Circle;
+import javafx.scene.text.Font;
 
 /**
- * An example of a custom control using FXML.
- * This control represents a dialog box consisting of an ImageView to represent the speaker's face and a label
- * containing text from the speaker.
+ * A custom control representing a dialog box consisting of an ImageView to represent the speaker's face and a
+ * label containing text from the speaker. A dialog box is reused by the dialog list to show one message after
+ * another.
+ *
+ * <p>The control is built in code rather than loaded from FXML, and all dialog boxes share the same immutable
+ * fonts, colors, backgrounds and insets.
  */
 public class DialogBox extends HBox {
-    @FXML
-    private Label dialog;
-    @FXML
-    private ImageView displayPicture;
-
-    /**
-     * Constructor of the class `DialogBox`.
-     *
-     * @param text Text to be displayed.
-     * @param img Avatar of WorkDone or the user.
-     */
-    private DialogBox(String text, Image img) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        dialog.setText(text);
-        displayPicture.setImage(img);
-        Circle clip = new Circle(40, 40, 40);
-        displayPicture.setClip(clip);
-    }
+    /** Size of the avatar */
+    private static final double PICTURE_SIZE = 80;
+    /** Font of the text */
+    private static final Font FONT = Font.font("Avenir Book", 14);
+    /** Text color of the user's messages and WorkDone's replies */
+    private static final Paint DEFAULT_TEXT_FILL = new LinearGradient(1, 0, 1, 1, true, CycleMethod.NO_CYCLE,
+            new Stop(0, Color.color(0.0784313753247261, 0.3333333432674408, 0.48235294222831726)),
+            new Stop(1, Color.color(0.49803921580314636, 0.8078431487083435, 0.772549033164978)));
+    /** Text color of error messages */
+    private static final Color ERROR_TEXT_COLOR = new Color(0.74117647, 0.309803921, 0.423529411, 1);
+    /** Background of WorkDone's replies */
+    private static final Background RESPONSE_BACKGROUND = new Background(new BackgroundFill(
+            new Color(0.125490196, 0.870588235, 0.82745098, 0.1), new CornerRadii(10), new Insets(0, 10, 0, 10)));
+    /** Background of error messages */
+    private static final Background ERROR_BACKGROUND = new Background(new BackgroundFill(
+            new Color(1, 0.572549019, 0.545098039, 0.2), new CornerRadii(10), new Insets(0, 10, 0, 10)));
+    /** Space around the text */
+    private static final Insets DIALOG_PADDING = new Insets(10, 30, 10, 30);
+    /** Space around the dialog box */
+    private static final Insets BOX_PADDING = new Insets(15, 5, 15, 5);
 
-    private DialogBox(String text, Image img, Color color, Background background) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        dialog.setText(text);
-        if (color != null) {
-            dialog.setTextFill(color);
-        }
-        dialog.setBackground(background);
-        displayPicture.setImage(img);
-        Circle clip = new Circle(40, 40, 40);
-        displayPicture.setClip(clip);
-    }
+    private final Label dialog;
+    private final ImageView displayPicture;
 
     /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
+     * Constructor of the class `DialogBox`.
      */
-    private void flip() {
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        Collections.reverse(tmp);
-        getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
-    }
+    public DialogBox() {
+        dialog = new Label();
+        dialog.setWrapText(true);
+        dialog.setMinHeight(Region.USE_PREF_SIZE);
+        dialog.setMaxHeight(Double.MAX_VALUE);
+        dialog.setPadding(DialogBox.DIALOG_PADDING);
+        dialog.setFont(DialogBox.FONT);
 
-    /**
-     * Creates and returns a user dialog.
-     *
-     * @param text Command received.
-     * @param img Avatar of the user.
-     * @return DialogBox of the user.
-     */
-    public static DialogBox getUserDialog(String text, Image img) {
-        return new DialogBox(text, img);
-    }
+        displayPicture = new ImageView();
+        displayPicture.setFitWidth(DialogBox.PICTURE_SIZE);
+        displayPicture.setFitHeight(DialogBox.PICTURE_SIZE);
+        displayPicture.setPickOnBounds(true);
+        displayPicture.setPreserveRatio(true);
+        // A clip is a node, so every dialog box needs its own.
+        double radius = DialogBox.PICTURE_SIZE / 2;
+        displayPicture.setClip(new Circle(radius, radius, radius));
 
-    /**
-     * Creates and returns a WorkDone dialog.
-     *
-     * @param text Response generated from a command.
-     * @param img Avatar of WorkDone.
-     * @return DialogBox of WorkDone.
-     */
-    public static DialogBox getWorkDoneDialog(String text, Image img) {
-        Color backgroundColor = new Color(0.125490196, 0.870588235, 0.82745098, 0.1);
-        Background background = new Background(new BackgroundFill(
-                backgroundColor, new CornerRadii(10), new Insets(0, 10, 0, 10)));
-        var db = new DialogBox(text, img, null, background);
-        db.flip();
-        return db;
+        setPadding(DialogBox.BOX_PADDING);
     }
 
     /**
-     * Creates and returns a dialog with error message.
+     * Shows a message in the dialog box. The user's messages have the avatar on the right, while WorkDone's
+     * messages have it on the left.
      *
-     * @param text Error message generated from a command.
-     * @param img Avatar of WorkDone.
-     * @return DialogBox showing Error.
+     * @param message Message to be shown.
+     * @param img Avatar of WorkDone or the user.
      */
-    public static DialogBox getErrorDialog(String text, Image img) {
-        Color textColor = new Color(0.74117647, 0.309803921, 0.423529411, 1);
-        Color backgroundColor = new Color(1, 0.572549019, 0.545098039, 0.2);
-        Background background = new Background(new BackgroundFill(
-                backgroundColor, new CornerRadii(10), new Insets(0, 10, 0, 10)));
-        var db = new DialogBox(text, img, textColor, background);
-        db.flip();
-        return db;
+    public void setMessage(DialogMessage message, Image img) {
+        dialog.setText(message.getText());
+        displayPicture.setImage(img);
+        dialog.setTextFill(message.getType() == DialogMessage.Type.ERROR
+                ? DialogBox.ERROR_TEXT_COLOR
+                : DialogBox.DEFAULT_TEXT_FILL);
+        dialog.setBackground(message.getType() == DialogMessage.Type.USER
+                ? null
+                : message.getType() == DialogMessage.Type.ERROR
+                ? DialogBox.ERROR_BACKGROUND
+                : DialogBox.RESPONSE_BACKGROUND);
+        if (message.getType() == DialogMessage.Type.USER) {
+            getChildren().setAll(dialog, displayPicture);
+            setAlignment(Pos.TOP_RIGHT);
+        } else {
+            getChildren().setAll(displayPicture, dialog);
+            setAlignment(Pos.TOP_LEFT);
+        }
     }
 }
@@ -0,0 +1,52 @@
+package workdone.ui;
+
+import javafx.scene.control.ListCell;
+import javafx.scene.image.Image;
+import workdone.metrics.DialogRenderEvent;
+
+/**
+ * Represents a cell of the dialog list. The dialog list only creates cells for the messages on screen, and each
+ * cell keeps one dialog box to show whichever message it is given.
+ */
+public class DialogCell extends ListCell<DialogMessage> {
+    /** Dialog box showing the message of the cell */
+    private final DialogBox dialogBox;
+    /** Avatar of the user */
+    private final Image userImage;
+    /** Avatar of WorkDone */
+    private final Image workDoneImage;
+
+    /**
+     * Constructor of the class `DialogCell`.
+     *
+     * @param userImage Avatar of the user.
+     * @param workDoneImage Avatar of WorkDone.
+     */
+    public DialogCell(Image userImage, Image workDoneImage) {
+        this.dialogBox = new DialogBox();
+        this.userImage = userImage;
+        this.workDoneImage = workDoneImage;
+        // Let the dialog box wrap its text to the width of the list instead of widening the cell.
+        this.setPrefWidth(0);
+        this.setStyle("-fx-background-color: transparent; -fx-padding: 0;");
+    }
+
+    @Override
+    protected void updateItem(DialogMessage message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        if (isEmpty || message == null) {
+            this.setGraphic(null);
+            return;
+        }
+        DialogRenderEvent event = new DialogRenderEvent();
+        event.begin();
+        this.dialogBox.setMessage(message,
+                message.getType() == DialogMessage.Type.USER ? this.userImage : this.workDoneImage);
+        this.setGraphic(this.dialogBox);
+        if (event.shouldCommit()) {
+            event.setMessageType(message.getType().name());
+            event.setTextLength(message.getText().length());
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package workdone.ui;
+
+/**
+ * Represents a message in the conversation between the user and WorkDone.
+ */
+public class DialogMessage {
+    /**
+     * Types of messages, which decide how a message is displayed.
+     */
+    public enum Type {
+        USER, RESPONSE, ERROR
+    }
+
+    /** Type of the message */
+    private final Type type;
+    /** Text of the message */
+    private final String text;
+
+    /**
+     * Constructor of the class `DialogMessage`.
+     *
+     * @param type Type of the message.
+     * @param text Text of the message.
+     */
+    public DialogMessage(Type type, String text) {
+        this.type = type;
+        this.text = text;
+    }
+
+    /**
+     * Returns a message replying to a command, which is an error message if the reply reports an error.
+     *
+     * @param response WorkDone's reply to a command.
+     * @return Message showing the reply.
+     */
+    public static DialogMessage ofResponse(String response) {
+        return new DialogMessage(response.contains("☹") ? Type.ERROR : Type.RESPONSE, response);
+    }
+
+    /**
+     * Returns the type of the message.
+     *
+     * @return Type of the message.
+     */
+    public Type getType() {
+        return this.type;
+    }
+
+    /**
+     * Returns the text of the message.
+     *
+     * @return Text of the message.
+     */
+    public String getText() {
+        return this.text;
+    }
+}
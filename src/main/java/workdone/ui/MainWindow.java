@@ -2,56 +2,175 @@ package workdone.ui;
 
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleConsumer;
+import java.util.function.Function;
 
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
+import javafx.util.Duration;
 import workdone.WorkDone;
 
 /**
  * Controller for MainWindow. Provides the layout for the other controls.
+ *
+ * <p>Commands are executed one at a time on a background thread, so that reading and writing the task file never
+ * freezes the window. Responses are shown on the JavaFX application thread in the order the commands were sent.
+ *
+ * <p>The tasks are loaded on the same background thread before any command, so the window is shown at once and
+ * commands sent during loading wait until the tasks are ready. The pending indicator shows the progress of loading.
+ * If the tasks cannot be loaded, the error is shown in the conversation and every command is answered with it.
+ *
+ * <p>The conversation is shown in a virtualized list, which only has nodes for the messages on screen. The number
+ * of messages kept in memory is set by the system property `workdone.history.size`, and older messages are spilled
+ * to disk unless `workdone.history.spill` is false.
  */
 public class MainWindow extends AnchorPane {
+    /** Time a command may take before the pending indicator is shown */
+    private static final Duration PENDING_DELAY = Duration.millis(150);
+    /** Reply to the commands sent when the tasks could not be loaded */
+    private static final String NOT_LOADED_MESSAGE =
+            "☹ OOPS!!! The tasks could not be loaded, so the command was not run. Please restart WorkDone.";
+
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<DialogMessage> dialogList;
     @FXML
     private TextField userInput;
+    @FXML
+    private ProgressIndicator pendingIndicator;
 
+    /** The program, only used on the command thread once it has been loaded there, null if loading failed */
     private WorkDone workDone;
 
-    private final Image userImage = new Image(this.getClass().getResourceAsStream("/images/DaUser.png"));
-    private final Image workDoneImage = new Image(this.getClass().getResourceAsStream("/images/DaDuke.png"));
+    /** Messages of the conversation */
+    private final ConversationHistory history = new ConversationHistory(
+            Integer.getInteger("workdone.history.size", ConversationHistory.DEFAULT_CAPACITY),
+            Boolean.parseBoolean(System.getProperty("workdone.history.spill", "true")));
+
+    /** Thread executing the commands in the order they are sent */
+    private final ExecutorService commandExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "workdone-commands");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** Shows the pending indicator once a command has run for a while */
+    private final PauseTransition pendingTimer = new PauseTransition(PENDING_DELAY);
+    /** Number of commands sent but not answered yet, only used on the JavaFX application thread */
+    private int numOfPendingCommands;
 
+    // Images are loaded in the background, so that they don't delay the window.
+    private final Image userImage = new Image(this.getClass().getResource("/images/DaUser.png").toExternalForm(), true);
+    private final Image workDoneImage = new Image(this.getClass().getResource("/images/DaDuke.png").toExternalForm(),
+            true);
+
+    /**
+     * Shows the conversation in the dialog list, and prepares the pending indicator.
+     */
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        dialogList.setItems(history);
+        dialogList.setCellFactory(listView -> new DialogCell(userImage, workDoneImage));
+        pendingTimer.setOnFinished(event -> pendingIndicator.setVisible(numOfPendingCommands > 0));
     }
 
-    public void setWorkDone(WorkDone d) {
-        workDone = d;
+    /**
+     * Loads the program in the background, ahead of any command sent, and shows the progress of loading in the
+     * pending indicator.
+     *
+     * @param loader Function loading the program, given a listener of the fraction of the tasks loaded.
+     */
+    public void loadWorkDone(Function<DoubleConsumer, WorkDone> loader) {
+        numOfPendingCommands++;
+        pendingIndicator.setProgress(0);
+        pendingIndicator.setVisible(true);
+        AtomicBoolean isUpdateScheduled = new AtomicBoolean();
+        AtomicLong latestProgress = new AtomicLong();
+        commandExecutor.execute(() -> {
+            try {
+                workDone = loader.apply(progress -> {
+                    // Progress may be reported very often, so at most one update waits on the application thread.
+                    latestProgress.set(Double.doubleToLongBits(progress));
+                    if (isUpdateScheduled.compareAndSet(false, true)) {
+                        Platform.runLater(() -> {
+                            isUpdateScheduled.set(false);
+                            pendingIndicator.setProgress(Double.longBitsToDouble(latestProgress.get()));
+                        });
+                    }
+                });
+                Platform.runLater(() -> finishLoading(null));
+            } catch (RuntimeException runtimeException) {
+                // Commands already queued run after this, and are answered with the error instead of the tasks.
+                String error = "☹ OOPS!!! The tasks could not be loaded: " + runtimeException.getMessage();
+                Platform.runLater(() -> finishLoading(error));
+            }
+        });
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing WorkDone's reply and then
-     * appends them to the dialog container. Clears the user input after processing.
+     * Hides the progress of loading once the program is loaded, and shows the error if it could not be loaded.
+     *
+     * @param error Message of the error, or null if the program was loaded.
+     */
+    private void finishLoading(String error) {
+        pendingIndicator.setProgress(ProgressIndicator.INDETERMINATE_PROGRESS);
+        if (--numOfPendingCommands == 0) {
+            pendingIndicator.setVisible(false);
+        }
+        if (error != null) {
+            showMessage(DialogMessage.ofResponse(error));
+        }
+    }
+
+    /**
+     * Appends two messages to the conversation, one echoing user input and the other containing WorkDone's reply.
+     * Clears the user input after processing. The reply is added once the command has been executed in the
+     * background.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
-        String response = workDone.getResponse(input);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                response.contains("☹")
-                        ? DialogBox.getErrorDialog(response, workDoneImage)
-                        : DialogBox.getWorkDoneDialog(response, workDoneImage)
-        );
+        showMessage(new DialogMessage(DialogMessage.Type.USER, input));
         userInput.clear();
+        if (numOfPendingCommands++ == 0) {
+            pendingTimer.playFromStart();
+        }
+        commandExecutor.execute(() -> {
+            String response = workDone != null ? workDone.getResponse(input) : NOT_LOADED_MESSAGE;
+            Platform.runLater(() -> showResponse(input, response));
+        });
+    }
+
+    /**
+     * Appends a message to the conversation and scrolls to it.
+     *
+     * @param message The message to be shown.
+     */
+    private void showMessage(DialogMessage message) {
+        history.append(message);
+        dialogList.scrollTo(history.size() - 1);
+    }
+
+    /**
+     * Appends the reply to a command to the conversation, and exits the program if the command was `bye`.
+     *
+     * @param input The command received.
+     * @param response WorkDone's reply to the command.
+     */
+    private void showResponse(String input, String response) {
+        showMessage(DialogMessage.ofResponse(response));
+        if (--numOfPendingCommands == 0) {
+            pendingTimer.stop();
+            pendingIndicator.setVisible(false);
+        }
         if (input.equals("bye")) {
             // exit the program after 1s
             Timer timer = new Timer();
@@ -70,9 +189,7 @@ public class MainWindow extends AnchorPane {
      * Greets the user by displaying the greeting message when the gui starts running.
      */
     public void greetTheUser() {
-        String greetingMessage = workDone.getGreetingMessage();
-        dialogContainer.getChildren().add(
-                DialogBox.getWorkDoneDialog(greetingMessage, workDoneImage)
-        );
+        String greetingMessage = new Ui().getGreetingMessage();
+        showMessage(new DialogMessage(DialogMessage.Type.RESPONSE, greetingMessage));
     }
 }
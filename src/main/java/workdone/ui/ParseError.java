@@ -0,0 +1,90 @@
+package workdone.ui;
+
+import workdone.exception.InvalidCommandException;
+import workdone.exception.InvalidPageException;
+import workdone.exception.InvalidTaskNoException;
+import workdone.exception.InvalidTimeException;
+import workdone.exception.MissingCommandDetailException;
+import workdone.exception.MultipleTimeSlotsException;
+import workdone.exception.UnableToUndoException;
+import workdone.exception.WorkDoneException;
+
+/**
+ * Represents the reason a command cannot be parsed. Errors are values rather than exceptions, so that invalid
+ * commands are rejected as cheaply as valid ones are parsed, and are turned into exceptions only when reported.
+ */
+public class ParseError {
+    /**
+     * Kinds of errors, each reported by its own exception.
+     */
+    public enum Kind {
+        INVALID_COMMAND, MISSING_DETAIL, MULTIPLE_TIME_SLOTS, INVALID_TIME, INVALID_TASK_NO, INVALID_PAGE,
+        UNABLE_TO_UNDO
+    }
+
+    /** The command is unknown */
+    public static final ParseError INVALID_COMMAND = new ParseError(Kind.INVALID_COMMAND, "", "", "");
+    /** The task number is not a number */
+    public static final ParseError INVALID_TASK_NO = new ParseError(Kind.INVALID_TASK_NO, "", "", "");
+    /** The page or the page size is not a positive number */
+    public static final ParseError INVALID_PAGE = new ParseError(Kind.INVALID_PAGE, "", "", "");
+    /** There is no command to undo */
+    public static final ParseError UNABLE_TO_UNDO = new ParseError(Kind.UNABLE_TO_UNDO, "", "", "");
+
+    /** Kind of the error */
+    private final Kind kind;
+    /** Detail of the command which is missing, e.g. `description` */
+    private final String missingDetail;
+    /** Type of the task the command adds, e.g. `deadline` */
+    private final String taskType;
+    /** Format of the time of the task */
+    private final String timeFormat;
+
+    /**
+     * Constructor of the class `ParseError`.
+     *
+     * @param kind Kind of the error.
+     * @param missingDetail Detail of the command which is missing, or an empty string.
+     * @param taskType Type of the task the command adds, or an empty string.
+     * @param timeFormat Format of the time of the task, or an empty string.
+     */
+    public ParseError(Kind kind, String missingDetail, String taskType, String timeFormat) {
+        this.kind = kind;
+        this.missingDetail = missingDetail;
+        this.taskType = taskType;
+        this.timeFormat = timeFormat;
+    }
+
+    /**
+     * Returns the kind of the error.
+     *
+     * @return Kind of the error.
+     */
+    public Kind getKind() {
+        return this.kind;
+    }
+
+    /**
+     * Returns the exception reporting the error to the user.
+     *
+     * @return The exception.
+     */
+    public WorkDoneException toException() {
+        switch (this.kind) {
+        case MISSING_DETAIL:
+            return new MissingCommandDetailException(this.missingDetail, this.taskType, this.timeFormat);
+        case MULTIPLE_TIME_SLOTS:
+            return new MultipleTimeSlotsException(this.taskType);
+        case INVALID_TIME:
+            return new InvalidTimeException(this.timeFormat);
+        case INVALID_TASK_NO:
+            return new InvalidTaskNoException();
+        case INVALID_PAGE:
+            return new InvalidPageException();
+        case UNABLE_TO_UNDO:
+            return new UnableToUndoException();
+        default:
+            return new InvalidCommandException();
+        }
+    }
+}
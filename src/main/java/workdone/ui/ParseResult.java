@@ -0,0 +1,65 @@
+package workdone.ui;
+
+import workdone.command.Command;
+
+/**
+ * Represents the outcome of parsing a command, which is either the command or the reason it cannot be parsed.
+ */
+public class ParseResult {
+    /** The command parsed, null if the command cannot be parsed */
+    private final Command command;
+    /** The reason the command cannot be parsed, null if it is parsed */
+    private final ParseError error;
+
+    private ParseResult(Command command, ParseError error) {
+        this.command = command;
+        this.error = error;
+    }
+
+    /**
+     * Returns the outcome of a command which is parsed.
+     *
+     * @param command The command parsed.
+     * @return The outcome.
+     */
+    public static ParseResult of(Command command) {
+        return new ParseResult(command, null);
+    }
+
+    /**
+     * Returns the outcome of a command which cannot be parsed.
+     *
+     * @param error The reason the command cannot be parsed.
+     * @return The outcome.
+     */
+    public static ParseResult ofError(ParseError error) {
+        return new ParseResult(null, error);
+    }
+
+    /**
+     * Returns whether the command is parsed.
+     *
+     * @return Whether there is a command.
+     */
+    public boolean isSuccess() {
+        return this.command != null;
+    }
+
+    /**
+     * Returns the command parsed.
+     *
+     * @return The command, or null if it cannot be parsed.
+     */
+    public Command getCommand() {
+        return this.command;
+    }
+
+    /**
+     * Returns the reason the command cannot be parsed.
+     *
+     * @return The error, or null if the command is parsed.
+     */
+    public ParseError getError() {
+        return this.error;
+    }
+}
@@ -1,8 +1,8 @@
 package workdone.ui;
 
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Stack;
+import java.util.function.Supplier;
 
 import workdone.command.AddTaskCommand;
 import workdone.command.ClearCommand;
@@ -14,164 +14,454 @@ import workdone.command.FindTaskCommand;
 import workdone.command.GetListCommand;
 import workdone.command.HelpCommand;
 import workdone.command.SortCommand;
+import workdone.command.StatsCommand;
 import workdone.command.TaskDoneCommand;
 import workdone.command.TaskUndoneCommand;
 import workdone.command.UndoCommand;
-import workdone.exception.InvalidCommandException;
-import workdone.exception.InvalidTaskNoException;
-import workdone.exception.InvalidTimeException;
-import workdone.exception.MissingCommandDetailException;
-import workdone.exception.MultipleTimeSlotsException;
-import workdone.exception.UnableToUndoException;
 import workdone.exception.WorkDoneException;
+import workdone.metrics.CommandParseEvent;
+import workdone.metrics.Metrics;
+import workdone.task.DateTimeCodec;
 import workdone.task.Deadline;
 import workdone.task.Event;
-import workdone.task.Task;
 import workdone.task.ToDo;
 
 /**
- * Represents a parser that deals with making sense of the user command.
+ * Represents a parser that deals with making sense of the user command. Each session has its own parser, which
+ * remembers the commands that can be undone. A parser may be shared by threads.
+ *
+ * <p>A command is read in a single pass: its first word is looked up in a table of keywords, and the handler of the
+ * keyword reads the rest of the command by index, without splitting it into strings or matching regular
+ * expressions. Invalid commands are reported as {@link ParseError} values, and no exception is thrown until the
+ * error reaches {@link #parse(String)}.
  */
 public class Parser {
+    /** Format of the time of a deadline */
+    private static final String DEADLINE_TIME_FORMAT = DateTimeCodec.FILE_PATTERN;
+    /** Format of the time slot of an event */
+    private static final String EVENT_TIME_FORMAT = DateTimeCodec.FILE_PATTERN + " to " + DateTimeCodec.FILE_PATTERN;
+    /** Value of an integer which cannot be parsed */
+    private static final long INVALID_NUMBER = Long.MIN_VALUE;
 
-    private static Stack<Command> commands = new Stack<>();
+    /** Errors of commands adding deadlines and events, created once as they carry no input */
+    private static final ParseError DEADLINE_WITHOUT_DESCRIPTION = new ParseError(ParseError.Kind.MISSING_DETAIL,
+            "description", "deadline", "/by " + Parser.DEADLINE_TIME_FORMAT);
+    private static final ParseError DEADLINE_WITHOUT_TIME = new ParseError(ParseError.Kind.MISSING_DETAIL,
+            "time", "deadline", "/by " + Parser.DEADLINE_TIME_FORMAT);
+    private static final ParseError DEADLINE_WITH_MANY_TIMES = new ParseError(ParseError.Kind.MULTIPLE_TIME_SLOTS,
+            "", "deadline", "");
+    private static final ParseError DEADLINE_WITH_INVALID_TIME = new ParseError(ParseError.Kind.INVALID_TIME,
+            "", "deadline", Parser.DEADLINE_TIME_FORMAT);
+    private static final ParseError EVENT_WITHOUT_DESCRIPTION = new ParseError(ParseError.Kind.MISSING_DETAIL,
+            "description", "event", "/at " + Parser.EVENT_TIME_FORMAT);
+    private static final ParseError EVENT_WITHOUT_TIME = new ParseError(ParseError.Kind.MISSING_DETAIL,
+            "time", "event", "/at " + Parser.EVENT_TIME_FORMAT);
+    private static final ParseError EVENT_WITH_MANY_TIMES = new ParseError(ParseError.Kind.MULTIPLE_TIME_SLOTS,
+            "", "event", "");
+    private static final ParseError EVENT_WITH_INVALID_TIME = new ParseError(ParseError.Kind.INVALID_TIME,
+            "", "event", Parser.EVENT_TIME_FORMAT);
+    private static final ParseError TODO_WITHOUT_DESCRIPTION = new ParseError(ParseError.Kind.MISSING_DETAIL,
+            "description", "todo", "");
+    private static final ParseError FIND_WITHOUT_KEYWORD = new ParseError(ParseError.Kind.MISSING_DETAIL,
+            "keyword", "find", "");
+
+    /**
+     * Represents the handler of a keyword, which parses the rest of the command.
+     */
+    @FunctionalInterface
+    private interface Handler {
+        /**
+         * Parses a command starting with the keyword.
+         *
+         * @param parser Parser of the session.
+         * @param input The whole command.
+         * @param argStart Index of the first character after the keyword and a space, or -1 if the command is only
+         *     the keyword.
+         * @return The command or the reason it cannot be parsed.
+         */
+        ParseResult parse(Parser parser, String input, int argStart);
+    }
+
+    /** Keywords of the table, at the slot given by their hash */
+    private static final String[] KEYWORDS = new String[32];
+    /** Handlers of the keywords, at the same slots */
+    private static final Handler[] HANDLERS = new Handler[Parser.KEYWORDS.length];
+
+    static {
+        Parser.register("bye", Parser.withoutArgument(ExitCommand::new));
+        Parser.register("help", Parser.withoutArgument(HelpCommand::new));
+        Parser.register("sort", Parser.withoutArgument(SortCommand::new));
+        Parser.register("stats", Parser.withoutArgument(StatsCommand::new));
+        Parser.register("undo", (parser, input, argStart) -> argStart < 0
+                ? parser.parseUndo()
+                : ParseResult.ofError(ParseError.INVALID_COMMAND));
+        Parser.register("done", (parser, input, argStart) -> parser.parseCommandWithTaskNo(input, argStart, 0));
+        Parser.register("undone", (parser, input, argStart) -> parser.parseCommandWithTaskNo(input, argStart, 1));
+        Parser.register("delete", (parser, input, argStart) -> parser.parseCommandWithTaskNo(input, argStart, 2));
+        Parser.register("todo", Parser::parseTodo);
+        Parser.register("deadline", (parser, input, argStart) -> parser.parseCommandWithTime(input, argStart, false));
+        Parser.register("event", (parser, input, argStart) -> parser.parseCommandWithTime(input, argStart, true));
+        Parser.register("find", (parser, input, argStart) -> Parser.parseFind(input, argStart));
+        Parser.register("clear", (parser, input, argStart) -> Parser.parseClear(input, argStart));
+        Parser.register("list", (parser, input, argStart) -> Parser.parseList(input, argStart));
+    }
+
+    /** Commands that can be undone, the latest on top */
+    private final Stack<Command> commands;
+
+    /**
+     * Constructor of the class `Parser`.
+     */
+    public Parser() {
+        this.commands = new Stack<>();
+    }
+
+    /**
+     * Returns the hash of part of a string, which is the same as the hash of the part as a string.
+     *
+     * @param input The string.
+     * @param start Index of the first character of the part.
+     * @param end Index after the last character of the part.
+     * @return The hash.
+     */
+    private static int hash(CharSequence input, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + input.charAt(i);
+        }
+        // Spread the higher bits, since the table only uses the lowest ones.
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Adds a keyword to the table.
+     *
+     * @param keyword The keyword.
+     * @param handler Handler of commands starting with the keyword.
+     */
+    private static void register(String keyword, Handler handler) {
+        int mask = Parser.KEYWORDS.length - 1;
+        int slot = Parser.hash(keyword, 0, keyword.length()) & mask;
+        while (Parser.KEYWORDS[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        Parser.KEYWORDS[slot] = keyword;
+        Parser.HANDLERS[slot] = handler;
+    }
+
+    /**
+     * Returns the handler of the keyword at the start of a command.
+     *
+     * @param input The command.
+     * @param end Index after the last character of the keyword.
+     * @return The handler, or null if the keyword is unknown.
+     */
+    private static Handler lookUp(String input, int end) {
+        int mask = Parser.KEYWORDS.length - 1;
+        for (int slot = Parser.hash(input, 0, end) & mask; Parser.KEYWORDS[slot] != null; slot = (slot + 1) & mask) {
+            String keyword = Parser.KEYWORDS[slot];
+            if (keyword.length() == end && input.regionMatches(0, keyword, 0, end)) {
+                return Parser.HANDLERS[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the handler of a keyword which takes nothing after it, e.g. `sort`.
+     *
+     * @param constructor Constructor of the command.
+     * @return The handler.
+     */
+    private static Handler withoutArgument(Supplier<Command> constructor) {
+        return (parser, input, argStart) -> argStart < 0
+                ? ParseResult.of(constructor.get())
+                : ParseResult.ofError(ParseError.INVALID_COMMAND);
+    }
+
+    /**
+     * Returns the index of the first character of part of a string which isn't whitespace, as `String.trim` does.
+     *
+     * @param input The string.
+     * @param start Index of the first character of the part.
+     * @param end Index after the last character of the part.
+     * @return The index, which is `end` if the part is blank.
+     */
+    private static int skipLeadingSpace(CharSequence input, int start, int end) {
+        while (start < end && input.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Returns the index after the last character of part of a string which isn't whitespace, as `String.trim` does.
+     *
+     * @param input The string.
+     * @param start Index of the first character of the part.
+     * @param end Index after the last character of the part.
+     * @return The index, which is `start` if the part is blank.
+     */
+    private static int skipTrailingSpace(CharSequence input, int start, int end) {
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Parses part of a string as an integer, accepting what `Integer.parseInt` accepts.
+     *
+     * @param input The string.
+     * @param start Index of the first character of the part.
+     * @param end Index after the last character of the part.
+     * @return The integer, or {@link #INVALID_NUMBER} if the part isn't an integer.
+     */
+    private static long parseInt(CharSequence input, int start, int end) {
+        if (start >= end) {
+            return Parser.INVALID_NUMBER;
+        }
+        boolean isNegative = input.charAt(start) == '-';
+        if (isNegative || input.charAt(start) == '+') {
+            start++;
+            if (start == end) {
+                return Parser.INVALID_NUMBER;
+            }
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(input.charAt(i), 10);
+            if (digit < 0) {
+                return Parser.INVALID_NUMBER;
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                return Parser.INVALID_NUMBER;
+            }
+        }
+        value = isNegative ? -value : value;
+        return value > Integer.MAX_VALUE ? Parser.INVALID_NUMBER : value;
+    }
 
     /**
      * Returns parsed command which involves time.
      *
-     * @param words An array of words in the command.
+     * @param input The command.
+     * @param argStart Index of the first character after the keyword, or -1 if there is none.
      * @param isEvent Whether the command is an `event` command.
-     * @return Parsed command.
-     * @throws WorkDoneException If command is invalid.
+     * @return Parsed command or the reason it cannot be parsed.
      */
-    private static Command parseCommandWithTime(String[] words, boolean isEvent) throws WorkDoneException {
-        // Determine key information based on type of the task
-        String timeFormat = isEvent ? "yyyy-MM-dd HH:mm to yyyy-MM-dd HH:mm" : "yyyy-MM-dd HH:mm";
-        String regex = isEvent ? "/at" : "/by";
-        String taskType = isEvent ? "event" : "deadline";
-
-        if (words.length < 2) {
+    private ParseResult parseCommandWithTime(String input, int argStart, boolean isEvent) {
+        if (argStart < 0) {
             // If there is only one word in the command, the description is missing.
-            throw new MissingCommandDetailException("description", taskType,
-                    String.format("%s %s", regex, timeFormat));
+            return ParseResult.ofError(isEvent
+                    ? Parser.EVENT_WITHOUT_DESCRIPTION
+                    : Parser.DEADLINE_WITHOUT_DESCRIPTION);
         }
-        String[] information = words[1].split(regex);
-        if (information.length < 2) {
-            // time is missing
-            throw new MissingCommandDetailException("time", taskType, String.format("%s %s", regex, timeFormat));
+        // Find the parts around the separators, dropping empty parts at the end as `String.split` does.
+        String separator = isEvent ? "/at" : "/by";
+        int numOfParts = 0;
+        int descriptionEnd = -1;
+        int timeStart = -1;
+        int timeEnd = -1;
+        int partStart = argStart;
+        for (int part = 0; ; part++) {
+            int separatorStart = input.indexOf(separator, partStart);
+            int partEnd = separatorStart < 0 ? input.length() : separatorStart;
+            if (partEnd > partStart) {
+                numOfParts = part + 1;
+            }
+            if (part == 0) {
+                descriptionEnd = partEnd;
+            } else if (part == 1) {
+                timeStart = partStart;
+                timeEnd = partEnd;
+            }
+            if (separatorStart < 0) {
+                break;
+            }
+            partStart = separatorStart + separator.length();
         }
-        if (information.length > 2) {
-            // more than one time slots are given
-            throw new MultipleTimeSlotsException(taskType);
+        if (numOfParts < 2) {
+            return ParseResult.ofError(isEvent ? Parser.EVENT_WITHOUT_TIME : Parser.DEADLINE_WITHOUT_TIME);
         }
-        try {
-            Task task = isEvent
-                    ? new Event(information[0], information[1])
-                    : new Deadline(information[0], information[1]);
-            AddTaskCommand addTaskCommand = new AddTaskCommand(task);
-            Parser.commands.push(addTaskCommand);
-            return addTaskCommand;
-        } catch (DateTimeParseException | ArrayIndexOutOfBoundsException e) {
-            throw new InvalidTimeException(timeFormat);
+        if (numOfParts > 2) {
+            return ParseResult.ofError(isEvent ? Parser.EVENT_WITH_MANY_TIMES : Parser.DEADLINE_WITH_MANY_TIMES);
         }
+
+        String description = input.substring(argStart, descriptionEnd);
+        AddTaskCommand addTaskCommand;
+        if (isEvent) {
+            int to = input.indexOf("to", timeStart);
+            long startingTime = to < 0 || to + 2 > timeEnd
+                    ? DateTimeCodec.INVALID_TIME
+                    : DateTimeCodec.tryParse(input, timeStart, to);
+            long endingTime = startingTime == DateTimeCodec.INVALID_TIME
+                    ? DateTimeCodec.INVALID_TIME
+                    : DateTimeCodec.tryParse(input, to + 2, timeEnd);
+            if (endingTime == DateTimeCodec.INVALID_TIME) {
+                return ParseResult.ofError(Parser.EVENT_WITH_INVALID_TIME);
+            }
+            addTaskCommand = new AddTaskCommand(new Event(description, startingTime, endingTime));
+        } else {
+            long time = DateTimeCodec.tryParse(input, timeStart, timeEnd);
+            if (time == DateTimeCodec.INVALID_TIME) {
+                return ParseResult.ofError(Parser.DEADLINE_WITH_INVALID_TIME);
+            }
+            addTaskCommand = new AddTaskCommand(new Deadline(description, time));
+        }
+        this.commands.push(addTaskCommand);
+        return ParseResult.of(addTaskCommand);
     }
 
     /**
-     * Returns parsed command which involves a task number.
+     * Returns parsed command which involves a task number or a task ID, e.g. `done 3` or `done #12`.
      *
-     * @param words An array of words in the command.
-     * @return Parsed command.
-     * @throws InvalidTaskNoException If task number is invalid.
+     * @param input The command.
+     * @param argStart Index of the first character after the keyword, or -1 if there is none.
+     * @param type 0 for `done`, 1 for `undone` and 2 for `delete`.
+     * @return Parsed command or the reason it cannot be parsed.
      */
-    private static Command parseCommandWithTaskNo(
-            String[] words) throws InvalidTaskNoException {
-        String leadingWord = words[0];
-        int index;
-        try {
-            index = Integer.parseInt(words[1]) - 1;
-        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
-            throw new InvalidTaskNoException();
+    private ParseResult parseCommandWithTaskNo(String input, int argStart, int type) {
+        if (argStart < 0) {
+            return ParseResult.ofError(ParseError.INVALID_TASK_NO);
+        }
+        int start = Parser.skipLeadingSpace(input, argStart, input.length());
+        int end = Parser.skipTrailingSpace(input, start, input.length());
+        boolean isTaskId = start < end && input.charAt(start) == '#';
+        long number = Parser.parseInt(input, isTaskId ? start + 1 : start, end);
+        if (number == Parser.INVALID_NUMBER) {
+            return ParseResult.ofError(ParseError.INVALID_TASK_NO);
         }
-        Command command = leadingWord.equals("done")
-                ? new TaskDoneCommand(index)
-                : leadingWord.equals("undone")
-                ? new TaskUndoneCommand(index)
-                : new DeleteTaskCommand(index);
-        Parser.commands.push(command);
-        return command;
+        int taskNo = isTaskId ? (int) number : (int) number - 1;
+        Command command = type == 0
+                ? new TaskDoneCommand(taskNo, isTaskId)
+                : type == 1
+                ? new TaskUndoneCommand(taskNo, isTaskId)
+                : new DeleteTaskCommand(taskNo, isTaskId);
+        this.commands.push(command);
+        return ParseResult.of(command);
     }
 
-    private static AddTaskCommand parseTodo(String[] words) throws MissingCommandDetailException {
-        if (words.length < 2) {
-            throw new MissingCommandDetailException("description", "todo", "");
+    private ParseResult parseTodo(String input, int argStart) {
+        if (argStart < 0) {
+            return ParseResult.ofError(Parser.TODO_WITHOUT_DESCRIPTION);
         }
-        AddTaskCommand addTaskCommand = new AddTaskCommand(new ToDo(words[1]));
-        Parser.commands.push(addTaskCommand);
-        return addTaskCommand;
+        AddTaskCommand addTaskCommand = new AddTaskCommand(new ToDo(input.substring(argStart)));
+        this.commands.push(addTaskCommand);
+        return ParseResult.of(addTaskCommand);
     }
 
-    private static FindTaskCommand parseFind(String[] words) throws MissingCommandDetailException {
-        if (words.length < 2) {
-            throw new MissingCommandDetailException("keyword", "find", "");
+    private static ParseResult parseFind(String input, int argStart) {
+        if (argStart < 0) {
+            return ParseResult.ofError(Parser.FIND_WITHOUT_KEYWORD);
         }
+        int start = Parser.skipLeadingSpace(input, argStart, input.length());
+        int end = Parser.skipTrailingSpace(input, start, input.length());
         // Cannot undo a find command
-        return new FindTaskCommand(words[1].trim());
+        return ParseResult.of(new FindTaskCommand(input.substring(start, end)));
     }
 
-    private static UndoCommand parseUndo() throws UnableToUndoException {
-        if (Parser.commands.empty()) {
-            throw new UnableToUndoException();
+    private ParseResult parseUndo() {
+        if (this.commands.empty()) {
+            return ParseResult.ofError(ParseError.UNABLE_TO_UNDO);
         }
         // Cannot undo an undo command
-        return new UndoCommand(Parser.commands.pop());
+        return ParseResult.of(new UndoCommand(this.commands.pop()));
     }
 
-    private static ClearCommand parseClear(String[] words) {
-        if (words.length > 1 && words[1].equals("done")) {
-            return new ClearDoneCommand();
+    private static ParseResult parseClear(String input, int argStart) {
+        if (argStart >= 0 && input.length() - argStart == 4 && input.startsWith("done", argStart)) {
+            return ParseResult.of(new ClearDoneCommand());
         } else {
-            return new ClearCommand();
+            return ParseResult.of(new ClearCommand());
         }
     }
 
-    private static GetListCommand parseList(String[] words) {
-        if (words.length > 1 && words[1].equals("scheduled")) {
-            ArrayList<String> typesToHide = new ArrayList<>();
-            typesToHide.add("T");
-            return new GetListCommand(typesToHide);
-        } else if (words.length > 1 && words[1].equals("backlog")) {
-            ArrayList<String> typesToHide = new ArrayList<>();
-            typesToHide.add("D");
-            typesToHide.add("E");
-            return new GetListCommand(typesToHide);
-        } else {
-            return new GetListCommand();
-        }
-    }
-
-    private static Command parseCommandWithTwoOrMoreWords(String[] words) throws WorkDoneException {
-        String leadingWord = words[0];
-        if (leadingWord.equals("done")) {
-            return Parser.parseCommandWithTaskNo(words);
-        } else if (leadingWord.equals("undone")) {
-            return Parser.parseCommandWithTaskNo(words);
-        } else if (leadingWord.equals("delete")) {
-            return Parser.parseCommandWithTaskNo(words);
-        } else if (leadingWord.equals("clear")) {
-            return Parser.parseClear(words);
-        } else if (leadingWord.equals("todo")) {
-            return Parser.parseTodo(words);
-        } else if (leadingWord.equals("deadline")) {
-            return Parser.parseCommandWithTime(words, false);
-        } else if (leadingWord.equals("event")) {
-            return Parser.parseCommandWithTime(words, true);
-        } else if (leadingWord.equals("find")) {
-            return Parser.parseFind(words);
-        } else if (leadingWord.equals("list")) {
-            return Parser.parseList(words);
-        } else {
-            throw new InvalidCommandException();
+    /**
+     * Returns parsed list command, which may filter tasks by type and list one page of the tasks, e.g.
+     * `list backlog --page 2 --size 10`.
+     *
+     * @param input The command.
+     * @param argStart Index of the first character after the keyword, or -1 if there is none.
+     * @return Parsed command or the reason it cannot be parsed.
+     */
+    private static ParseResult parseList(String input, int argStart) {
+        ArrayList<String> typesToHide = new ArrayList<>();
+        int page = 0;
+        int pageSize = GetListCommand.DEFAULT_PAGE_SIZE;
+        // Options are separated by single spaces, so two spaces in a row make an empty option.
+        int optionStart = argStart;
+        while (optionStart >= 0 && optionStart <= input.length()) {
+            int optionEnd = Parser.endOfOption(input, optionStart);
+            int length = optionEnd - optionStart;
+            if (length == 9 && input.startsWith("scheduled", optionStart)) {
+                typesToHide.add("T");
+            } else if (length == 7 && input.startsWith("backlog", optionStart)) {
+                typesToHide.add("D");
+                typesToHide.add("E");
+            } else if (length == 6 && (input.startsWith("--page", optionStart)
+                    || input.startsWith("--size", optionStart))) {
+                boolean isPage = input.charAt(optionStart + 2) == 'p';
+                int valueStart = optionEnd + 1;
+                if (valueStart > input.length()) {
+                    return ParseResult.ofError(ParseError.INVALID_PAGE);
+                }
+                int valueEnd = Parser.endOfOption(input, valueStart);
+                long value = Parser.parseInt(input, valueStart, valueEnd);
+                if (value == Parser.INVALID_NUMBER || value < 1) {
+                    return ParseResult.ofError(ParseError.INVALID_PAGE);
+                }
+                if (isPage) {
+                    page = (int) value;
+                } else {
+                    pageSize = (int) value;
+                    page = Math.max(page, 1);
+                }
+                optionEnd = valueEnd;
+            }
+            optionStart = optionEnd + 1;
+        }
+        return ParseResult.of(new GetListCommand(typesToHide, page, pageSize));
+    }
+
+    /**
+     * Returns the index after the last character of an option of the list command.
+     *
+     * @param input The command.
+     * @param optionStart Index of the first character of the option.
+     * @return Index of the space after the option, or the length of the command.
+     */
+    private static int endOfOption(String input, int optionStart) {
+        int space = input.indexOf(' ', optionStart);
+        return space < 0 ? input.length() : space;
+    }
+
+    /**
+     * Parses a command without throwing an exception if it is invalid.
+     *
+     * @param input Command received from keyboard.
+     * @return Parsed command or the reason it cannot be parsed.
+     */
+    public synchronized ParseResult tryParse(CharSequence input) {
+        CommandParseEvent event = new CommandParseEvent();
+        event.begin();
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        String command = input.toString();
+        int keywordEnd = command.indexOf(' ');
+        Handler handler = Parser.lookUp(command, keywordEnd < 0 ? command.length() : keywordEnd);
+        ParseResult result = handler == null
+                ? ParseResult.ofError(ParseError.INVALID_COMMAND)
+                : handler.parse(this, command, keywordEnd < 0 ? -1 : keywordEnd + 1);
+        if (Metrics.ENABLED) {
+            Metrics.recordParse(System.nanoTime() - start);
+        }
+        if (event.shouldCommit()) {
+            event.setCommand(result.isSuccess() ? result.getCommand().getClass().getSimpleName() : "invalid");
+            event.setInputLength(command.length());
+            event.commit();
         }
+        return result;
     }
 
     /**
@@ -181,27 +471,22 @@ public class Parser {
      * @return Parsed command.
      * @throws WorkDoneException If command is invalid.
      */
-    public static Command parse(String command) throws WorkDoneException {
-        // Determine type of the command and return corresponding command instance
-        if (command.equals("bye")) {
-            return new ExitCommand();
-        } else if (command.equals("undo")) {
-            return Parser.parseUndo();
-        } else if (command.equals("help")) {
-            return new HelpCommand();
-        } else if (command.equals("sort")) {
-            return new SortCommand();
-        } else {
-            // Split the command into two phrases
-            String[] words = command.split(" ", 2);
-            return Parser.parseCommandWithTwoOrMoreWords(words);
+    public Command parse(String command) throws WorkDoneException {
+        ParseResult result = this.tryParse(command);
+        if (!result.isSuccess()) {
+            throw result.getError().toException();
         }
+        return result.getCommand();
     }
 
     /**
-     * Assumes the last command in the history is invalid and pops it.
+     * Removes a command which failed to execute from the commands that can be undone.
+     *
+     * @param command The command which failed.
      */
-    public static void popInvalidCommand() {
-        Parser.commands.pop();
+    public synchronized void popInvalidCommand(Command command) {
+        if (!this.commands.empty() && this.commands.peek() == command) {
+            this.commands.pop();
+        }
     }
 }
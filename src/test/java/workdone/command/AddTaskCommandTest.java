@@ -9,6 +9,7 @@ import java.util.Scanner;
 
 import org.junit.jupiter.api.Test;
 
+import workdone.data.ObjectTaskList;
 import workdone.data.Storage;
 import workdone.data.TaskList;
 import workdone.task.Deadline;
@@ -17,8 +18,8 @@ import workdone.task.Task;
 import workdone.task.ToDo;
 
 public class AddTaskCommandTest {
-    private TaskList taskList1 = new TaskList();
-    private TaskList taskList2 = new TaskList();
+    private TaskList taskList1 = new ObjectTaskList();
+    private TaskList taskList2 = new ObjectTaskList();
 
     private ToDo task1 = new ToDo("task1");
     private Deadline task2 = new Deadline("task2", "2021-09-10 18:00");
@@ -59,7 +60,7 @@ public class AddTaskCommandTest {
         Scanner fileScanner;
         try {
             fileScanner = new Scanner(path.toFile());
-            assertEquals("T / 0 / task1", fileScanner.nextLine());
+            assertEquals("T / 0 / task1 / #1", fileScanner.nextLine());
         } catch (FileNotFoundException e) {
             System.out.println(e);
         }
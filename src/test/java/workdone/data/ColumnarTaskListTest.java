@@ -0,0 +1,78 @@
+package workdone.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import workdone.task.Deadline;
+import workdone.task.Event;
+import workdone.task.Task;
+import workdone.task.ToDo;
+
+public class ColumnarTaskListTest {
+    private static void fill(TaskList tasks) {
+        tasks.addTask(new ToDo("read book"));
+        tasks.addTask(new Deadline("return café book", "2021-09-12 18:00"));
+        tasks.addTask(new Event("book fair", "2021-09-10 18:00 to 2021-09-10 19:00"));
+        tasks.addTask(new ToDo("cook"));
+        tasks.addTask(new Deadline("pay", "2021-09-10 18:00"));
+    }
+
+    @Test
+    public void operations_sameAsObjectList() {
+        TaskList objects = new ObjectTaskList();
+        TaskList columns = new ColumnarTaskList();
+        for (TaskList tasks : new TaskList[] {objects, columns}) {
+            ColumnarTaskListTest.fill(tasks);
+            tasks.get(1).setDone();
+            tasks.getById(4).setDone();
+            tasks.removeFromList(0);
+            tasks.sortByTime();
+        }
+        assertEquals(objects.getFilteredListAsString(task -> true), columns.getFilteredListAsString(task -> true));
+        for (String keyword : new String[] {"book", "café", "", "missing"}) {
+            assertEquals(objects.getListContainingKeywordAsString(keyword),
+                    columns.getListContainingKeywordAsString(keyword));
+        }
+        for (int i = 0; i < objects.getNumOfTasks(); i++) {
+            assertEquals(objects.getFileFormattedTask(i), columns.getFileFormattedTask(i));
+            assertEquals(i, columns.indexOf(columns.get(i)));
+        }
+        assertEquals(objects.removeIf(Task::isDone).length, columns.removeIf(Task::isDone).length);
+        assertEquals(objects.getFilteredListAsString(task -> true), columns.getFilteredListAsString(task -> true));
+    }
+
+    @Test
+    public void removedView_keepsStatus_restoredByAdding() {
+        TaskList tasks = new ColumnarTaskList();
+        ColumnarTaskListTest.fill(tasks);
+        Task task = tasks.get(2);
+        task.setDone();
+        assertTrue(tasks.get(2).isDone());
+        tasks.removeFromList(task);
+        assertTrue(task.isDone());
+        tasks.addTask(task);
+        assertEquals(3, task.getId());
+        assertEquals("5.[E][X] book fair (at: Sep 10 2021, 18:00 to Sep 10 2021, 19:00) (#3)\n",
+                tasks.getFilteredListAsString(Event.class::isInstance));
+    }
+
+    @Test
+    public void removeFromList_manyTasks_restFoundById() {
+        TaskList tasks = new ColumnarTaskList();
+        for (int i = 0; i < 1000; i++) {
+            tasks.addTask(new ToDo("task" + i));
+        }
+        for (int id = 1; id <= 1000; id += 3) {
+            tasks.removeFromList(tasks.getById(id));
+        }
+        for (int id = 1; id <= 1000; id++) {
+            Task task = tasks.getById(id);
+            assertEquals(id % 3 == 1, task == null);
+            if (task != null) {
+                assertEquals(task.getId(), tasks.get(tasks.indexOf(task)).getId());
+            }
+        }
+    }
+}
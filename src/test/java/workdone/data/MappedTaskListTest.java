@@ -0,0 +1,94 @@
+package workdone.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import workdone.task.Deadline;
+import workdone.task.Event;
+import workdone.task.ToDo;
+
+public class MappedTaskListTest {
+    private static final StorageConfig CONFIG = new StorageConfig(Durability.SYNC, 1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void reopen_changedTasks_kept() throws IOException {
+        Path path = this.directory.resolve("tasks.map");
+        TaskList objects = new ObjectTaskList();
+        MappedTaskList tasks = new MappedTaskList(path, MappedTaskListTest.CONFIG);
+        for (TaskList list : new TaskList[] {objects, tasks}) {
+            list.addTask(new ToDo("read book"));
+            list.addTask(new Deadline("return café book", "2021-09-12 18:00"));
+            list.addTask(new Event("book fair", "2021-09-10 18:00 to 2021-09-10 19:00"));
+            list.addTask(new ToDo("cook"));
+            for (int i = 0; i < 5000; i++) {
+                list.addTask(new ToDo("filler " + i));
+            }
+            list.removeIf(task -> task.getDescription().startsWith("filler"));
+            list.get(1).setDone();
+            list.removeFromList(0);
+            list.sortByTime();
+        }
+        tasks.close();
+
+        MappedTaskList reopened = new MappedTaskList(path, MappedTaskListTest.CONFIG);
+        assertEquals(objects.getFilteredListAsString(task -> true), reopened.getFilteredListAsString(task -> true));
+        assertTrue(reopened.getById(2).isDone());
+        reopened.addTask(new ToDo("wash"));
+        assertEquals(5005, reopened.get(3).getId());
+        reopened.close();
+    }
+
+    @Test
+    public void constructor_textFile_converted() throws IOException {
+        Path path = this.directory.resolve("tasks.txt");
+        Files.writeString(path, "T / 0 / task1 / #1\nD / 1 / task2 / 2021-09-10 18:00 / #2\n@ delete / 0\n");
+        MappedTaskList tasks = new MappedTaskList(path, MappedTaskListTest.CONFIG);
+        assertEquals(1, tasks.getNumOfTasks());
+        assertTrue(tasks.get(0).isDone());
+        assertEquals(2, tasks.get(0).getId());
+        tasks.close();
+        assertTrue(MappedTaskList.isMappedFile(path));
+
+        TaskList reloaded = new ObjectTaskList();
+        new Storage(path, reloaded).close();
+        assertFalse(MappedTaskList.isMappedFile(path));
+        assertEquals("D / 1 / task2 / 2021-09-10 18:00 / #2\n", reloaded.getFileFormattedTask(0));
+    }
+
+    @Test
+    public void reopen_removalInterrupted_allOrNoneRemoved() throws IOException {
+        Path path = this.directory.resolve("tasks.map");
+        MappedTaskList tasks = new MappedTaskList(path, MappedTaskListTest.CONFIG);
+        tasks.addTask(new ToDo("a"));
+        tasks.addTask(new ToDo("b"));
+        tasks.addTask(new ToDo("c"));
+        tasks.close();
+
+        // Rows of one-byte descriptions are 33 bytes long, after a header of 32 bytes.
+        for (int isCommitted = 0; isCommitted <= 1; isCommitted++) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(new byte[] {2}), 32 + 2);
+                channel.write(ByteBuffer.wrap(new byte[] {2}), 32 + 2 * 33 + 2);
+                channel.write(ByteBuffer.allocate(4).putInt(0, isCommitted), 20);
+            }
+            MappedTaskList reopened = new MappedTaskList(path, MappedTaskListTest.CONFIG);
+            assertEquals(isCommitted == 0 ? 3 : 1, reopened.getNumOfTasks());
+            assertEquals("b", reopened.getById(2).getDescription());
+            reopened.close();
+        }
+    }
+}
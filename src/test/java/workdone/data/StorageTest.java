@@ -0,0 +1,273 @@
+package workdone.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import workdone.WorkDone;
+import workdone.task.Deadline;
+import workdone.task.ToDo;
+
+public class StorageTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void readFile_appendedRecords_replayed() {
+        Path path = this.directory.resolve("tasks.txt");
+        TaskList tasks = new ObjectTaskList();
+        Storage storage = new Storage(path, tasks);
+        tasks.addTask(new ToDo("task1"));
+        storage.addToFile(tasks.get(0));
+        tasks.addTask(new Deadline("task2", "2021-09-10 18:00"));
+        storage.addToFile(tasks.get(1));
+        tasks.get(1).setDone();
+        storage.updateStatusInFile(1, true);
+        tasks.removeFromList(0);
+        storage.removeFromFile(0);
+
+        TaskList reloaded = new ObjectTaskList();
+        new Storage(path, reloaded);
+        assertEquals(1, reloaded.getNumOfTasks());
+        assertEquals(tasks.get(0).toString(), reloaded.get(0).toString());
+        assertTrue(reloaded.get(0).isDone());
+    }
+
+    @Test
+    public void updateStatusInFile_existingTasks_onlyAppends() throws IOException {
+        Path path = this.directory.resolve("tasks.txt");
+        Files.writeString(path, "T / 0 / task1 / #1\nT / 0 / task2 / #2\n");
+        TaskList tasks = new ObjectTaskList();
+        Storage storage = new Storage(path, tasks);
+        tasks.get(1).setDone();
+        storage.updateStatusInFile(1, true);
+
+        assertEquals("T / 0 / task1 / #1\nT / 0 / task2 / #2\n@ done / 1\n", Files.readString(path));
+        TaskList reloaded = new ObjectTaskList();
+        new Storage(path, reloaded);
+        assertFalse(reloaded.get(0).isDone());
+        assertTrue(reloaded.get(1).isDone());
+    }
+
+    @Test
+    public void appendToFile_manyRecords_compactedInBackground() throws IOException, InterruptedException {
+        Path path = this.directory.resolve("tasks.txt");
+        TaskList tasks = new ObjectTaskList();
+        Storage storage = new Storage(path, tasks);
+        tasks.addTask(new ToDo("task1"));
+        storage.addToFile(tasks.get(0));
+        for (int i = 0; i < 2000; i++) {
+            tasks.get(0).setDone();
+            storage.updateStatusInFile(0, true);
+        }
+        storage.compactIfNeeded();
+
+        for (int i = 0; i < 100 && Files.readAllLines(path).size() > 2000; i++) {
+            Thread.sleep(50);
+        }
+        storage.close();
+        assertTrue(Files.readAllLines(path).size() < 2001);
+        TaskList reloaded = new ObjectTaskList();
+        new Storage(path, reloaded);
+        assertEquals(1, reloaded.getNumOfTasks());
+        assertTrue(reloaded.get(0).isDone());
+    }
+
+    @Test
+    public void compactIfNeeded_deleteStartsCompaction_taskStaysDeleted() throws IOException {
+        Path path = this.directory.resolve("tasks.txt");
+        WorkDone workDone = new WorkDone(path);
+        for (int i = 1; i <= 10; i++) {
+            workDone.getResponse("todo t" + i);
+        }
+        for (int i = 0; i < 989; i++) {
+            workDone.getResponse(i % 2 == 0 ? "done 1" : "undone 1");
+        }
+        // The 1000th record starts a compaction, and more deletes are appended while it runs.
+        workDone.getResponse("delete 10");
+        workDone.getResponse("delete 9");
+        workDone.getResponse("todo t11");
+        workDone.getResponse("undo");
+        workDone.close();
+
+        assertFalse(Files.readString(path).contains("t10 /"));
+        TaskList reloaded = new ObjectTaskList();
+        new Storage(path, reloaded).close();
+        assertEquals(8, reloaded.getNumOfTasks());
+        assertEquals("t8", reloaded.get(7).getDescription());
+    }
+
+    @Test
+    public void flush_bufferedDurability_writesBufferedRecords() throws IOException {
+        Path path = this.directory.resolve("tasks.txt");
+        TaskList tasks = new ObjectTaskList();
+        Storage storage = new Storage(path, tasks, new StorageConfig(Durability.BUFFERED, 60000));
+        tasks.addTask(new ToDo("task1"));
+        storage.addToFile(tasks.get(0));
+        assertEquals("", Files.readString(path));
+
+        storage.flush();
+        assertEquals("T / 0 / task1 / #1\n", Files.readString(path));
+    }
+
+    @Test
+    public void readFile_textFileWithBinaryFormat_converted() throws IOException {
+        Path path = this.directory.resolve("tasks.txt");
+        Files.writeString(path, "T / 0 / task1\nE / 1 / task2 / 2021-09-10 18:00 to 2021-09-10 18:50\n@ done / 0\n");
+        StorageConfig config = new StorageConfig(Durability.SYNC, 100, TaskFileFormat.BINARY);
+        TaskList tasks = new ObjectTaskList();
+        Storage storage = new Storage(path, tasks, config);
+        tasks.get(1).setUndone();
+        storage.updateStatusInFile(1, false);
+        storage.close();
+
+        assertEquals(TaskFileFormat.BINARY, TaskFileFormat.detect(path));
+        TaskList reloaded = new ObjectTaskList();
+        new Storage(path, reloaded, config);
+        assertEquals("[T][X] task1", reloaded.get(0).toString());
+        assertEquals("[E][ ] task2 (at: Sep 10 2021, 18:00 to Sep 10 2021, 18:50)", reloaded.get(1).toString());
+    }
+
+    @Test
+    public void readFile_tornLastRecord_cutBeforeAppending() throws IOException {
+        for (TaskFileFormat format : new TaskFileFormat[] {TaskFileFormat.TEXT, TaskFileFormat.BINARY}) {
+            Path path = this.directory.resolve("torn" + format.getClass().getSimpleName());
+            StorageConfig config = new StorageConfig(Durability.SYNC, 100, format);
+            TaskList tasks = new ObjectTaskList();
+            Storage storage = new Storage(path, tasks, config);
+            tasks.addTask(new ToDo("task1"));
+            storage.addToFile(tasks.get(0));
+            storage.close();
+            byte[] record = format.encode(LogRecord.ofAdd(new Deadline("broken task", "2021-09-10 18:00")));
+            Files.write(path, Arrays.copyOf(record, record.length - 3), StandardOpenOption.APPEND);
+
+            TaskList reopened = new ObjectTaskList();
+            storage = new Storage(path, reopened, config);
+            assertEquals(1, reopened.getNumOfTasks());
+            reopened.addTask(new ToDo("task2"));
+            storage.addToFile(reopened.get(1));
+            storage.close();
+
+            TaskList reloaded = new ObjectTaskList();
+            new Storage(path, reloaded, config).close();
+            assertEquals("1.[T][ ] task1 (#1)\n2.[T][ ] task2 (#2)\n", reloaded.getFilteredListAsString(task -> true));
+        }
+    }
+
+    @Test
+    public void readFile_lastLineWithoutLineBreak_keptBeforeAppending() throws IOException {
+        Path path = this.directory.resolve("tasks.txt");
+        Files.writeString(path, "T / 0 / first / #1\nT / 1 / second / #2");
+        TaskList tasks = new ObjectTaskList();
+        Storage storage = new Storage(path, tasks);
+        assertEquals(2, tasks.getNumOfTasks());
+        tasks.addTask(new ToDo("third"));
+        storage.addToFile(tasks.get(2));
+        storage.close();
+
+        TaskList reloaded = new ObjectTaskList();
+        new Storage(path, reloaded).close();
+        assertEquals("1.[T][ ] first (#1)\n2.[T][X] second (#2)\n3.[T][ ] third (#3)\n",
+                reloaded.getFilteredListAsString(task -> true));
+    }
+
+    @Test
+    public void removeAllFromFile_doneTasks_singleRecordReplayed() throws IOException {
+        Path path = this.directory.resolve("tasks.txt");
+        Files.writeString(path, "T / 1 / task1 / #1\nT / 0 / task2 / #2\nT / 1 / task3 / #3\nT / 0 / task4 / #4\n");
+        TaskList tasks = new ObjectTaskList();
+        Storage storage = new Storage(path, tasks);
+        storage.removeAllFromFile(tasks.removeIf(task -> task.isDone()));
+
+        assertTrue(Files.readString(path).endsWith("T / 0 / task4 / #4\n@ delete / 0 2\n"));
+        TaskList reloaded = new ObjectTaskList();
+        new Storage(path, reloaded);
+        assertEquals(2, reloaded.getNumOfTasks());
+        assertEquals("task2", reloaded.get(0).getDescription());
+        assertEquals("task4", reloaded.get(1).getDescription());
+    }
+
+    @Test
+    public void readFile_tasksWithoutIds_idsStored() throws IOException {
+        Path path = this.directory.resolve("tasks.txt");
+        Files.writeString(path, "T / 0 / task1\nD / 0 / task2 / #tag / 2021-09-10 18:00\nT / 0 / task3 / #7\n");
+        TaskList tasks = new ObjectTaskList();
+        Storage storage = new Storage(path, tasks);
+        tasks.addTask(new ToDo("task4"));
+        storage.addToFile(tasks.get(3));
+
+        assertEquals("@ next / 8\nT / 0 / task1 / #1\nD / 0 / task2 / #tag / 2021-09-10 18:00 / #2\n"
+                + "T / 0 / task3 / #7\nT / 0 / task4 / #8\n", Files.readString(path));
+        TaskList reloaded = new ObjectTaskList();
+        new Storage(path, reloaded);
+        assertEquals("task2 / #tag", reloaded.getById(2).getDescription());
+        assertEquals("task4", reloaded.getById(8).getDescription());
+    }
+
+    @Test
+    public void rewriteFile_lastTaskRemoved_idNotGivenAgain() {
+        for (TaskFileFormat format : new TaskFileFormat[] {TaskFileFormat.TEXT, TaskFileFormat.BINARY}) {
+            Path path = this.directory.resolve("ids" + format.getClass().getSimpleName());
+            StorageConfig config = new StorageConfig(Durability.SYNC, 100, format);
+            TaskList tasks = new ObjectTaskList();
+            Storage storage = new Storage(path, tasks, config);
+            tasks.addTask(new ToDo("task1"));
+            tasks.addTask(new ToDo("task2"));
+            tasks.removeFromList(1);
+            storage.rewriteFile();
+            storage.close();
+
+            TaskList reloaded = new ObjectTaskList();
+            new Storage(path, reloaded, config).close();
+            reloaded.addTask(new ToDo("task3"));
+            assertEquals(3, reloaded.get(1).getId());
+        }
+    }
+
+    @Test
+    public void addToFile_twoStorages_writtenToOwnFiles() throws IOException {
+        Path path1 = this.directory.resolve("tasks1.txt");
+        Path path2 = this.directory.resolve("tasks2.txt");
+        TaskList tasks1 = new ObjectTaskList();
+        TaskList tasks2 = new ObjectTaskList();
+        Storage storage1 = new Storage(path1, tasks1);
+        Storage storage2 = new Storage(path2, tasks2);
+        tasks1.addTask(new ToDo("task1"));
+        storage1.addToFile(tasks1.get(0));
+        tasks2.addTask(new ToDo("task2"));
+        storage2.addToFile(tasks2.get(0));
+        storage1.rewriteFile();
+
+        assertEquals("@ next / 2\nT / 0 / task1 / #1\n", Files.readString(path1));
+        assertEquals("T / 0 / task2 / #1\n", Files.readString(path2));
+    }
+
+    @Test
+    public void readFile_progressListener_reportsUntilLoaded() throws IOException {
+        Path path = this.directory.resolve("tasks.txt");
+        StringBuilder records = new StringBuilder();
+        for (int i = 1; i <= 1000; i++) {
+            records.append("T / 0 / task").append(i).append(" / #").append(i).append('\n');
+        }
+        Files.writeString(path, records);
+        List<Double> progress = Collections.synchronizedList(new ArrayList<>());
+        TaskList tasks = new ObjectTaskList();
+        new Storage(path, tasks, StorageConfig.fromSystemProperties(), progress::add);
+
+        assertEquals(1000, tasks.getNumOfTasks());
+        assertTrue(progress.size() > 2);
+        assertEquals(1.0, progress.get(progress.size() - 1));
+    }
+}
@@ -0,0 +1,91 @@
+package workdone.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import workdone.task.Deadline;
+import workdone.task.Event;
+import workdone.task.ToDo;
+
+public class TaskListTest {
+    private TaskList tasks = new ObjectTaskList();
+
+    @Test
+    public void getListContainingKeywordAsString_substring_sameAsFilter() {
+        this.tasks.addTask(new ToDo("read books"));
+        this.tasks.addTask(new Deadline("return book", "2021-09-10 18:00"));
+        this.tasks.addTask(new ToDo("cook"));
+        for (String keyword : new String[] {"book", "ook", "oo", "", "books ", "cook", "missing"}) {
+            assertEquals(this.tasks.getFilteredListAsString(task -> task.containsKeyword(keyword)),
+                    this.tasks.getListContainingKeywordAsString(keyword));
+        }
+    }
+
+    @Test
+    public void getListContainingKeywordAsString_afterRemoval_updated() {
+        this.tasks.addTask(new ToDo("read book"));
+        this.tasks.addTask(new ToDo("sell book"));
+        this.tasks.addTask(new ToDo("buy book"));
+        this.tasks.removeFromList(0);
+        assertEquals("1.[T][ ] sell book (#2)\n2.[T][ ] buy book (#3)\n",
+                this.tasks.getListContainingKeywordAsString("book"));
+    }
+
+    @Test
+    public void indexOf_manyAddsAndRemovals_matchesList() {
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 30; i++) {
+                this.tasks.addTask(new ToDo("task" + round + "-" + i));
+            }
+            for (int i = 0; i < 20; i++) {
+                this.tasks.removeFromList((round * 7 + i * 13) % this.tasks.getNumOfTasks());
+            }
+            for (int i = 0; i < this.tasks.getNumOfTasks(); i++) {
+                assertEquals(i, this.tasks.indexOf(this.tasks.get(i)));
+            }
+            assertEquals(-1, this.tasks.indexOf(new ToDo("missing")));
+        }
+    }
+
+    @Test
+    public void sortByTime_mixedTasks_stableChronologicalOrder() {
+        this.tasks.addTask(new ToDo("todo1"));
+        this.tasks.addTask(new Deadline("late", "2021-09-12 18:00"));
+        this.tasks.addTask(new Event("early", "2021-09-10 18:00 to 2021-09-10 19:00"));
+        this.tasks.addTask(new ToDo("todo2"));
+        this.tasks.addTask(new Deadline("also early", "2021-09-10 18:00"));
+        this.tasks.sortByTime();
+        String[] expected = {"early", "also early", "late", "todo1", "todo2"};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], this.tasks.get(i).getDescription());
+            assertEquals(i, this.tasks.indexOf(this.tasks.get(i)));
+        }
+    }
+
+    @Test
+    public void addTask_concurrentThreads_uniqueIds() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    this.tasks.addTask(new ToDo("task" + j));
+                    this.tasks.getListContainingKeywordAsString("task");
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(4000, this.tasks.getNumOfTasks());
+        for (int id = 1; id <= 4000; id++) {
+            assertNotNull(this.tasks.getById(id));
+        }
+    }
+}
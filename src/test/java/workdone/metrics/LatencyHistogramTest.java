@@ -0,0 +1,32 @@
+package workdone.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+    @Test
+    public void getBucket_anyLatency_withinUpperBound() {
+        for (long nanos : new long[] {0, 1, 15, 16, 17, 31, 32, 33, 1000, 123456789, Long.MAX_VALUE}) {
+            int bucket = LatencyHistogram.getBucket(nanos);
+            assertTrue(nanos <= LatencyHistogram.getUpperBound(bucket));
+            assertTrue(bucket == 0 || nanos > LatencyHistogram.getUpperBound(bucket - 1));
+        }
+    }
+
+    @Test
+    public void getPercentile_uniformLatencies_withinPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500500, histogram.getMean());
+        assertEquals(1000000, histogram.getMax());
+        long median = histogram.getPercentile(50);
+        assertTrue(median >= 500000 && median <= 500000 * 1.07, "median " + median);
+        assertEquals(1000000, histogram.getPercentile(100));
+    }
+}
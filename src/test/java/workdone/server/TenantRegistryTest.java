@@ -0,0 +1,34 @@
+package workdone.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import workdone.WorkDone;
+
+public class TenantRegistryTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void evictIdleTenants_idleTenant_closedAndReloaded() {
+        TenantRegistry tenants = new TenantRegistry(this.directory, 0, TimeUnit.SECONDS);
+        WorkDone first = tenants.withTenant("alice", workDone -> {
+            workDone.getResponse("todo read book");
+            return workDone;
+        });
+        tenants.evictIdleTenants();
+        assertEquals(0, tenants.size());
+
+        WorkDone second = tenants.withTenant("alice", workDone -> workDone);
+        assertNotSame(first, second);
+        assertTrue(tenants.withTenant("alice", workDone -> workDone.getResponse("list")).contains("read book"));
+        tenants.close();
+    }
+}
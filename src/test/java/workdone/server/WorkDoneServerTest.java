@@ -0,0 +1,82 @@
+package workdone.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class WorkDoneServerTest {
+    @TempDir
+    Path directory;
+
+    private WorkDoneServer server;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        this.server = new WorkDoneServer(this.directory, 0, 0);
+        this.server.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        this.server.stop();
+    }
+
+    private static String readResponse(BufferedReader input) throws IOException {
+        StringBuilder response = new StringBuilder();
+        String line;
+        while ((line = input.readLine()) != null && !line.isEmpty()) {
+            response.append(line).append('\n');
+        }
+        return response.toString();
+    }
+
+    @Test
+    public void serve_tcpTenant_tasksStoredInTenantFile() throws IOException {
+        try (Socket socket = new Socket("localhost", this.server.getPort());
+                BufferedReader input = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                Writer output = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            readResponse(input);
+            output.write("tenant alice\ntodo read book\nlist\nbye\n");
+            output.flush();
+            readResponse(input);
+            assertTrue(readResponse(input).startsWith("Got it."));
+            assertTrue(readResponse(input).contains("1.[T][ ] read book (#1)"));
+            readResponse(input);
+        }
+        assertEquals("T / 0 / read book / #1\n", Files.readString(this.directory.resolve("alice.txt")));
+    }
+
+    @Test
+    public void handleHttp_postCommand_responseInBody() throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        URI uri = URI.create("http://localhost:" + this.server.getHttpPort() + "/tenants/bob");
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.ofString("todo sell book")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().startsWith("Got it."));
+
+        response = client.send(HttpRequest.newBuilder(uri.resolve("/tenants/..")).POST(
+                HttpRequest.BodyPublishers.ofString("list")).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(404, response.statusCode());
+    }
+}
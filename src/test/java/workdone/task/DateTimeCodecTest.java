@@ -0,0 +1,39 @@
+package workdone.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import org.junit.jupiter.api.Test;
+
+public class DateTimeCodecTest {
+    @Test
+    public void tryParse_pastEndOfMonth_lastDayOfMonth() {
+        assertEquals(LocalDateTime.of(2021, 2, 28, 18, 0),
+                DateTimeCodec.toLocalDateTime(DateTimeCodec.tryParse(" 2021-02-30 18:00 ", 0, 18)));
+        assertEquals(LocalDateTime.of(2022, 1, 1, 0, 0),
+                DateTimeCodec.toLocalDateTime(DateTimeCodec.tryParse("2021-12-31 24:00", 0, 16)));
+        assertEquals(DateTimeCodec.INVALID_TIME, DateTimeCodec.tryParse("2021-12-31 24:01", 0, 16));
+        assertThrows(DateTimeParseException.class, () -> DateTimeCodec.parse("0000-01-01 00:00"));
+        assertThrows(DateTimeParseException.class, () -> DateTimeCodec.parseSlot("2021-09-10 18:00"));
+    }
+
+    @Test
+    public void format_matchesFormatters() {
+        DateTimeFormatter fileFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+        DateTimeFormatter displayFormatter = DateTimeFormatter.ofPattern("MMM d yyyy, HH:mm");
+        LocalDateTime time = LocalDateTime.of(1, 1, 1, 0, 0);
+        while (time.getYear() < 9999) {
+            long epochMinute = DateTimeCodec.toEpochMinute(time);
+            String text = DateTimeCodec.appendFileFormat(new StringBuilder(), epochMinute).toString();
+            assertEquals(time.format(fileFormatter), text);
+            assertEquals(epochMinute, DateTimeCodec.parse(text));
+            assertEquals(time.format(displayFormatter),
+                    DateTimeCodec.appendDisplayFormat(new StringBuilder(), epochMinute).toString());
+            time = time.plusMinutes(1_234_567);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package workdone.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+public class TaskTest {
+    @Test
+    public void toString_changedTask_renderedAgain() {
+        Task task = new Deadline("return book", "2021-09-12 18:00");
+        String string = task.toString();
+        assertSame(string, task.toString());
+        task.setDone();
+        assertEquals("[D][X] return book (by: Sep 12 2021, 18:00)", task.toString());
+        assertEquals("D / 1 / return book / 2021-09-12 18:00\n", task.toFileFormatString());
+        task.setId(7);
+        assertEquals("D / 1 / return book / 2021-09-12 18:00 / #7\n",
+                new String(task.toFileFormatBytes(), StandardCharsets.UTF_8));
+        task.setUndone();
+        assertEquals("[D][ ] return book (by: Sep 12 2021, 18:00)", task.toString());
+        assertEquals("D / 0 / return book / 2021-09-12 18:00 / #7\n", task.toFileFormatString());
+    }
+}
@@ -0,0 +1,58 @@
+package workdone.tool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import workdone.WorkDone;
+import workdone.ui.Parser;
+
+public class TraceReplayerTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void read_recordedAndPlainLines_sessionsKept() throws IOException {
+        Path file = this.directory.resolve("trace.tsv");
+        CommandTrace trace = new CommandTrace(file);
+        Parser first = new Parser();
+        Parser second = new Parser();
+        trace.record(first, "todo read book");
+        trace.record(second, "list");
+        trace.record(first, "undo");
+        trace.close();
+        Files.writeString(file, "done 1\n", StandardOpenOption.APPEND);
+
+        List<CommandTrace.Entry> entries = CommandTrace.read(file);
+        assertEquals(4, entries.size());
+        assertEquals(0, entries.get(0).getSession());
+        assertEquals(1, entries.get(1).getSession());
+        assertEquals("undo", entries.get(2).getCommand());
+        assertEquals(0, entries.get(2).getSession());
+        assertEquals("done 1", entries.get(3).getCommand());
+    }
+
+    @Test
+    public void replay_targetRate_allCommandsExecuted() throws Exception {
+        Path taskFile = this.directory.resolve("tasks.txt");
+        new TaskFileGenerator("1:1:1", 0.5, 1).generate(taskFile, 30);
+        List<CommandTrace.Entry> entries = List.of(new CommandTrace.Entry(0, 0, "todo read book"),
+                new CommandTrace.Entry(0, 1, "find book"), new CommandTrace.Entry(0, 0, "done 31"),
+                new CommandTrace.Entry(0, 1, "list"));
+        WorkDone workDone = new WorkDone(taskFile);
+
+        TraceReplayer.Report report = new TraceReplayer(entries, 1000).replay(workDone);
+        assertEquals(4, report.getNumOfCommands());
+        assertTrue(report.getThroughput() > 0);
+        assertTrue(workDone.getResponse("list").contains("read book"));
+        workDone.close();
+    }
+}
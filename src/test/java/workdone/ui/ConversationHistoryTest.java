@@ -0,0 +1,32 @@
+package workdone.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class ConversationHistoryTest {
+    @Test
+    public void append_beyondCapacityWithoutSpill_oldestDropped() {
+        ConversationHistory history = new ConversationHistory(3, false);
+        for (int i = 0; i < 10; i++) {
+            history.append(new DialogMessage(DialogMessage.Type.USER, "message" + i));
+        }
+        assertEquals(3, history.size());
+        assertEquals("message7", history.get(0).getText());
+        assertEquals("message9", history.get(2).getText());
+    }
+
+    @Test
+    public void get_spilledMessage_readBack() {
+        ConversationHistory history = new ConversationHistory(3, true);
+        for (int i = 0; i < 10; i++) {
+            history.append(DialogMessage.ofResponse(i % 2 == 0 ? "reply " + i : "☹ OOPS!!! " + i));
+        }
+        assertEquals(10, history.size());
+        for (int i = 9; i >= 0; i--) {
+            assertEquals(i % 2 == 0 ? DialogMessage.Type.RESPONSE : DialogMessage.Type.ERROR,
+                    history.get(i).getType());
+            assertEquals(i % 2 == 0 ? "reply " + i : "☹ OOPS!!! " + i, history.get(i).getText());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package workdone.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import workdone.command.AddTaskCommand;
+import workdone.command.GetListCommand;
+import workdone.command.TaskDoneCommand;
+import workdone.command.UndoCommand;
+import workdone.exception.MultipleTimeSlotsException;
+import workdone.exception.WorkDoneException;
+
+public class ParserTest {
+    @Test
+    public void parse_validCommands_parsed() throws WorkDoneException {
+        Parser parser = new Parser();
+        assertTrue(parser.parse("event meeting /at 2021-09-10 18:00 to 2021-09-10 19:30") instanceof AddTaskCommand);
+        assertTrue(parser.parse("done #12") instanceof TaskDoneCommand);
+        assertTrue(parser.parse("list backlog --page 2 --size 10") instanceof GetListCommand);
+        assertTrue(parser.parse("undo") instanceof UndoCommand);
+    }
+
+    @Test
+    public void tryParse_invalidCommands_structuredErrors() {
+        Parser parser = new Parser();
+        assertEquals(ParseError.Kind.INVALID_COMMAND, parser.tryParse("sort now").getError().getKind());
+        assertEquals(ParseError.Kind.INVALID_TASK_NO, parser.tryParse("done 3x").getError().getKind());
+        assertEquals(ParseError.Kind.INVALID_PAGE, parser.tryParse("list --page 0").getError().getKind());
+        assertEquals(ParseError.Kind.MISSING_DETAIL, parser.tryParse("deadline book /by").getError().getKind());
+        assertEquals(ParseError.Kind.INVALID_TIME,
+                parser.tryParse("deadline book /by 2021-09-10 18:60").getError().getKind());
+        assertEquals(ParseError.Kind.UNABLE_TO_UNDO, parser.tryParse("undo").getError().getKind());
+        assertThrows(MultipleTimeSlotsException.class, () -> parser.parse("event a /at b /at c"));
+    }
+
+}